@@ -1,6 +1,7 @@
 package org.test4j.module.dbfit.fixture.fit;
 
 import java.sql.ResultSet;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -11,6 +12,7 @@ import org.test4j.module.dbfit.environment.DbFitEnvironment;
 import org.test4j.module.dbfit.exception.NoMatchingRowFoundException;
 import org.test4j.module.dbfit.fixture.test4jFixture;
 import org.test4j.module.dbfit.model.DataRow;
+import org.test4j.module.dbfit.model.DataRowIndex;
 import org.test4j.module.dbfit.model.DataTable;
 
 import fit.Fixture;
@@ -108,6 +110,12 @@ public class CompareStoredQueriesFixture extends Test4JFixture {
     }
 
     private Parse processDataTable(DataTable t1, DataTable t2, Parse lastScreenRow, String queryName) {
+        List<String> keyColumns = new ArrayList<String>();
+        for (int i = 0; i < keyProperties.length; i++) {
+            if (keyProperties[i])
+                keyColumns.add(columnNames[i]);
+        }
+        DataRowIndex t2Index = t2.index(keyColumns);
 
         List<DataRow> unproc = t1.getUnprocessedRows();
         for (DataRow dr : unproc) {
@@ -117,7 +125,7 @@ public class CompareStoredQueriesFixture extends Test4JFixture {
                     matchingMask.put(columnNames[i], dr.get(columnNames[i]));
             }
             try {
-                DataRow dr2 = t2.findMatching(matchingMask);
+                DataRow dr2 = t2Index.findMatching(matchingMask);
                 dr2.markProcessed();
                 lastScreenRow = addRow(lastScreenRow, dr, dr2);
             } catch (NoMatchingRowFoundException nex) {
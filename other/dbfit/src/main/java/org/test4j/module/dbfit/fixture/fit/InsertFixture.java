@@ -1,5 +1,6 @@
 package org.test4j.module.dbfit.fixture.fit;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -27,6 +28,10 @@ public class InsertFixture extends Test4JFixture {
     protected String                tableName;
     protected DbParameterAccessor[] accessors;
     protected Binding[]             columnBindings;
+    /**
+     * 批量插入时每批提交的行数，小于等于1时逐行插入
+     */
+    protected int                   batchSize;
 
     public InsertFixture(DbFitEnvironment dbEnvironment) {
         this.environment = dbEnvironment;
@@ -37,6 +42,12 @@ public class InsertFixture extends Test4JFixture {
         this.environment = dbEnvironment;
     }
 
+    public InsertFixture(DbFitEnvironment dbEnvironment, String tableName, int batchSize) {
+        this.tableName = tableName;
+        this.environment = dbEnvironment;
+        this.batchSize = batchSize;
+    }
+
     public PreparedStatement buildInsertCommand(String tableName, DbParameterAccessor[] accessors) throws SQLException {
         String ins = environment.buildInsertCommand(tableName, accessors);
         boolean supportsOutputOnInsert = environment.supportsOuputOnInsert();
@@ -74,6 +85,10 @@ public class InsertFixture extends Test4JFixture {
         try {
             initParameters(rows.parts);// init parameters from the first row
             statement = buildInsertCommand(tableName, accessors);
+            if (this.canInsertInBatch(statement)) {
+                insertRowsInBatch(statement, rows);
+                return;
+            }
             Parse row = rows;
             int rowNum = 0;
             while ((row = row.more) != null) {
@@ -153,4 +168,122 @@ public class InsertFixture extends Test4JFixture {
             throw new HasMarkedException(e);
         }
     }
+
+    /**
+     * 是否可以批量插入<br>
+     * 有输出列(自增主键回填、sequence)时需要逐行获取结果，只能逐行插入
+     * 
+     * @param statement
+     * @return
+     * @throws SQLException
+     */
+    protected boolean canInsertInBatch(PreparedStatement statement) throws SQLException {
+        if (batchSize <= 1) {
+            return false;
+        }
+        for (DbParameterAccessor accessor : accessors) {
+            if (accessor.getDirection() != DbParameterAccessor.INPUT) {
+                return false;
+            }
+        }
+        return statement.getConnection().getMetaData().supportsBatchUpdates();
+    }
+
+    /**
+     * 每batchSize行执行一次executeBatch
+     * 
+     * @param statement
+     * @param rows
+     * @throws SQLException
+     */
+    protected void insertRowsInBatch(PreparedStatement statement, Parse rows) throws SQLException {
+        List<Parse> batchRows = new ArrayList<Parse>(batchSize);
+        Parse row = rows;
+        while ((row = row.more) != null) {
+            try {
+                addRowToBatch(statement, row);
+            } catch (HasMarkedException e) {
+                // 出错行之前的数据照常插入,和逐行插入的结果保持一致
+                executeBatch(statement, batchRows);
+                throw e;
+            }
+            batchRows.add(row);
+            if (batchRows.size() >= batchSize) {
+                executeBatch(statement, batchRows);
+            }
+        }
+        executeBatch(statement, batchRows);
+    }
+
+    protected void addRowToBatch(PreparedStatement statement, Parse row) {
+        Parse cell = row.parts;
+        try {
+            statement.clearParameters();
+            for (int column = 0; column < accessors.length; column++, cell = cell.more) {
+                columnBindings[column].doCell(this, cell);
+            }
+            statement.addBatch();
+        } catch (Throwable e) {
+            exception(cell, e);
+            throw new HasMarkedException(e);
+        }
+    }
+
+    /**
+     * 执行当前批次，并把执行结果标记到对应的行上
+     * 
+     * @param statement
+     * @param batchRows
+     * @throws SQLException
+     */
+    protected void executeBatch(PreparedStatement statement, List<Parse> batchRows) throws SQLException {
+        if (batchRows.isEmpty()) {
+            return;
+        }
+        try {
+            statement.executeBatch();
+            for (Parse row : batchRows) {
+                right(row);
+            }
+        } catch (BatchUpdateException e) {
+            markBatchFailure(batchRows, e);
+            throw new HasMarkedException(e);
+        } finally {
+            statement.clearBatch();
+            batchRows.clear();
+        }
+    }
+
+    /**
+     * 根据BatchUpdateException.getUpdateCounts()定位出错的行<br>
+     * 不同驱动的处理方式不同: 有的在第一个出错行停止(返回出错行之前的结果),
+     * 有的继续执行后续行(出错行标记为Statement.EXECUTE_FAILED)；<br>
+     * 驱动没有执行到的行标记为ignore
+     * 
+     * @param batchRows
+     * @param e
+     */
+    private void markBatchFailure(List<Parse> batchRows, BatchUpdateException e) {
+        int[] counts = e.getUpdateCounts() == null ? new int[0] : e.getUpdateCounts();
+        boolean located = false;
+        for (int count : counts) {
+            if (count == Statement.EXECUTE_FAILED) {
+                located = true;
+            }
+        }
+        for (int index = 0; index < batchRows.size(); index++) {
+            Parse row = batchRows.get(index);
+            if (index < counts.length) {
+                if (counts[index] == Statement.EXECUTE_FAILED) {
+                    exception(row.parts, e);
+                } else {
+                    right(row);
+                }
+            } else if (index == counts.length && located == false) {
+                exception(row.parts, e);
+            } else {
+                ignore(row);
+            }
+        }
+    }
 }
@@ -0,0 +1,107 @@
+package org.test4j.module.dbfit.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.test4j.module.database.environment.normalise.NameNormaliser;
+import org.test4j.module.dbfit.exception.NoMatchingRowFoundException;
+
+/**
+ * 按主键列对DataTable中的数据行建立的hash索引<br>
+ * 索引只需建立一次，之后每次查找匹配行只需一次hash定位，避免逐行线性扫描<br>
+ * 同一个桶内的数据行保持原表中的顺序，查找结果与{@link DataTable#findMatching(Map)}一致
+ */
+public class DataRowIndex {
+    /**
+     * 用于表示数据行中不存在的列值
+     */
+    private static final Object                          ABSENT  = new Object();
+
+    private final String[]                               keyColumns;
+
+    private final Map<List<Object>, LinkedList<DataRow>> buckets = new HashMap<List<Object>, LinkedList<DataRow>>();
+
+    DataRowIndex(List<DataRow> rows, Collection<String> keyColumns) {
+        this.keyColumns = new String[keyColumns.size()];
+        int index = 0;
+        for (String column : keyColumns) {
+            this.keyColumns[index++] = NameNormaliser.normaliseName(column);
+        }
+        for (DataRow dr : rows) {
+            if (dr.isProcessed()) {
+                continue;
+            }
+            List<Object> key = this.hashKey(dr);
+            LinkedList<DataRow> bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = new LinkedList<DataRow>();
+                buckets.put(key, bucket);
+            }
+            bucket.add(dr);
+        }
+    }
+
+    /**
+     * 查找第一个未处理过的且主键值匹配的数据行<br>
+     * keyProperties的key必须和建立索引时的主键列一致
+     *
+     * @param keyProperties
+     * @return
+     * @throws NoMatchingRowFoundException
+     */
+    public DataRow findMatching(Map<String, Object> keyProperties) throws NoMatchingRowFoundException {
+        Map<String, Object> normalised = new HashMap<String, Object>();
+        for (Map.Entry<String, Object> entry : keyProperties.entrySet()) {
+            normalised.put(NameNormaliser.normaliseName(entry.getKey()), entry.getValue());
+        }
+        List<Object> key = new ArrayList<Object>(keyColumns.length);
+        for (String column : keyColumns) {
+            key.add(normalised.containsKey(column) ? hashValue(normalised.get(column)) : ABSENT);
+        }
+        LinkedList<DataRow> bucket = buckets.get(key);
+        if (bucket == null) {
+            throw new NoMatchingRowFoundException();
+        }
+        for (Iterator<DataRow> it = bucket.iterator(); it.hasNext();) {
+            DataRow dr = it.next();
+            if (dr.isProcessed()) {
+                it.remove();
+                continue;
+            }
+            if (dr.matches(keyProperties)) {
+                return dr;
+            }
+        }
+        throw new NoMatchingRowFoundException();
+    }
+
+    private List<Object> hashKey(DataRow dr) {
+        List<Object> key = new ArrayList<Object>(keyColumns.length);
+        for (String column : keyColumns) {
+            if (dr.getColumnNames().contains(column)) {
+                key.add(hashValue(dr.get(column)));
+            } else {
+                key.add(ABSENT);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * 数字类型的比较是按数值进行的(Integer 1 和 Long 1 相等)，所以统一按double值计算hash<br>
+     * hash相同的行在查找时还会通过{@link DataRow#matches(Map)}做精确比较
+     */
+    private static Object hashValue(Object value) {
+        if (value instanceof Number) {
+            double d = ((Number) value).doubleValue();
+            return d == 0.0d ? Double.valueOf(0.0d) : Double.valueOf(d);
+        } else {
+            return value;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.test4j.module.dbfit.model;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +40,17 @@ public class DataTable {
         throw new NoMatchingRowFoundException();
     }
 
+    /**
+     * 按指定的主键列对未处理的数据行建立hash索引<br>
+     * 需要逐行匹配另一个结果集时，应先建立索引再查找，避免每行都做一次线性扫描
+     * 
+     * @param keyColumns 主键列
+     * @return
+     */
+    public DataRowIndex index(Collection<String> keyColumns) {
+        return new DataRowIndex(rows, keyColumns);
+    }
+
     public DataRow findFirstUnprocessedRow() throws NoMatchingRowFoundException {
         for (DataRow dr : rows) {
             boolean process = dr.isProcessed();
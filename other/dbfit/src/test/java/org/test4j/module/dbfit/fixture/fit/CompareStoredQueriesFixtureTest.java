@@ -0,0 +1,33 @@
+package org.test4j.module.dbfit.fixture.fit;
+
+import org.test4j.module.dbfit.model.DataRowIndexTest;
+import org.test4j.module.dbfit.utility.SymbolUtil;
+import org.test4j.testng.Test4J;
+import org.testng.annotations.Test;
+
+import fit.Parse;
+
+@Test(groups = "test4j")
+public class CompareStoredQueriesFixtureTest extends Test4J {
+
+    /**
+     * 主键重复时按顺序一一匹配，多出来的行分别报告缺失
+     */
+    public void testDoTable_DuplicateKey() throws Exception {
+        String[] columns = new String[] { "id", "name" };
+        SymbolUtil.setSymbol("query1", DataRowIndexTest.newDataTable(columns, new Object[] { 1, "a" },
+                new Object[] { 1, "b" }, new Object[] { 1, "c" }));
+        SymbolUtil.setSymbol("query2", DataRowIndexTest.newDataTable(columns, new Object[] { 1, "a" },
+                new Object[] { 1, "x" }, new Object[] { 2, "d" }));
+        Parse table = new Parse("<table><tr><td>compare stored queries</td><td>query1</td><td>query2</td></tr>"
+                + "<tr><td>id</td><td>name?</td></tr></table>");
+
+        CompareStoredQueriesFixture fixture = new CompareStoredQueriesFixture(null, "query1", "query2");
+        fixture.doTable(table);
+        // (1,a)=(1,a); (1,b)和(1,x)的name不同; (1,c)在query2中缺失; (2,d)在query1中缺失
+        want.number(fixture.counts.right).isEqualTo(3);
+        want.number(fixture.counts.wrong).isEqualTo(3);
+        want.string(table.parts.more.more.more.more.parts.body).contains("missing from query2");
+        want.string(table.parts.more.more.more.more.more.parts.body).contains("missing from query1");
+    }
+}
@@ -1,10 +1,22 @@
 package org.test4j.module.dbfit.fixture.fit;
 
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.test4j.module.dbfit.annotations.DbFit;
 import org.test4j.module.dbfit.annotations.DbFit.AUTO;
+import org.test4j.module.dbfit.exception.HasMarkedException;
 import org.test4j.testng.Test4J;
 import org.testng.annotations.Test;
 
+import fit.Parse;
+
 @Test(groups = "test4j")
 public class InsertFixtureTest extends Test4J {
 
@@ -17,4 +29,96 @@ public class InsertFixtureTest extends Test4J {
     public void testKeyGenerateFeedback_oracle() {
 
     }
+
+    @DbFit(auto = AUTO.AUTO)
+    public void testInsertBatch() {
+
+    }
+
+    /**
+     * 驱动在第2行(主键重复)停止执行: 之前的行right，出错行exception，之后的行ignore
+     */
+    public void testExecuteBatch_StopAtFailure() throws Exception {
+        InsertFixture fixture = new InsertFixture(null);
+        List<Parse> rows = newRows(4);
+        executeBatch(fixture, rows, new int[] { 1 });
+
+        want.string(rows.get(0).tag).contains("pass");
+        want.string(rows.get(1).parts.tag).contains("error");
+        want.string(rows.get(1).parts.body).contains("Duplicate entry");
+        want.string(rows.get(2).tag).contains("ignore");
+        want.string(rows.get(3).tag).contains("ignore");
+        want.number(fixture.counts.right).isEqualTo(1);
+        want.number(fixture.counts.exceptions).isEqualTo(1);
+        want.number(fixture.counts.ignores).isEqualTo(2);
+    }
+
+    /**
+     * 驱动执行了所有行，出错行标记为EXECUTE_FAILED: 只有该行exception，其它行right
+     */
+    public void testExecuteBatch_ExecuteFailed() throws Exception {
+        InsertFixture fixture = new InsertFixture(null);
+        List<Parse> rows = newRows(4);
+        executeBatch(fixture, rows, new int[] { 1, Statement.EXECUTE_FAILED, 1, 1 });
+
+        want.string(rows.get(0).tag).contains("pass");
+        want.string(rows.get(1).parts.tag).contains("error");
+        want.string(rows.get(2).tag).contains("pass");
+        want.string(rows.get(3).tag).contains("pass");
+        want.number(fixture.counts.right).isEqualTo(3);
+        want.number(fixture.counts.exceptions).isEqualTo(1);
+        want.number(fixture.counts.ignores).isEqualTo(0);
+    }
+
+    /**
+     * 出错行标记为EXECUTE_FAILED后驱动停止执行: 没有执行到的行ignore，不再当作出错行
+     */
+    public void testExecuteBatch_ExecuteFailedThenStop() throws Exception {
+        InsertFixture fixture = new InsertFixture(null);
+        List<Parse> rows = newRows(4);
+        executeBatch(fixture, rows, new int[] { 1, Statement.EXECUTE_FAILED });
+
+        want.string(rows.get(0).tag).contains("pass");
+        want.string(rows.get(1).parts.tag).contains("error");
+        want.string(rows.get(2).tag).contains("ignore");
+        want.string(rows.get(3).tag).contains("ignore");
+        want.number(fixture.counts.right).isEqualTo(1);
+        want.number(fixture.counts.exceptions).isEqualTo(1);
+        want.number(fixture.counts.ignores).isEqualTo(2);
+    }
+
+    /**
+     * 执行批次，executeBatch抛出带有counts的BatchUpdateException
+     */
+    private static void executeBatch(InsertFixture fixture, List<Parse> rows, final int[] counts) throws Exception {
+        PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(), new Class[] { PreparedStatement.class },
+                new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if ("executeBatch".equals(method.getName())) {
+                            throw new BatchUpdateException("Duplicate entry '2' for key 'PRIMARY'", counts);
+                        }
+                        return null;
+                    }
+                });
+        try {
+            fixture.executeBatch(statement, new ArrayList<Parse>(rows));
+            want.fail("the batch should fail");
+        } catch (HasMarkedException e) {
+            want.object(e.getCause()).clazIs(BatchUpdateException.class);
+        }
+    }
+
+    private static List<Parse> newRows(int size) throws Exception {
+        StringBuilder html = new StringBuilder("<table><tr><td>id</td><td>first_name</td></tr>");
+        for (int index = 1; index <= size; index++) {
+            html.append("<tr><td>").append(index).append("</td><td>name").append(index).append("</td></tr>");
+        }
+        Parse table = new Parse(html.append("</table>").toString());
+        List<Parse> rows = new ArrayList<Parse>();
+        for (Parse row = table.parts.more; row != null; row = row.more) {
+            rows.add(row);
+        }
+        return rows;
+    }
 }
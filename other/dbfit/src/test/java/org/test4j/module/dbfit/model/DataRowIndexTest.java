@@ -0,0 +1,145 @@
+package org.test4j.module.dbfit.model;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.test4j.module.dbfit.exception.NoMatchingRowFoundException;
+import org.test4j.testng.Test4J;
+import org.testng.annotations.Test;
+
+@Test(groups = "test4j")
+public class DataRowIndexTest extends Test4J {
+
+    /**
+     * 数字主键按double计算hash，但是否匹配仍由DataRow.matches决定，结果和逐行查找一致<br>
+     * Integer和Long按long比较，Double和BigDecimal按double比较，Integer和BigDecimal不相等
+     */
+    public void testFindMatching_NumberType() throws Exception {
+        DataTable table = newDataTable(new String[] { "id", "name" }, new Object[] { 1L, "a" }, new Object[] {
+                new BigDecimal("2.0"), "b" });
+        DataRowIndex index = table.index(Arrays.asList("id"));
+
+        want.string(index.findMatching(keys("id", 1)).getStringValue("name")).isEqualTo("a");
+        want.string(table.findMatching(keys("id", 1)).getStringValue("name")).isEqualTo("a");
+        want.string(index.findMatching(keys("id", 2.0d)).getStringValue("name")).isEqualTo("b");
+        want.string(table.findMatching(keys("id", 2.0d)).getStringValue("name")).isEqualTo("b");
+
+        want.bool(isFound(index, keys("id", 2))).is(false);
+        want.bool(isFound(table, keys("id", 2))).is(false);
+    }
+
+    /**
+     * 主键值为null时只匹配主键值也为null的行
+     */
+    public void testFindMatching_NullKey() throws Exception {
+        DataTable table = newDataTable(new String[] { "id", "name" }, new Object[] { 0, "zero" }, new Object[] {
+                null, "null" });
+        DataRowIndex index = table.index(Arrays.asList("id"));
+
+        DataRow row = index.findMatching(keys("id", null));
+        want.string(row.getStringValue("name")).isEqualTo("null");
+        row = index.findMatching(keys("id", 0));
+        want.string(row.getStringValue("name")).isEqualTo("zero");
+    }
+
+    /**
+     * 主键重复时按原表中的顺序返回未处理过的行
+     */
+    public void testFindMatching_DuplicateKey() throws Exception {
+        DataTable table = newDataTable(new String[] { "id", "name" }, new Object[] { 1, "first" }, new Object[] {
+                1, "second" });
+        DataRowIndex index = table.index(Arrays.asList("id"));
+
+        DataRow row = index.findMatching(keys("id", 1));
+        want.string(row.getStringValue("name")).isEqualTo("first");
+        row.markProcessed();
+        row = index.findMatching(keys("id", 1));
+        want.string(row.getStringValue("name")).isEqualTo("second");
+        row.markProcessed();
+        try {
+            index.findMatching(keys("id", 1));
+            want.fail();
+        } catch (NoMatchingRowFoundException e) {
+        }
+    }
+
+    @Test(expectedExceptions = NoMatchingRowFoundException.class)
+    public void testFindMatching_NotFound() throws Exception {
+        DataTable table = newDataTable(new String[] { "id", "name" }, new Object[] { 1, "a" });
+        table.index(Arrays.asList("id")).findMatching(keys("id", 2));
+    }
+
+    private static boolean isFound(DataRowIndex index, Map<String, Object> keys) {
+        try {
+            index.findMatching(keys);
+            return true;
+        } catch (NoMatchingRowFoundException e) {
+            return false;
+        }
+    }
+
+    private static boolean isFound(DataTable table, Map<String, Object> keys) {
+        try {
+            table.findMatching(keys);
+            return true;
+        } catch (NoMatchingRowFoundException e) {
+            return false;
+        }
+    }
+
+    private static Map<String, Object> keys(String column, Object value) {
+        Map<String, Object> keys = new HashMap<String, Object>();
+        keys.put(column, value);
+        return keys;
+    }
+
+    /**
+     * 根据列名和行数据构造DataTable
+     *
+     * @param columns
+     * @param rows
+     * @return
+     * @throws Exception
+     */
+    public static DataTable newDataTable(final String[] columns, final Object[]... rows) throws Exception {
+        final ResultSetMetaData meta = (ResultSetMetaData) Proxy.newProxyInstance(
+                DataRowIndexTest.class.getClassLoader(), new Class[] { ResultSetMetaData.class },
+                new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        String name = method.getName();
+                        if ("getColumnCount".equals(name)) {
+                            return columns.length;
+                        } else if ("getColumnName".equals(name)) {
+                            return columns[(Integer) args[0] - 1];
+                        } else {
+                            return null;
+                        }
+                    }
+                });
+        ResultSet rs = (ResultSet) Proxy.newProxyInstance(DataRowIndexTest.class.getClassLoader(),
+                new Class[] { ResultSet.class }, new InvocationHandler() {
+                    private int row = -1;
+
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        String name = method.getName();
+                        if ("getMetaData".equals(name)) {
+                            return meta;
+                        } else if ("next".equals(name)) {
+                            return ++row < rows.length;
+                        } else if ("getObject".equals(name)) {
+                            return rows[row][(Integer) args[0] - 1];
+                        } else {
+                            return null;
+                        }
+                    }
+                });
+        return new DataTable(rs);
+    }
+}
@@ -0,0 +1,48 @@
+package org.test4j.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.test4j.module.ICore.DataMap;
+import org.test4j.tools.datagen.AbastractDataGenerator;
+import org.test4j.tools.datagen.DataSet;
+
+/**
+ * DataSet.parseMapList的性能基准，数据中包含固定值、数组和数据生成器
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DataSetBenchmark {
+    @Param({ "10", "1000" })
+    int     count;
+
+    DataMap datas;
+
+    @Setup
+    public void setup() {
+        this.datas = new DataMap();
+        this.datas.put("id", AbastractDataGenerator.increase(1, 1));
+        this.datas.put("name", "name1", "name2", "name3");
+        this.datas.put("status", "open");
+        this.datas.put("channel", AbastractDataGenerator.repeat("web", "mobile"));
+        this.datas.put("amount", AbastractDataGenerator.random(Double.class));
+    }
+
+    @Benchmark
+    public List<DataMap> parseMapList() {
+        return DataSet.parseMapList(count, datas);
+    }
+}
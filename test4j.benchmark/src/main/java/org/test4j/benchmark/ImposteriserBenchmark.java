@@ -0,0 +1,42 @@
+package org.test4j.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.test4j.benchmark.model.Order;
+import org.test4j.tools.reflector.imposteriser.ClassImposteriser;
+import org.test4j.tools.reflector.imposteriser.Invocation;
+import org.test4j.tools.reflector.imposteriser.Invokable;
+
+/**
+ * ClassImposteriser生成代理对象的性能基准
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ImposteriserBenchmark {
+    final Invokable invokable = new Invokable() {
+                                  public Object invoke(Invocation invocation) throws Throwable {
+                                      return null;
+                                  }
+                              };
+
+    @Benchmark
+    public Object imposterise_Class() {
+        return ClassImposteriser.INSTANCE.imposterise(invokable, Order.class);
+    }
+
+    @Benchmark
+    public Object imposterise_Interface() {
+        return ClassImposteriser.INSTANCE.imposterise(invokable, Runnable.class);
+    }
+}
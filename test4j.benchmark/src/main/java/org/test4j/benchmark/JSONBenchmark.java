@@ -0,0 +1,62 @@
+package org.test4j.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.test4j.benchmark.model.Order;
+import org.test4j.json.JSON;
+import org.test4j.json.helper.JSONFeature;
+
+/**
+ * JSON.toJSON和JSON.toObject的性能基准，订单列表每个订单包含5个明细
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JSONBenchmark {
+    @Param({ "10", "1000" })
+    int         count;
+
+    List<Order> orders;
+
+    String      json;
+
+    /**
+     * 不带class标记的json，按指定类型反序列化
+     */
+    String      plainJson;
+
+    @Setup
+    public void setup() {
+        this.orders = Order.mock(count, 5);
+        this.json = JSON.toJSON(orders);
+        this.plainJson = JSON.toJSON(orders, JSONFeature.UnMarkClassFlag);
+    }
+
+    @Benchmark
+    public String toJSON() {
+        return JSON.toJSON(orders);
+    }
+
+    @Benchmark
+    public Object toObject() {
+        return JSON.toObject(json);
+    }
+
+    @Benchmark
+    public Object toObject_Typed() {
+        return JSON.toObject(plainJson, Order[].class);
+    }
+}
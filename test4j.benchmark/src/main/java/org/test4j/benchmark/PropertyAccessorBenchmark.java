@@ -0,0 +1,54 @@
+package org.test4j.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.test4j.benchmark.model.Order;
+import org.test4j.tools.reflector.PropertyAccessor;
+
+/**
+ * 属性访问的性能基准
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PropertyAccessorBenchmark {
+    Order               order;
+
+    Map<String, Object> map;
+
+    @Setup
+    public void setup() {
+        this.order = Order.mock(1, 5).get(0);
+        this.map = new HashMap<String, Object>();
+        this.map.put("id", 1L);
+        this.map.put("customer", order.getCustomer());
+    }
+
+    @Benchmark
+    public Object getProperty() {
+        return PropertyAccessor.getProperty(order, "customer");
+    }
+
+    @Benchmark
+    public Object getProperty_Map() {
+        return PropertyAccessor.getProperty(map, "id");
+    }
+
+    @Benchmark
+    public Object getPropertyByOgnl() {
+        return PropertyAccessor.getPropertyByOgnl(order, "customer.name", true);
+    }
+}
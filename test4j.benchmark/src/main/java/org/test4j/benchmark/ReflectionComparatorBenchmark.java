@@ -0,0 +1,63 @@
+package org.test4j.benchmark;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.test4j.benchmark.model.Order;
+import org.test4j.hamcrest.matcher.property.reflection.EqMode;
+import org.test4j.hamcrest.matcher.property.reflection.ReflectionComparator;
+import org.test4j.hamcrest.matcher.property.reflection.ReflectionComparatorFactory;
+
+/**
+ * 对象反射比较的性能基准，IgnoreOrder模式下实际值的顺序和期望值相反
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ReflectionComparatorBenchmark {
+    @Param({ "10", "200" })
+    int                  count;
+
+    List<Order>          expected;
+
+    List<Order>          actual;
+
+    List<Order>          reversed;
+
+    ReflectionComparator strict;
+
+    ReflectionComparator ignoreOrder;
+
+    @Setup
+    public void setup() {
+        this.expected = Order.mock(count, 5);
+        this.actual = Order.mock(count, 5);
+        this.reversed = Order.mock(count, 5);
+        Collections.reverse(this.reversed);
+        this.strict = ReflectionComparatorFactory.createRefectionComparator();
+        this.ignoreOrder = ReflectionComparatorFactory.createRefectionComparator(EqMode.IGNORE_ORDER);
+    }
+
+    @Benchmark
+    public boolean strict() {
+        return strict.isEqual(expected, actual);
+    }
+
+    @Benchmark
+    public boolean ignoreOrder() {
+        return ignoreOrder.isEqual(expected, reversed);
+    }
+}
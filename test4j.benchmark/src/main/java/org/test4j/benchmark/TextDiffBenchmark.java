@@ -0,0 +1,55 @@
+package org.test4j.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.test4j.tools.commons.TextDiffHelper;
+
+/**
+ * 文本比较的性能基准，右边文本每50行修改一行
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TextDiffBenchmark {
+    @Param({ "100", "10000" })
+    int    lines;
+
+    String left;
+
+    String right;
+
+    @Setup
+    public void setup() {
+        StringBuilder lbuff = new StringBuilder();
+        StringBuilder rbuff = new StringBuilder();
+        for (int index = 0; index < lines; index++) {
+            String line = "select id, name, amount from t_order where id = " + index + ";\n";
+            lbuff.append(line);
+            rbuff.append(index % 50 == 0 ? "-- changed " + line : line);
+        }
+        this.left = lbuff.toString();
+        this.right = rbuff.toString();
+    }
+
+    @Benchmark
+    public Object getDiff() {
+        return TextDiffHelper.getDiff(left, right);
+    }
+
+    @Benchmark
+    public String getDiffHtml() {
+        return TextDiffHelper.getDiffHtml(left, right);
+    }
+}
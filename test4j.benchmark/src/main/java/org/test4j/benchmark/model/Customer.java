@@ -0,0 +1,57 @@
+package org.test4j.benchmark.model;
+
+import java.io.Serializable;
+
+public class Customer implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long              id;
+
+    private String            name;
+
+    private String            email;
+
+    private String            address;
+
+    public Customer() {
+    }
+
+    public Customer(long id, String name) {
+        this.id = id;
+        this.name = name;
+        this.email = name + "@test4j.org";
+        this.address = "No." + id + " test4j street";
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+}
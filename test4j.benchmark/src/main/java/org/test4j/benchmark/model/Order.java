@@ -0,0 +1,89 @@
+package org.test4j.benchmark.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Order implements Serializable {
+    private static final long   serialVersionUID = 1L;
+
+    private long                id;
+
+    private Customer            customer;
+
+    private Date                created;
+
+    private List<OrderItem>     items            = new ArrayList<OrderItem>();
+
+    private Map<String, String> attributes       = new HashMap<String, String>();
+
+    public Order() {
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(Customer customer) {
+        this.customer = customer;
+    }
+
+    public Date getCreated() {
+        return created;
+    }
+
+    public void setCreated(Date created) {
+        this.created = created;
+    }
+
+    public List<OrderItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<OrderItem> items) {
+        this.items = items;
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(Map<String, String> attributes) {
+        this.attributes = attributes;
+    }
+
+    /**
+     * 构造count个订单，每个订单包含items个明细
+     * 
+     * @param count
+     * @param items
+     * @return
+     */
+    public static List<Order> mock(int count, int items) {
+        List<Order> orders = new ArrayList<Order>(count);
+        for (int index = 0; index < count; index++) {
+            Order order = new Order();
+            order.setId(index);
+            order.setCustomer(new Customer(index % 100, "customer" + (index % 100)));
+            order.setCreated(new Date(1356969600000L + index * 60000L));
+            for (int item = 0; item < items; item++) {
+                order.getItems().add(new OrderItem("sku-" + index + "-" + item, item + 1, 9.9d * (item + 1)));
+            }
+            order.getAttributes().put("channel", index % 2 == 0 ? "web" : "mobile");
+            order.getAttributes().put("remark", "order remark " + index);
+            orders.add(order);
+        }
+        return orders;
+    }
+}
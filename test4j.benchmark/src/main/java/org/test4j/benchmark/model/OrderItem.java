@@ -0,0 +1,46 @@
+package org.test4j.benchmark.model;
+
+import java.io.Serializable;
+
+public class OrderItem implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String            sku;
+
+    private int               quantity;
+
+    private double            price;
+
+    public OrderItem() {
+    }
+
+    public OrderItem(String sku, int quantity, double price) {
+        this.sku = sku;
+        this.quantity = quantity;
+        this.price = price;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+}
@@ -1,11 +1,20 @@
 package org.test4j.datafilling.common;
 
 import java.io.Serializable;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.test4j.datafilling.annotations.FillExclude;
 import org.test4j.module.core.utility.MessageHelper;
@@ -18,6 +27,9 @@ import org.test4j.module.core.utility.MessageHelper;
  * will then be analysed to compose the list of setters which can be invoked to
  * create the state of a given POJO.
  * </p>
+ * <p>
+ * 每个类的填充计划(属性、setter方法及其属性上的注解)只解析一次，之后从缓存中获取
+ * </p>
  */
 @SuppressWarnings({ "serial" })
 public class ClassFieldInfo implements Serializable {
@@ -28,6 +40,11 @@ public class ClassFieldInfo implements Serializable {
     /** The Set of setters belonging to this class */
     private final Set<Method> classSetters;
 
+    /** setter方法 -> 对应属性上的注解，反序列化后为null，使用时再创建 */
+    private transient volatile Map<Method, List<Annotation>> setterAnnotations;
+
+    private static final Map<Class<?>, ClassFieldInfo> CLASS_INFO_CACHE = new ConcurrentHashMap<Class<?>, ClassFieldInfo>();
+
     /**
      * Full constructor
      * 
@@ -52,15 +69,79 @@ public class ClassFieldInfo implements Serializable {
     }
 
     /**
-     * It returns a {@link ClassFieldInfo} object for the given class
+     * 返回setter方法对应属性上的注解，属性不存在或没有注解时返回空列表
+     * 
+     * @param clazz setter方法所在的类
+     * @param setter
+     * @return
+     */
+    public List<Annotation> getSetterAnnotations(Class<?> clazz, Method setter) {
+        Map<Method, List<Annotation>> cache = setterAnnotations;
+        if (cache == null) {
+            cache = new ConcurrentHashMap<Method, List<Annotation>>();
+            setterAnnotations = cache;
+        }
+        List<Annotation> annotations = cache.get(setter);
+        if (annotations == null) {
+            annotations = getFieldAnnotations(clazz, extractFieldNameFromSetterMethod(setter));
+            cache.put(setter, annotations);
+        }
+        return annotations;
+    }
+
+    /**
+     * It returns a {@link ClassFieldInfo} object for the given class<br>
+     * 结果会被缓存，同一个类只解析一次
      * 
      * @param clazz The class to retrieve info from
      * @return a {@link ClassFieldInfo} object for the given class
      */
     public static ClassFieldInfo getClassInfo(Class<?> clazz) {
-        Set<String> classFields = getDeclaredInstanceFields(clazz);
-        Set<Method> classSetters = getPojoSetters(clazz, classFields);
-        return new ClassFieldInfo(classFields, classSetters);
+        ClassFieldInfo classInfo = CLASS_INFO_CACHE.get(clazz);
+        if (classInfo == null) {
+            Set<String> classFields = getDeclaredInstanceFields(clazz);
+            Set<Method> classSetters = sortSetters(getPojoSetters(clazz, classFields));
+            classInfo = new ClassFieldInfo(Collections.unmodifiableSet(classFields),
+                    Collections.unmodifiableSet(classSetters));
+            CLASS_INFO_CACHE.put(clazz, classInfo);
+        }
+        return classInfo;
+    }
+
+    /**
+     * setter方法按签名排序，保证相同随机种子下填充顺序(即生成的数据)一致
+     */
+    private static Set<Method> sortSetters(Set<Method> setters) {
+        List<Method> list = new ArrayList<Method>(setters);
+        Collections.sort(list, new Comparator<Method>() {
+            public int compare(Method m1, Method m2) {
+                return m1.toString().compareTo(m2.toString());
+            }
+        });
+        return new LinkedHashSet<Method>(list);
+    }
+
+    /**
+     * 返回类(包括父类)中指定属性上的注解
+     * 
+     * @param clazz
+     * @param fieldName
+     * @return
+     */
+    private static List<Annotation> getFieldAnnotations(Class<?> clazz, String fieldName) {
+        while (clazz != null) {
+            try {
+                Field field = clazz.getDeclaredField(fieldName);
+                Annotation[] annotations = field.getAnnotations();
+                if (annotations == null || annotations.length == 0) {
+                    break;
+                }
+                return Collections.unmodifiableList(Arrays.asList(annotations));
+            } catch (NoSuchFieldException e) {
+                clazz = clazz.getSuperclass();
+            }
+        }
+        return Collections.emptyList();
     }
 
     /**
@@ -1,6 +1,7 @@
 package org.test4j.datafilling.common;
 
 import org.test4j.datafilling.strategy.AttributeStrategy;
+import org.test4j.tools.commons.ConfigHelper;
 
 public class FillingConstants {
 	/**
@@ -24,6 +25,38 @@ public class FillingConstants {
 	/** The name of the {@link AttributeStrategy} interface */
 	public static final String PoJoGen_ATTRIBUTE_STRATEGY_METHOD_NAME = "getValue";
 
+	/**
+	 * 同一类型在递归结构中允许填充的层数
+	 */
+	public static final String PROPKEY_MAX_DEPTH = "datafilling.max.depth";
+
+	/**
+	 * 对象图中PoJo允许嵌套的层数，超过后只通过构造函数或工厂方法创建实例，不再填充属性
+	 */
+	public static final String PROPKEY_MAX_GRAPH_DEPTH = "datafilling.max.graph.depth";
+
+	/**
+	 * 没有@FillList注解时，集合、数组和Map填充的元素个数
+	 */
+	public static final String PROPKEY_COLLECTION_SIZE = "datafilling.collection.size";
+
+	/**
+	 * 随机数种子，设置后每个线程生成的随机数据可以重现
+	 */
+	public static final String PROPKEY_RANDOM_SEED = "datafilling.random.seed";
+
+	public static int maxDepth() {
+		return ConfigHelper.getInteger(PROPKEY_MAX_DEPTH, MAX_DEPTH);
+	}
+
+	public static int maxGraphDepth() {
+		return ConfigHelper.getInteger(PROPKEY_MAX_GRAPH_DEPTH, 16);
+	}
+
+	public static int collectionSize() {
+		return ConfigHelper.getInteger(PROPKEY_COLLECTION_SIZE, ARRAY_DEFAULT_SIZE);
+	}
+
 	private FillingConstants() {
 		throw new AssertionError();
 	}
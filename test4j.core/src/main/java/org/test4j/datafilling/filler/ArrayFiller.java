@@ -41,7 +41,7 @@ public class ArrayFiller extends Filler {
      * @throws Exception
      */
     public Object fillingArray(AttributeInfo attribute) throws Exception {
-        int nbrElements = FillingConstants.ARRAY_DEFAULT_SIZE;
+        int nbrElements = FillingConstants.collectionSize();
         FillList filling = this.getFilling(attribute);
         AttributeStrategy elementStrategy = null;
 
@@ -112,7 +112,7 @@ public class CollectionFiller extends Filler {
         FillList collectionAnnotation = this.getFilling(collItemAttribute);
 
         AttributeStrategy elementStrategy = null;
-        int nbrElements = FillingConstants.ARRAY_DEFAULT_SIZE;
+        int nbrElements = FillingConstants.collectionSize();
         if (null != collectionAnnotation) {
             nbrElements = collectionAnnotation.size();
             elementStrategy = collectionAnnotation.collectionElementStrategy().newInstance();
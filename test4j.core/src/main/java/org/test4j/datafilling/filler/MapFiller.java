@@ -57,7 +57,7 @@ public class MapFiller extends Filler {
 
             Map mapInstance = getAttributeMapInstance(attribute);
             AttributeStrategy keyStrategy = null;
-            int nbrElements = FillingConstants.ARRAY_DEFAULT_SIZE;
+            int nbrElements = FillingConstants.collectionSize();
             AttributeStrategy<?> elementStrategy = null;
             if (null != filling) {
                 nbrElements = filling.size();
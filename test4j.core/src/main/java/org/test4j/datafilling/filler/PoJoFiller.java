@@ -7,6 +7,7 @@ import java.util.Map;
 import org.test4j.datafilling.Filler;
 import org.test4j.datafilling.common.AttributeInfo;
 import org.test4j.datafilling.common.ClassFieldInfo;
+import org.test4j.datafilling.common.FillingConstants;
 import org.test4j.datafilling.exceptions.PoJoFillException;
 import org.test4j.datafilling.filler.pojo.ConstructorFiller;
 import org.test4j.datafilling.filler.pojo.FactoryMethodFiller;
@@ -20,6 +21,15 @@ import org.test4j.datafilling.strategy.DataFactory;
  */
 @SuppressWarnings({ "unchecked", "rawtypes" })
 public class PoJoFiller extends Filler {
+    /**
+     * 当前线程正在填充的PoJo嵌套层数
+     */
+    private static final ThreadLocal<int[]> graphDepth = new ThreadLocal<int[]>() {
+                                                           @Override
+                                                           protected int[] initialValue() {
+                                                               return new int[1];
+                                                           }
+                                                       };
 
     public PoJoFiller(DataFactory strategy, Map<String, Type> argsTypeMap) {
         super(strategy, argsTypeMap);
@@ -27,7 +37,8 @@ public class PoJoFiller extends Filler {
 
     /**
      * Generic method which returns an instance of the given class filled with
-     * dummy values
+     * dummy values<br>
+     * 对象图嵌套层数超过{@link FillingConstants#PROPKEY_MAX_GRAPH_DEPTH}时不再填充属性
      * 
      * @param pojoAttr The generic type arguments for the current generic class
      *            instance
@@ -37,10 +48,13 @@ public class PoJoFiller extends Filler {
      *             instance or while setting its state
      */
     public <T> T fillingPoJo(AttributeInfo pojoAttr, int depth) throws PoJoFillException {
+        int[] nested = graphDepth.get();
+        nested[0]++;
         try {
             ClassFieldInfo classInfo = pojoAttr.getClassInfo();
             final Map<String, Type> typeArgsMap = pojoAttr.getArgsTypeMap();
-            if (classInfo.getClassSetters().isEmpty() || pojoAttr.isJavax()) {
+            boolean isTooDeep = nested[0] > FillingConstants.maxGraphDepth();
+            if (classInfo.getClassSetters().isEmpty() || pojoAttr.isJavax() || isTooDeep) {
                 Object o = fillingWithConstructorsOrFactory(pojoAttr);
                 return (T) o;
             } else {
@@ -50,6 +64,8 @@ public class PoJoFiller extends Filler {
             }
         } catch (Exception e) {
             throw new PoJoFillException("An filling exception occurred:" + e.getMessage(), e);
+        } finally {
+            nested[0]--;
         }
     }
 
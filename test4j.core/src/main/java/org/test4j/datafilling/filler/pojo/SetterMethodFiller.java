@@ -1,11 +1,8 @@
 package org.test4j.datafilling.filler.pojo;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -84,48 +81,14 @@ public class SetterMethodFiller extends PoJoFiller {
                                                 Method setter) {
         Type attributeType = setter.getGenericParameterTypes()[0];
         String attributeName = ClassFieldInfo.extractFieldNameFromSetterMethod(setter);
-        List<Annotation> pojoAttributeAnnotations = retrieveFieldAnnotations(pojoAttr, setter);
+        List<Annotation> pojoAttributeAnnotations = pojoAttr.getClassInfo().getSetterAnnotations(
+                pojoAttr.getAttrClaz(), setter);
         AttributeInfo fieldAttr = AttributeInfo.exactArgAttributeInfo(attributeType, typeArgsMap);
         fieldAttr.setPojoClaz(pojoAttr.getAttrClaz()).setAttrName(attributeName);
         fieldAttr.setAttrAnnotations(pojoAttributeAnnotations);
         return fieldAttr;
     }
 
-    /**
-     * Given the original class and the setter method, it returns all
-     * annotations for the field or an empty collection if no custom annotations
-     * were found on the field
-     * 
-     * @param clazz The class containing the annotated attribute
-     * @param setter The setter method
-     * @return all annotations for the field
-     */
-    private List<Annotation> retrieveFieldAnnotations(AttributeInfo pojoAttr, Method setter) {
-        List<Annotation> retValue = new ArrayList<Annotation>();
-        String attributeName = ClassFieldInfo.extractFieldNameFromSetterMethod(setter);
-
-        Field setterField = null;
-        Class clazz = pojoAttr.getAttrClaz();
-        while (clazz != null) {
-            try {
-                setterField = clazz.getDeclaredField(attributeName);
-                break;
-            } catch (NoSuchFieldException e) {
-                clazz = clazz.getSuperclass();
-            } catch (SecurityException e) {
-                throw e;
-            }
-        }
-
-        if (setterField != null) {
-            Annotation[] annotations = setterField.getAnnotations();
-            if (annotations != null && annotations.length != 0) {
-                retValue = Arrays.asList(annotations);
-            }
-        }
-        return retValue;
-    }
-
     /**
      * 创建循环引用对象
      * 
@@ -137,7 +100,7 @@ public class SetterMethodFiller extends PoJoFiller {
      */
     private Object getNestedObjectInstance(AttributeInfo pojoAttr, int depth, final Map<String, Type> typeArgsMap)
             throws Exception {
-        if (depth < FillingConstants.MAX_DEPTH) {
+        if (depth < FillingConstants.maxDepth()) {
             Object o = new PoJoFiller(this.strategy, typeArgsMap).fillingPoJo(pojoAttr, depth + 1);
             return o;
         } else {
@@ -4,6 +4,7 @@ import java.util.Random;
 
 import org.test4j.datafilling.common.AttributeInfo;
 import org.test4j.datafilling.common.FillingConstants;
+import org.test4j.tools.commons.ConfigHelper;
 
 /**
  * Default implementation of a {@link DataFactory}
@@ -13,6 +14,11 @@ import org.test4j.datafilling.common.FillingConstants;
  * </p>
  * 
  * <p>
+ * 每个线程使用独立的随机数生成器，通过{@link #setSeed(long)}或配置项
+ * {@link FillingConstants#PROPKEY_RANDOM_SEED}指定种子后，生成的数据可以重现
+ * </p>
+ * 
+ * <p>
  * All values returned by this implementation are <b>different from zero</b>.
  * </p>
  * 
@@ -21,8 +27,18 @@ import org.test4j.datafilling.common.FillingConstants;
  * </p>
  */
 public class RandomDataFactory implements DataFactory {
-	/** A RANDOM generator */
-	private static final Random RANDOM = new Random(System.currentTimeMillis());
+	/** A RANDOM generator per thread */
+	private static final ThreadLocal<Random> RANDOM = new ThreadLocal<Random>() {
+		@Override
+		protected Random initialValue() {
+			String seed = ConfigHelper.getString(FillingConstants.PROPKEY_RANDOM_SEED, null);
+			if (seed == null) {
+				return new Random();
+			} else {
+				return new Random(Long.parseLong(seed.trim()));
+			}
+		}
+	};
 
 	/** The singleton instance of this implementation */
 	private static final RandomDataFactory SINGLETON = new RandomDataFactory();
@@ -48,13 +64,33 @@ public class RandomDataFactory implements DataFactory {
 		return SINGLETON;
 	}
 
+	/**
+	 * 重置当前线程的随机数种子，之后生成的数据序列可以重现
+	 * 
+	 * @param seed
+	 */
+	public static void setSeed(long seed) {
+		RANDOM.set(new Random(seed));
+	}
+
+	/**
+	 * 清除当前线程设置的随机数种子，之后按配置项重新创建随机数生成器
+	 */
+	public static void resetSeed() {
+		RANDOM.remove();
+	}
+
+	private static Random random() {
+		return RANDOM.get();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	public Byte getByte(AttributeInfo attribute) {
-		byte nextByte = (byte) RANDOM.nextInt(Byte.MAX_VALUE);
+		byte nextByte = (byte) random().nextInt(Byte.MAX_VALUE);
 		while (nextByte == 0) {
-			nextByte = (byte) RANDOM.nextInt(Byte.MAX_VALUE);
+			nextByte = (byte) random().nextInt(Byte.MAX_VALUE);
 		}
 		return nextByte;
 	}
@@ -67,9 +103,9 @@ public class RandomDataFactory implements DataFactory {
 		if (minValue == maxValue) {
 			return minValue;
 		}
-		byte retValue = (byte) (minValue + (byte) (Math.random() * (maxValue - minValue + 1)));
+		byte retValue = (byte) (minValue + (byte) (random().nextDouble() * (maxValue - minValue + 1)));
 		while (retValue < minValue || retValue > maxValue) {
-			retValue = (byte) (minValue + (byte) (Math.random() * (maxValue - minValue + 1)));
+			retValue = (byte) (minValue + (byte) (random().nextDouble() * (maxValue - minValue + 1)));
 		}
 		return retValue;
 	}
@@ -94,9 +130,9 @@ public class RandomDataFactory implements DataFactory {
 		if (minValue == maxValue) {
 			return minValue;
 		}
-		char retValue = (char) (minValue + (char) (Math.random() * (maxValue - minValue + 1)));
+		char retValue = (char) (minValue + (char) (random().nextDouble() * (maxValue - minValue + 1)));
 		while (retValue < minValue || retValue > maxValue) {
-			retValue = (char) (minValue + (char) (Math.random() * (maxValue - minValue + 1)));
+			retValue = (char) (minValue + (char) (random().nextDouble() * (maxValue - minValue + 1)));
 		}
 
 		return retValue;
@@ -106,9 +142,9 @@ public class RandomDataFactory implements DataFactory {
 	 * {@inheritDoc}
 	 */
 	public Double getDouble(AttributeInfo attribute) {
-		double retValue = RANDOM.nextDouble();
+		double retValue = random().nextDouble();
 		while (retValue == 0.0) {
-			retValue = RANDOM.nextDouble();
+			retValue = random().nextDouble();
 		}
 		return retValue;
 	}
@@ -121,9 +157,9 @@ public class RandomDataFactory implements DataFactory {
 		if (minValue == maxValue) {
 			return minValue;
 		}
-		double retValue = minValue + Math.random() * (maxValue - minValue + 1);
+		double retValue = minValue + random().nextDouble() * (maxValue - minValue + 1);
 		while (retValue < minValue || retValue > maxValue) {
-			retValue = minValue + Math.random() * (maxValue - minValue + 1);
+			retValue = minValue + random().nextDouble() * (maxValue - minValue + 1);
 		}
 		return retValue;
 	}
@@ -132,9 +168,9 @@ public class RandomDataFactory implements DataFactory {
 	 * {@inheritDoc}
 	 */
 	public Float getFloat(AttributeInfo attribute) {
-		float retValue = RANDOM.nextFloat();
+		float retValue = random().nextFloat();
 		while (retValue == 0.0f) {
-			retValue = RANDOM.nextFloat();
+			retValue = random().nextFloat();
 		}
 		return retValue;
 	}
@@ -148,9 +184,9 @@ public class RandomDataFactory implements DataFactory {
 		if (minValue == maxValue) {
 			return minValue;
 		}
-		float retValue = minValue + (float) (Math.random() * (maxValue - minValue + 1));
+		float retValue = minValue + (float) (random().nextDouble() * (maxValue - minValue + 1));
 		while (retValue < minValue || retValue > maxValue) {
-			retValue = minValue + (float) (Math.random() * (maxValue - minValue + 1));
+			retValue = minValue + (float) (random().nextDouble() * (maxValue - minValue + 1));
 		}
 		return retValue;
 	}
@@ -160,9 +196,9 @@ public class RandomDataFactory implements DataFactory {
 	 */
 
 	public Integer getInteger(AttributeInfo attribute) {
-		Integer retValue = RANDOM.nextInt();
+		Integer retValue = random().nextInt();
 		while (retValue.intValue() == 0) {
-			retValue = RANDOM.nextInt();
+			retValue = random().nextInt();
 		}
 		return retValue;
 	}
@@ -175,9 +211,9 @@ public class RandomDataFactory implements DataFactory {
 		if (minValue == maxValue) {
 			return minValue;
 		}
-		int retValue = minValue + (int) (Math.random() * (maxValue - minValue + 1));
+		int retValue = minValue + (int) (random().nextDouble() * (maxValue - minValue + 1));
 		while (retValue < minValue || retValue > maxValue) {
-			retValue = minValue + (int) (Math.random() * (maxValue - minValue + 1));
+			retValue = minValue + (int) (random().nextDouble() * (maxValue - minValue + 1));
 		}
 		return retValue;
 	}
@@ -204,9 +240,9 @@ public class RandomDataFactory implements DataFactory {
 		if (minValue == maxValue) {
 			return minValue;
 		}
-		long retValue = minValue + (long) (Math.random() * (maxValue - minValue + 1));
+		long retValue = minValue + (long) (random().nextDouble() * (maxValue - minValue + 1));
 		while (retValue < minValue || retValue > maxValue) {
-			retValue = minValue + (long) (Math.random() * (maxValue - minValue + 1));
+			retValue = minValue + (long) (random().nextDouble() * (maxValue - minValue + 1));
 		}
 		return retValue;
 	}
@@ -215,9 +251,9 @@ public class RandomDataFactory implements DataFactory {
 	 * {@inheritDoc}
 	 */
 	public Short getShort(AttributeInfo attribute) {
-		short retValue = (short) RANDOM.nextInt(Byte.MAX_VALUE);
+		short retValue = (short) random().nextInt(Byte.MAX_VALUE);
 		while (retValue == 0) {
-			retValue = (short) RANDOM.nextInt(Byte.MAX_VALUE);
+			retValue = (short) random().nextInt(Byte.MAX_VALUE);
 		}
 		return retValue;
 	}
@@ -230,9 +266,9 @@ public class RandomDataFactory implements DataFactory {
 		if (minValue == maxValue) {
 			return minValue;
 		}
-		short retValue = (short) (minValue + (short) (Math.random() * (maxValue - minValue + 1)));
+		short retValue = (short) (minValue + (short) (random().nextDouble() * (maxValue - minValue + 1)));
 		while (retValue < minValue || retValue > maxValue) {
-			retValue = (short) (minValue + (short) (Math.random() * (maxValue - minValue + 1)));
+			retValue = (short) (minValue + (short) (random().nextDouble() * (maxValue - minValue + 1)));
 		}
 		return retValue;
 	}
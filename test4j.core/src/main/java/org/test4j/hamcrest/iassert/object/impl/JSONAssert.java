@@ -16,6 +16,7 @@ import org.test4j.json.helper.JSONObject;
 import org.test4j.json.helper.JSONScanner;
 import org.test4j.json.helper.JSONSingle;
 
+import ext.test4j.hamcrest.Description;
 import ext.test4j.hamcrest.Matcher;
 import ext.test4j.hamcrest.MatcherAssert;
 import ext.test4j.hamcrest.core.Is;
@@ -23,21 +24,85 @@ import ext.test4j.hamcrest.core.Is;
 @SuppressWarnings({ "rawtypes", "unchecked" })
 public class JSONAssert extends AllAssert<Object, JSONAssert> implements IJSONAssert {
 
+	/**
+	 * 原始的json字符串，只在需要时才解析
+	 */
+	private final String json;
+
+	private boolean converted = false;
+
 	public JSONAssert(String json, Class<? extends IAssert<?, ?>> clazE) {
 		super(clazE);
-		JSONObject temp = JSONScanner.scnJSON(json);
-		this.value = convert(temp);
+		this.json = json;
 		this.type = AssertType.AssertStyle;
 	}
 
+	/**
+	 * 解析整个json并转换为LinkedHashMap/LinkedList/String，只解析一次
+	 * 
+	 * @return
+	 */
+	private Object jsonValue() {
+		if (!this.converted) {
+			JSONObject temp = JSONScanner.scnJSON(this.json);
+			this.value = convert(temp);
+			this.converted = true;
+		}
+		return this.value;
+	}
+
+	/**
+	 * 返回路径指向的值，路径为空时返回整个json对象<br>
+	 * 按路径扫描时只转换路径指向的部分
+	 * 
+	 * @param path
+	 * @return
+	 */
+	private Object jsonValue(String path) {
+		if (path == null || "".equals(path) || "/".equals(path)) {
+			return this.jsonValue();
+		}
+		JSONObject temp = JSONScanner.scnJSON(this.json, path);
+		return convert(temp);
+	}
+
+	@Override
+	public JSONAssert assertThat(Matcher matcher) {
+		this.jsonValue();
+		return super.assertThat(matcher);
+	}
+
+	@Override
+	public JSONAssert assertThat(String message, Matcher matcher) {
+		this.jsonValue();
+		return super.assertThat(message, matcher);
+	}
+
+	@Override
+	public void describeTo(Description description) {
+		this.jsonValue();
+		super.describeTo(description);
+	}
+
+	@Override
+	public IStringAssert toStringAssert() {
+		this.jsonValue();
+		return super.toStringAssert();
+	}
+
 	public ICollectionAssert isJSONArray() {
+		return this.isJSONArray(null);
+	}
+
+	public ICollectionAssert isJSONArray(String path) {
 		CollectionAssert collectionAssert = null;
 		Matcher matcher = Is.isA(LinkedList.class);
 		if (this.type == AssertType.AssertStyle) {
-			if (this.value instanceof LinkedList) {
-				collectionAssert = new CollectionAssert((LinkedList) this.value);
+			Object value = this.jsonValue(path);
+			if (value instanceof LinkedList) {
+				collectionAssert = new CollectionAssert((LinkedList) value);
 			} else {
-				MatcherAssert.assertThat(this.value, matcher);
+				MatcherAssert.assertThat(message(path), value, matcher);
 			}
 		} else {
 			collectionAssert = new CollectionAssert();
@@ -46,13 +111,18 @@ public class JSONAssert extends AllAssert<Object, JSONAssert> implements IJSONAs
 	}
 
 	public IMapAssert isJSONMap() {
+		return this.isJSONMap(null);
+	}
+
+	public IMapAssert isJSONMap(String path) {
 		MapAssert mapAssert = null;
 		Matcher matcher = Is.isA(LinkedHashMap.class);
 		if (this.type == AssertType.AssertStyle) {
-			if (this.value instanceof Map) {
-				mapAssert = new MapAssert((Map) this.value);
+			Object value = this.jsonValue(path);
+			if (value instanceof Map) {
+				mapAssert = new MapAssert((Map) value);
 			} else {
-				MatcherAssert.assertThat(this.value, matcher);
+				MatcherAssert.assertThat(message(path), value, matcher);
 			}
 		} else {
 			mapAssert = new MapAssert();
@@ -61,13 +131,18 @@ public class JSONAssert extends AllAssert<Object, JSONAssert> implements IJSONAs
 	}
 
 	public IStringAssert isSimple() {
+		return this.isSimple(null);
+	}
+
+	public IStringAssert isSimple(String path) {
 		StringAssert stringAssert = null;
 		Matcher matcher = Is.isA(String.class);
 		if (this.type == AssertType.AssertStyle) {
-			if (this.value instanceof String) {
-				stringAssert = new StringAssert((String) this.value);
+			Object value = this.jsonValue(path);
+			if (value instanceof String) {
+				stringAssert = new StringAssert((String) value);
 			} else {
-				MatcherAssert.assertThat(this.value, matcher);
+				MatcherAssert.assertThat(message(path), value, matcher);
 			}
 		} else {
 			stringAssert = new StringAssert();
@@ -75,6 +150,10 @@ public class JSONAssert extends AllAssert<Object, JSONAssert> implements IJSONAs
 		return stringAssert.assertThat(matcher);
 	}
 
+	private static String message(String path) {
+		return path == null ? "" : "json path[" + path + "]";
+	}
+
 	private static Object convert(JSONObject obj) {
 		if (obj == null) {
 			return null;
@@ -11,6 +11,15 @@ public interface IJSONAssert extends IAssert<Object, JSONAssert> {
 	 */
 	ICollectionAssert isJSONArray();
 
+	/**
+	 * json路径(格式同JSON Pointer，如/data/0/items)指向的对象是集合<br>
+	 * 只扫描路径需要的部分，其它内容直接跳过
+	 * 
+	 * @param path
+	 * @return
+	 */
+	ICollectionAssert isJSONArray(String path);
+
 	/**
 	 * json对象是key-value对象
 	 * 
@@ -18,10 +27,26 @@ public interface IJSONAssert extends IAssert<Object, JSONAssert> {
 	 */
 	IMapAssert isJSONMap();
 
+	/**
+	 * json路径指向的对象是key-value对象
+	 * 
+	 * @param path
+	 * @return
+	 */
+	IMapAssert isJSONMap(String path);
+
 	/**
 	 * json对象是个简单对象
 	 * 
 	 * @return
 	 */
 	IStringAssert isSimple();
+
+	/**
+	 * json路径指向的对象是个简单对象
+	 * 
+	 * @param path
+	 * @return
+	 */
+	IStringAssert isSimple(String path);
 }
@@ -7,6 +7,7 @@ import ext.test4j.hamcrest.BaseMatcher;
 import ext.test4j.hamcrest.Description;
 
 import org.test4j.module.Test4JException;
+import org.test4j.tools.commons.DateHelper;
 
 /**
  * 日期类型部分内容(年，月，日，小时，分钟，秒)断言
@@ -33,8 +34,7 @@ public class DateParterMatcher extends BaseMatcher<Date> {
 		if (actual instanceof Calendar) {
 			cal = (Calendar) actual;
 		} else if (actual instanceof Date) {
-			cal = Calendar.getInstance();
-			cal.setTime((Date) actual);
+			cal = DateHelper.toCalendar((Date) actual);
 		} else {
 			throw new Test4JException(
 					"the actual value must be a java.util.Date instance or a java.util.Calendar instance");
@@ -40,21 +40,21 @@ public class PropertyEqualStringMatcher extends BaseMatcher {
 
 		Object propValue = PropertyAccessor.getPropertyByOgnl(actual, property, true);
 
-		String expectedString = StringMode.getStringByMode(this.expected, modes);
-		String actualString = StringMode.getStringByMode(propValue == null ? null : String.valueOf(propValue), modes);
-
-		boolean match = expectedString == null ? actualString == null : expectedString.equals(actualString);
-		if (match == false) {
-			this.description(expectedString, actualString);
+		String actualString = propValue == null ? null : String.valueOf(propValue);
+		int[] difference = StringMode.firstDifference(this.expected, actualString, modes);
+		if (difference != null) {
+			this.description(this.expected, actualString, difference);
 		}
-		return match;
+		return difference == null;
 	}
 
-	private void description(String expected, String actual) {
+	private void description(String expected, String actual, int[] difference) {
 		buff.append("expected property eq by modes");
 		buff.append(" ").append(expected);
 		buff.append("\n, but actual string is:");
 		buff.append(actual).append(".\n");
+		buff.append("first difference at expected[").append(difference[0]);
+		buff.append("], actual[").append(difference[1]).append("].\n");
 	}
 
 	private final StringBuilder buff = new StringBuilder();
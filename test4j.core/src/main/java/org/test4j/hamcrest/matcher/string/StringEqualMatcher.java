@@ -12,6 +12,18 @@ public class StringEqualMatcher extends StringMatcher {
 		super(expected);
 	}
 
+	/**
+	 * 按模式逐字符比较原始字符串，不生成处理后的中间字符串
+	 */
+	@Override
+	protected boolean matchesSafely(String item) {
+		int[] difference = StringMode.firstDifference(this.expected, item, modes);
+		if (difference != null) {
+			this.description(this.expected, item, difference);
+		}
+		return difference == null;
+	}
+
 	@Override
 	protected boolean match(String expected, String actual) {
 		return actual.equals(expected);
@@ -38,10 +38,25 @@ public abstract class StringMatcher extends TypeSafeMatcher<String> {
 	}
 
 	private void description(String expected, String actual) {
+		this.description(expected, actual, null);
+	}
+
+	/**
+	 * 记录不匹配的描述信息
+	 * 
+	 * @param expected
+	 * @param actual
+	 * @param difference 第一个不同字符在原始字符串中的位置{expected位置, actual位置}，可以为null
+	 */
+	protected void description(String expected, String actual, int[] difference) {
 		buff.append("expected string ");
 		buff.append(this.relationship());
 		buff.append(" ").append(expected);
 		buff.append("\n, but actual string is:");
 		buff.append(actual).append(".\n");
+		if (difference != null) {
+			buff.append("first difference at expected[").append(difference[0]);
+			buff.append("], actual[").append(difference[1]).append("].\n");
+		}
 	}
 }
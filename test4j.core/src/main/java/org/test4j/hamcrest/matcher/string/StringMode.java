@@ -162,21 +162,156 @@ public enum StringMode {
 	public abstract String process(String input);
 
 	/**
-	 * 返回经过StringMode处理过的字符串
+	 * 返回经过StringMode处理过的字符串<br>
+	 * 所有模式在一次遍历中完成，模式之间与顺序无关: 先忽略空白/引号，再合并空白，最后做字符替换
 	 * 
 	 * @param input
 	 * @param modes
 	 * @return
 	 */
 	public static String getStringByMode(String input, StringMode... modes) {
-		if (modes == null || modes.length == 0) {
+		if (modes == null || modes.length == 0 || input == null) {
 			return input;
 		}
-		String output = input;
-		for (StringMode mode : modes) {
-			output = mode.process(output);
+		StringBuilder buff = new StringBuilder(input.length());
+		Reader reader = new Reader(input, modes);
+		for (int ch = reader.next(); ch != Reader.EOF; ch = reader.next()) {
+			buff.append((char) ch);
+		}
+		return buff.toString();
+	}
+
+	/**
+	 * 按模式比较2个字符串，不生成中间字符串<br>
+	 * 相等返回null，否则返回第一个不同字符在原始字符串中的位置: {expected位置, actual位置}
+	 * 
+	 * @param expected
+	 * @param actual
+	 * @param modes
+	 * @return
+	 */
+	public static int[] firstDifference(String expected, String actual, StringMode... modes) {
+		if (expected == null || actual == null) {
+			return expected == actual ? null : new int[] { 0, 0 };
+		}
+		Reader left = new Reader(expected, modes);
+		Reader right = new Reader(actual, modes);
+		while (true) {
+			int lch = left.next();
+			int rch = right.next();
+			if (lch != rch) {
+				return new int[] { left.offset(), right.offset() };
+			}
+			if (lch == Reader.EOF) {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * 按模式逐个读取处理后的字符，同时记录字符在原始字符串中的位置
+	 */
+	static class Reader {
+		static final int     EOF = -1;
+
+		private final String input;
+
+		private final int    length;
+
+		private boolean      ignoreCase;
+
+		private boolean      ignoreSpace;
+
+		private boolean      ignoreQuato;
+
+		private boolean      sameAsSpace;
+
+		private boolean      sameAsQuato;
+
+		private boolean      sameAsSlash;
+
+		private int          index  = 0;
+
+		private int          offset = 0;
+
+		Reader(String input, StringMode... modes) {
+			this.input = input;
+			this.length = input.length();
+			if (modes == null) {
+				return;
+			}
+			for (StringMode mode : modes) {
+				switch (mode) {
+				case IgnoreCase:
+					ignoreCase = true;
+					break;
+				case IgnoreSpace:
+					ignoreSpace = true;
+					break;
+				case IgnoreQuato:
+					ignoreQuato = true;
+					break;
+				case SameAsSpace:
+					sameAsSpace = true;
+					break;
+				case SameAsQuato:
+					sameAsQuato = true;
+					break;
+				case SameAsSlash:
+					sameAsSlash = true;
+					break;
+				}
+			}
+		}
+
+		/**
+		 * 返回下一个处理后的字符，读完返回EOF
+		 * 
+		 * @return
+		 */
+		int next() {
+			while (index < length) {
+				char ch = input.charAt(index);
+				if (this.isIgnored(ch)) {
+					index++;
+					continue;
+				}
+				offset = index++;
+				if (sameAsSpace && StringHelper.isSpace(ch)) {
+					for (; index < length; index++) {
+						char next = input.charAt(index);
+						if (StringHelper.isSpace(next) == false && this.isIgnored(next) == false) {
+							break;
+						}
+					}
+					return ' ';
+				}
+				if (sameAsQuato && ch == '"') {
+					ch = '\'';
+				} else if (sameAsSlash && ch == '/') {
+					ch = '\\';
+				}
+				return ignoreCase ? Character.toLowerCase(ch) : ch;
+			}
+			offset = length;
+			return EOF;
+		}
+
+		/**
+		 * 最后读取的字符在原始字符串中的位置
+		 * 
+		 * @return
+		 */
+		int offset() {
+			return offset;
+		}
+
+		private boolean isIgnored(char ch) {
+			if (ignoreSpace && StringHelper.isSpace(ch)) {
+				return true;
+			}
+			return ignoreQuato && (ch == '"' || ch == '\'');
 		}
-		return output;
 	}
 
 	public static String toString(StringMode... modes) {
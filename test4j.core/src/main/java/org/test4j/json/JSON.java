@@ -10,6 +10,7 @@ import java.util.Map;
 
 import org.test4j.json.decoder.IDecoder;
 import org.test4j.json.decoder.base.DecoderFactory;
+import org.test4j.json.encoder.EncodeLimit;
 import org.test4j.json.encoder.JSONEncoder;
 import org.test4j.json.helper.JSONArray;
 import org.test4j.json.helper.JSONFeature;
@@ -100,6 +101,37 @@ public final class JSON {
         return json;
     }
 
+    /**
+     * 将对象编码为json串，超出limit限制的内容不会被编码，而是输出截断标记
+     * 
+     * @param object
+     * @param limit 编码限制，null时不限制
+     * @param features
+     * @return
+     */
+    public static final String toJSON(Object object, EncodeLimit limit, JSONFeature... features) {
+        if (limit == null) {
+            return toJSON(object, features);
+        }
+        if (object == null) {
+            return "null";
+        }
+        StringWriter writer = new StringWriter();
+        JSONEncoder encoder = JSONEncoder.get(object.getClass());
+        encoder.setFeatures(JSONFeature.getFeaturesMask(features));
+
+        EncodeLimit previous = EncodeLimit.attach(limit);
+        try {
+            encoder.encode(object, limit.wrap(writer), new ArrayList<String>());
+        } finally {
+            EncodeLimit.attach(previous);
+        }
+        if (limit.isFull() && limit.isTruncated()) {
+            writer.write(limit.getFullMarker());
+        }
+        return writer.toString();
+    }
+
     /**
      * 将对象编码为json串
      * 
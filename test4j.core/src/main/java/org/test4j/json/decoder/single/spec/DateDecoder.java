@@ -1,9 +1,6 @@
 package org.test4j.json.decoder.single.spec;
 
 import java.lang.reflect.Type;
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 
 import org.test4j.json.decoder.base.SpecTypeDecoder;
@@ -14,22 +11,37 @@ public class DateDecoder extends SpecTypeDecoder {
 	public final static DateDecoder toDATE = new DateDecoder();
 
 	private static long getTime(String value) {
-		if (value.matches("\\d+[Ll]?")) {
-			long time = Long.valueOf(value.replaceAll("[Ll]", ""));
+		int length = getMillisLength(value);
+		if (length > 0) {
+			long time = Long.parseLong(value.substring(0, length));
 			return time;
 		}
 		if (dateFormat == null) {
 			Date date = DateHelper.parse(value);
 			return date.getTime();
 		}
-		DateFormat df = new SimpleDateFormat(dateFormat);
-		try {
-			Date date = df.parse(value);
-			return date.getTime();
-		} catch (ParseException e) {
-			String message = "";
-			throw new RuntimeException(message, e);
+		Date date = DateHelper.parse(value, dateFormat);
+		return date.getTime();
+	}
+
+	/**
+	 * value是毫秒数格式(\d+[Ll]?)时返回数字部分的长度，否则返回0
+	 */
+	private static int getMillisLength(String value) {
+		int length = value.length();
+		if (length > 0 && (value.charAt(length - 1) == 'L' || value.charAt(length - 1) == 'l')) {
+			length--;
+		}
+		if (length == 0) {
+			return 0;
+		}
+		for (int index = 0; index < length; index++) {
+			char ch = value.charAt(index);
+			if (ch < '0' || ch > '9') {
+				return 0;
+			}
 		}
+		return length;
 	}
 
 	private static String dateFormat = null;
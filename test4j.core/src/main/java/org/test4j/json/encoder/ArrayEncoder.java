@@ -15,28 +15,53 @@ public abstract class ArrayEncoder<T> extends JSONEncoder<T> {
 	@Override
 	public boolean encode(T target, Writer writer, List<String> references) {
 		try {
-			boolean isNullOrRef = this.writerNullOrReference(target, writer, references, true);
+			boolean isNullOrRef = this.writerNullOrReference(target, writer, references, false);
 			if (isNullOrRef) {
 				return false;
 			}
-			if (this.unMarkClassFlag == false) {
-				writer.append('{');
-				this.writeClassFlag(target, writer);
-				writer.append(',');
-				this.writerSpecProperty(JSONFeature.ValueFlag, writer);
-				writer.append(':');
+			EncodeLimit limit = EncodeLimit.current();
+			if (limit != null && limit.enter(writer, quote_Char) == false) {
+				return true;
 			}
-			writer.append('[');
-			this.encodeIterator(target, writer, references);
-			writer.append(']');
-			if (this.unMarkClassFlag == false) {
-				writer.append('}');
+			this.markReference(target, references);
+			try {
+				if (this.unMarkClassFlag == false) {
+					writer.append('{');
+					this.writeClassFlag(target, writer);
+					writer.append(',');
+					this.writerSpecProperty(JSONFeature.ValueFlag, writer);
+					writer.append(':');
+				}
+				writer.append('[');
+				this.encodeIterator(target, writer, references);
+				writer.append(']');
+				return this.endClassFlag(writer);
+			} finally {
+				if (limit != null) {
+					limit.exit();
+				}
 			}
-			return true;
 		} catch (Exception e) {
 			throw this.wrapException(e);
 		}
 	}
 
+	private boolean endClassFlag(Writer writer) throws Exception {
+		if (this.unMarkClassFlag == false) {
+			writer.append('}');
+		}
+		return true;
+	}
+
+	/**
+	 * 元素个数超出限制时，输出剩余元素个数的截断标记
+	 */
+	protected void writeMoreItems(EncodeLimit limit, Writer writer, boolean isFirst, int more) throws Exception {
+		if (isFirst == false) {
+			writer.append(',');
+		}
+		limit.writeMoreItems(writer, quote_Char, more);
+	}
+
 	protected abstract void encodeIterator(T target, Writer writer, List<String> references) throws Exception;
 }
@@ -0,0 +1,246 @@
+package org.test4j.json.encoder;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * json编码的截断限制: 对象嵌套层数、集合(数组、Map)元素个数、字符串长度和输出的总字符数<br>
+ * 超出限制的部分不会被编码，而是输出截断标记，例如 "...(99 more items)"<br>
+ * 同一个EncodeLimit可以用于多次编码，总字符数累计计算；限制值小于等于0表示不限制
+ */
+public class EncodeLimit {
+    private static final ThreadLocal<EncodeLimit> current = new ThreadLocal<EncodeLimit>();
+
+    private final int                             maxDepth;
+
+    private final int                             maxItems;
+
+    private final int                             maxStringLength;
+
+    private final int                             maxChars;
+
+    private int                                   depth;
+
+    private int                                   chars;
+
+    private boolean                               truncated;
+
+    /**
+     * @param maxDepth 对象嵌套层数
+     * @param maxItems 集合、数组、Map输出的元素个数
+     * @param maxStringLength 字符串输出的长度
+     * @param maxChars 输出的总字符数
+     */
+    public EncodeLimit(int maxDepth, int maxItems, int maxStringLength, int maxChars) {
+        this.maxDepth = maxDepth;
+        this.maxItems = maxItems;
+        this.maxStringLength = maxStringLength;
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * 是否有内容因为超出限制被截断
+     * 
+     * @return
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * 返回是否有内容被截断，并清除截断状态，用于分别判断每次编码是否被截断
+     * 
+     * @return
+     */
+    public boolean clearTruncated() {
+        boolean isTruncated = this.truncated;
+        this.truncated = false;
+        return isTruncated;
+    }
+
+    /**
+     * 输出的总字符数是否已经达到限制
+     * 
+     * @return
+     */
+    public boolean isFull() {
+        return maxChars > 0 && chars >= maxChars;
+    }
+
+    /**
+     * 当前线程正在使用的编码限制，没有时返回null
+     * 
+     * @return
+     */
+    public static EncodeLimit current() {
+        return current.get();
+    }
+
+    /**
+     * 设置当前线程的编码限制，返回之前的设置
+     * 
+     * @param limit
+     * @return
+     */
+    public static EncodeLimit attach(EncodeLimit limit) {
+        EncodeLimit previous = current.get();
+        if (limit == null) {
+            current.remove();
+        } else {
+            current.set(limit);
+        }
+        return previous;
+    }
+
+    /**
+     * 进入下一层对象，超出层数限制时输出截断标记并返回false<br>
+     * 返回true时，编码结束后必须调用{@link #exit()}
+     * 
+     * @param writer
+     * @param quote
+     * @return
+     * @throws IOException
+     */
+    public boolean enter(Writer writer, char quote) throws IOException {
+        if (maxDepth > 0 && depth >= maxDepth) {
+            this.writeMarker(writer, quote, "...(depth > " + maxDepth + ")");
+            return false;
+        }
+        depth++;
+        return true;
+    }
+
+    public void exit() {
+        depth--;
+    }
+
+    /**
+     * 第index(从0开始)个元素是否还可以输出<br>
+     * 因为元素个数超出限制返回false时，由调用者通过{@link #writeMoreItems(Writer, char, int)}输出截断标记
+     * 
+     * @param index
+     * @return
+     */
+    public boolean acceptItem(int index) {
+        if (this.isFull()) {
+            this.truncated = true;
+            return false;
+        }
+        return maxItems <= 0 || index < maxItems;
+    }
+
+    /**
+     * 输出剩余元素个数的截断标记，总字符数已经达到限制时不输出
+     * 
+     * @param writer
+     * @param quote
+     * @param more 剩余的元素个数
+     * @throws IOException
+     */
+    public void writeMoreItems(Writer writer, char quote, int more) throws IOException {
+        if (this.isFull() == false) {
+            this.writeMarker(writer, quote, "...(" + more + " more items)");
+        }
+    }
+
+    /**
+     * 返回字符串在限制内的部分，超长时由{@link #getStringMarker(String)}返回截断标记
+     * 
+     * @param value
+     * @return
+     */
+    public String limitString(String value) {
+        if (maxStringLength <= 0 || value.length() <= maxStringLength) {
+            return value;
+        }
+        this.truncated = true;
+        return value.substring(0, maxStringLength);
+    }
+
+    /**
+     * 字符串的截断标记，没有超长时返回null
+     * 
+     * @param value
+     * @return
+     */
+    public String getStringMarker(String value) {
+        if (maxStringLength <= 0 || value.length() <= maxStringLength) {
+            return null;
+        }
+        return "...(" + (value.length() - maxStringLength) + " more chars)";
+    }
+
+    private void writeMarker(Writer writer, char quote, String marker) throws IOException {
+        this.truncated = true;
+        writer.append(quote).append(marker).append(quote);
+    }
+
+    /**
+     * 包装输出，超出总字符数的内容被丢弃
+     * 
+     * @param writer
+     * @return
+     */
+    public Writer wrap(Writer writer) {
+        return new LimitWriter(writer);
+    }
+
+    /**
+     * 总字符数截断的标记
+     * 
+     * @return
+     */
+    public String getFullMarker() {
+        return "...(exceeds " + maxChars + " chars)";
+    }
+
+    private class LimitWriter extends Writer {
+        private final Writer out;
+
+        LimitWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            if (this.accept(1) == 1) {
+                out.write(c);
+            }
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            out.write(cbuf, off, this.accept(len));
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            out.write(str, off, this.accept(len));
+        }
+
+        /**
+         * 返回可以输出的字符数
+         */
+        private int accept(int len) {
+            if (maxChars <= 0) {
+                return len;
+            }
+            int accepted = Math.max(0, Math.min(len, maxChars - chars));
+            chars += accepted;
+            if (accepted < len) {
+                truncated = true;
+            }
+            return accepted;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
@@ -147,6 +147,9 @@ public abstract class JSONEncoder<T> {
 			return true;
 		}
 		String address = ClazzMap.getReferenceAddress(value);
+		if (address == null) {
+			return false;
+		}
 		if (references.contains(address)) {
 			if (this.unMarkClassFlag) {
 				writer.append("null");
@@ -165,6 +168,20 @@ public abstract class JSONEncoder<T> {
 		return false;
 	}
 
+	/**
+	 * 记录对象的引用地址，之后再遇到同一个对象时输出引用<br>
+	 * 因为层数限制没有输出的对象不能记录，否则之后的引用会指向没有输出的对象
+	 * 
+	 * @param value
+	 * @param references
+	 */
+	protected void markReference(Object value, List<String> references) {
+		String address = ClazzMap.getReferenceAddress(value);
+		if (address != null && references.contains(address) == false) {
+			references.add(address);
+		}
+	}
+
 	/**
 	 * 输出特定属性名称或值<br>
 	 * 如果声明了QuoteFieldNames特性输出 "propertyname" 或 'propertyname' <br>
@@ -1,6 +1,7 @@
 package org.test4j.json.encoder;
 
 import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -20,28 +21,58 @@ public abstract class ObjectEncoder<T> extends JSONEncoder<T> {
 	}
 
 	private final boolean encodeObject(T target, Writer writer, List<String> references) throws Exception {
-		boolean isNullOrRef = this.writerNullOrReference(target, writer, references, true);
+		boolean isNullOrRef = this.writerNullOrReference(target, writer, references, false);
 		if (isNullOrRef) {
 			return false;
 		}
-		Collection<PropertyEncoder> encoders = this.getPropertyEncoders(target);
+		EncodeLimit limit = EncodeLimit.current();
+		if (limit != null && limit.enter(writer, quote_Char) == false) {
+			return true;
+		}
+		this.markReference(target, references);
+		try {
+			List<PropertyEncoder> encoders = new ArrayList<PropertyEncoder>();
+			for (PropertyEncoder encoder : this.getPropertyEncoders(target)) {
+				if (encoder.doesSkipNull() == false) {
+					encoders.add(encoder);
+				}
+			}
 
-		writer.write("{");
-		boolean comma = this.writeClassFlag(target, writer);
-		for (PropertyEncoder encoder : encoders) {
-			if (encoder.doesSkipNull()) {
-				continue;
+			writer.write("{");
+			boolean comma = this.writeClassFlag(target, writer);
+			for (int index = 0; index < encoders.size(); index++) {
+				if (limit != null && this.acceptProperty(limit, index) == false) {
+					this.writeMoreProperties(limit, writer, comma, encoders.size() - index);
+					break;
+				}
+				if (comma) {
+					writer.write(",");
+				} else {
+					comma = true;
+				}
+				comma = encoders.get(index).encode(target, writer, references);
 			}
-			if (comma) {
-				writer.write(",");
-			} else {
-				comma = true;
+
+			writer.write("}");
+			return true;
+		} finally {
+			if (limit != null) {
+				limit.exit();
 			}
-			comma = encoder.encode(target, writer, references);
 		}
+	}
 
-		writer.write("}");
-		return true;
+	/**
+	 * 第index个属性是否还可以输出，默认只受总字符数的限制
+	 */
+	protected boolean acceptProperty(EncodeLimit limit, int index) {
+		return limit.isFull() == false;
+	}
+
+	/**
+	 * 输出剩余属性的截断标记，默认不输出
+	 */
+	protected void writeMoreProperties(EncodeLimit limit, Writer writer, boolean comma, int more) throws Exception {
 	}
 
 	/**
@@ -4,6 +4,7 @@ import java.io.Writer;
 import java.util.List;
 
 import org.test4j.json.encoder.ArrayEncoder;
+import org.test4j.json.encoder.EncodeLimit;
 import org.test4j.json.encoder.JSONEncoder;
 
 @SuppressWarnings({ "rawtypes", "unchecked" })
@@ -15,9 +16,14 @@ public abstract class ArraysEncoder<T> extends ArrayEncoder<T> {
 
 	@Override
 	protected void encodeIterator(T target, Writer writer, List<String> references) throws Exception {
+		EncodeLimit limit = EncodeLimit.current();
 		boolean isFirst = true;
 		int size = this.getArraySize(target);
 		for (int index = 0; index < size; index++) {
+			if (limit != null && limit.acceptItem(index) == false) {
+				this.writeMoreItems(limit, writer, isFirst, size - index);
+				break;
+			}
 			if (isFirst) {
 				isFirst = false;
 			} else {
@@ -7,6 +7,7 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.test4j.json.encoder.ArrayEncoder;
+import org.test4j.json.encoder.EncodeLimit;
 import org.test4j.json.encoder.JSONEncoder;
 
 @SuppressWarnings({ "rawtypes", "unchecked" })
@@ -22,8 +23,14 @@ public class CollectionEncoder extends ArrayEncoder<Collection> {
 
 	@Override
 	protected void encodeIterator(Collection target, Writer writer, List<String> references) throws Exception {
+		EncodeLimit limit = EncodeLimit.current();
 		boolean isFirst = true;
-		for (Iterator it = target.iterator(); it.hasNext();) {
+		int index = 0;
+		for (Iterator it = target.iterator(); it.hasNext(); index++) {
+			if (limit != null && limit.acceptItem(index) == false) {
+				this.writeMoreItems(limit, writer, isFirst, target.size() - index);
+				break;
+			}
 			if (isFirst) {
 				isFirst = false;
 			} else {
@@ -1,10 +1,12 @@
 package org.test4j.json.encoder.object;
 
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
+import org.test4j.json.encoder.EncodeLimit;
 import org.test4j.json.encoder.ObjectEncoder;
 import org.test4j.json.encoder.PropertyEncoder;
 import org.test4j.json.helper.JSONFeature;
@@ -30,4 +32,21 @@ public class MapEncoder<M extends Map> extends ObjectEncoder<M> {
 		}
 		return list;
 	}
+
+	/**
+	 * Map的元素个数受{@link EncodeLimit}的限制
+	 */
+	@Override
+	protected boolean acceptProperty(EncodeLimit limit, int index) {
+		return limit.acceptItem(index);
+	}
+
+	@Override
+	protected void writeMoreProperties(EncodeLimit limit, Writer writer, boolean comma, int more) throws Exception {
+		if (comma) {
+			writer.write(",");
+		}
+		limit.writeMoreItems(writer, quote_Char, more);
+		writer.write(":null");
+	}
 }
@@ -3,6 +3,7 @@ package org.test4j.json.encoder.single.fixed;
 import java.io.IOException;
 import java.io.Writer;
 
+import org.test4j.json.encoder.EncodeLimit;
 import org.test4j.json.encoder.single.FixedTypeEncoder;
 
 public class StringEncoder extends FixedTypeEncoder<String> {
@@ -15,7 +16,16 @@ public class StringEncoder extends FixedTypeEncoder<String> {
 	@Override
 	public void encodeSingleValue(String target, Writer writer) throws Exception {
 		writer.append(quote_Char);
-		writeEscapeString(target, writer);
+		EncodeLimit limit = EncodeLimit.current();
+		if (limit == null) {
+			writeEscapeString(target, writer);
+		} else {
+			writeEscapeString(limit.limitString(target), writer);
+			String marker = limit.getStringMarker(target);
+			if (marker != null) {
+				writer.append(marker);
+			}
+		}
 		writer.append(quote_Char);
 	}
 
@@ -18,6 +18,44 @@ public class JSONScanner {
 		return o;
 	}
 
+	/**
+	 * 按路径只扫描json中的一部分，路径之外的内容只跳过，不解析也不创建对象<br>
+	 * 路径格式同JSON Pointer: /key/index/key，路径为空或"/"时返回整个json对象
+	 * 
+	 * @param json
+	 * @param path
+	 * @return 路径指向的json对象，路径不存在时返回null
+	 */
+	public static JSONObject scnJSON(String json, String path) {
+		String[] segments = parsePath(path);
+		if (json == null || segments.length == 0) {
+			return scnJSON(json);
+		}
+		JSONScanner scanner = new JSONScanner(json.toCharArray());
+		return scanner.scanPath(segments);
+	}
+
+	/**
+	 * 解析JSON Pointer格式的路径，~1表示'/'，~0表示'~'
+	 * 
+	 * @param path
+	 * @return
+	 */
+	static String[] parsePath(String path) {
+		if (path == null) {
+			return new String[0];
+		}
+		String _path = path.startsWith("/") ? path.substring(1) : path;
+		if (_path.length() == 0) {
+			return new String[0];
+		}
+		String[] segments = _path.split("/", -1);
+		for (int index = 0; index < segments.length; index++) {
+			segments[index] = segments[index].replace("~1", "/").replace("~0", "~");
+		}
+		return segments;
+	}
+
 	private final char[] input;
 
 	private final int length;
@@ -54,6 +92,206 @@ public class JSONScanner {
 		return json;
 	}
 
+	/**
+	 * 逐级定位路径，只解析最后一级的对象
+	 * 
+	 * @param segments
+	 * @return
+	 */
+	JSONObject scanPath(String[] segments) {
+		for (String segment : segments) {
+			char ch = this.nextToken();
+			boolean found = false;
+			if (ch == '{') {
+				found = this.locateMapValue(segment);
+			} else if (ch == '[') {
+				found = this.locateArrayItem(segment);
+			}
+			if (!found) {
+				return null;
+			}
+		}
+		return this.scanMapValue();
+	}
+
+	/**
+	 * 在map中定位key对应的value，定位成功时index指向value的开始位置<br>
+	 * 其它key对应的value直接跳过
+	 * 
+	 * @param key
+	 * @return
+	 */
+	private boolean locateMapValue(String key) {
+		char ch = this.nextToken();
+		this.index--;
+		while (ch != '}') {
+			JSONObject _key = scanMapKey();
+			ch = this.nextToken();
+			if (ch != ':') {
+				throw this.syntaxError("syntax error, expected char ':'.");
+			}
+			if (_key instanceof JSONSingle && key.equals(((JSONSingle) _key).toStringValue())) {
+				return true;
+			}
+			this.skipMapValue();
+
+			ch = this.nextToken();
+			if (ch != ',' && ch != '}') {
+				throw this.syntaxError("syntax error, expected char '}' or ','.");
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 在数组中定位第n个元素，定位成功时index指向元素的开始位置<br>
+	 * 之前的元素直接跳过
+	 * 
+	 * @param segment
+	 * @return
+	 */
+	private boolean locateArrayItem(String segment) {
+		int position;
+		try {
+			position = Integer.parseInt(segment);
+		} catch (NumberFormatException e) {
+			return false;
+		}
+		char ch = this.nextToken();
+		int count = 0;
+		while (ch != ']') {
+			if (count == position) {
+				this.index--;
+				return true;
+			}
+			this.index--;
+			this.skipMapValue();
+			count++;
+			ch = this.nextToken();
+			if (ch != ',' && ch != ']') {
+				throw this.syntaxError("syntax error, expectd char ',' or ']'.");
+			}
+			if (ch == ',') {
+				ch = this.nextToken();
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 跳过一个值(map, array或单值)，规则和{@link #scanMapValue()}一致
+	 */
+	private void skipMapValue() {
+		char ch = this.nextToken();
+		switch (ch) {
+		case '\0':
+			throw this.syntaxError("syntax error");
+		case '{':
+			this.skipJSONMap();
+			break;
+		case '[':
+			this.skipJSONArray();
+			break;
+		case '"':
+			this.skipString('"');
+			break;
+		case '\'':
+			this.skipString('\'');
+			break;
+		default:
+			this.index--;
+			this.skipString(',', '}', ']');
+			this.index--;
+		}
+	}
+
+	private void skipJSONMap() {
+		char ch = this.nextToken();
+		this.index--;
+		while (ch != '}') {
+			this.skipMapKey();
+			ch = this.nextToken();
+			if (ch != ':') {
+				throw this.syntaxError("syntax error, expected char ':'.");
+			}
+			this.skipMapValue();
+			ch = this.nextToken();
+			if (ch != ',' && ch != '}') {
+				throw this.syntaxError("syntax error, expected char '}' or ','.");
+			}
+		}
+	}
+
+	private void skipMapKey() {
+		char ch = this.nextToken();
+		switch (ch) {
+		case '\0':
+			throw this.syntaxError("syntax error.");
+		case '{':
+			this.skipJSONMap();
+			break;
+		case '[':
+			this.skipJSONArray();
+			break;
+		case '"':
+			this.skipString('"');
+			break;
+		case '\'':
+			this.skipString('\'');
+			break;
+		default:
+			this.index--;
+			this.skipString(':');
+			this.index--;
+		}
+	}
+
+	private void skipJSONArray() {
+		char ch = this.nextToken();
+		while (ch != ']') {
+			switch (ch) {
+			case '{':
+				this.skipJSONMap();
+				break;
+			case '[':
+				this.skipJSONArray();
+				break;
+			case '\'':
+				this.skipString('\'');
+				break;
+			case '"':
+				this.skipString('"');
+				break;
+			default:
+				this.index--;
+				this.skipString(',', ']', '\0');
+				this.index--;
+			}
+			ch = this.nextToken();
+			if (ch != ',' && ch != ']') {
+				throw this.syntaxError("syntax error, expectd char ',' or ']'.");
+			}
+			if (ch == ',') {
+				ch = this.nextToken();
+			}
+		}
+	}
+
+	/**
+	 * 跳过单值对象，规则和{@link #scanString(char, char...)}一致
+	 */
+	private void skipString(final char endChar, char... endChars) {
+		char ch = this.input[this.index++];
+		while (ch != endChar && !contain(endChars, ch)) {
+			if (ch == '\0') {
+				throw this.syntaxError("syntax error.");
+			} else if (ch == '\\') {
+				this.getEscapedChar();
+			}
+			ch = this.input[this.index++];
+		}
+	}
+
 	JSONMap scanJSONMap() {
 		JSONMap map = new JSONMap();
 
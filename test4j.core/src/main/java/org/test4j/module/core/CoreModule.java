@@ -5,9 +5,11 @@ import java.util.List;
 
 import org.test4j.module.core.ClazzAroundObject.ClazzAfterObject;
 import org.test4j.module.core.utility.ConfigurationLoader;
+import org.test4j.module.core.utility.ListenerTimer;
 import org.test4j.module.core.utility.MessageHelper;
 import org.test4j.module.core.utility.ModulesLoader;
 import org.test4j.module.core.utility.ModulesManager;
+import org.test4j.module.core.utility.StartupTimer;
 import org.test4j.module.jmockit.utility.JMockitModuleHelper;
 import org.test4j.tools.commons.ConfigHelper;
 
@@ -62,11 +64,11 @@ public class CoreModule {
      * Creates a new instance.
      */
     public CoreModule() {
-        List<Module> modules = ModulesLoader.loading();
+        ModulesLoader.loading();
         this.testListener = new CoreModuleListener();
-        for (Module module : modules) {
-            module.afterInit();
-        }
+        ListenerTimer.setEnabled(ConfigHelper.getBoolean(ListenerTimer.PROPKEY_TIMING_ENABLED, false));
+        ModulesManager.afterInitModules();
+        MessageHelper.debug(StartupTimer.report());
     }
 
     /**
@@ -96,11 +98,14 @@ public class CoreModule {
             TestContext.setContext(testClazz);
             List<TestListener> listeners = ModulesManager.getTestListeners();
             for (TestListener listener : listeners) {
+                long start = ListenerTimer.start();
                 try {
                     listener.beforeClass(testClazz);
                 } catch (RuntimeException e) {
                     e.printStackTrace();
                     throw e;
+                } finally {
+                    ListenerTimer.stop(listener.getName(), "beforeClass", start);
                 }
             }
         }
@@ -111,11 +116,14 @@ public class CoreModule {
 
             List<TestListener> listeners = ModulesManager.getTestListeners();
             for (TestListener listener : listeners) {
+                long start = ListenerTimer.start();
                 try {
                     listener.beforeMethod(testObject, testMethod);
                 } catch (RuntimeException e) {
                     e.printStackTrace();
                     throw e;
+                } finally {
+                    ListenerTimer.stop(listener.getName(), "beforeMethod", start);
                 }
             }
         }
@@ -126,11 +134,14 @@ public class CoreModule {
 
             List<TestListener> listeners = ModulesManager.getTestListeners();
             for (TestListener listener : listeners) {
+                long start = ListenerTimer.start();
                 try {
                     listener.beforeRunning(testObject, testMethod);
                 } catch (RuntimeException e) {
                     e.printStackTrace();
                     throw e;
+                } finally {
+                    ListenerTimer.stop(listener.getName(), "beforeRunning", start);
                 }
             }
             // TracerManager.startTracer();
@@ -143,11 +154,14 @@ public class CoreModule {
             TestContext.setContext(testObject, testMethod);
             List<TestListener> listeners = ModulesManager.getTestListeners_Reverse();
             for (TestListener listener : listeners) {
+                long start = ListenerTimer.start();
                 try {
                     listener.afterRunned(testObject, testMethod, throwable);
                 } catch (RuntimeException e) {
                     e.printStackTrace();
                     throw e;
+                } finally {
+                    ListenerTimer.stop(listener.getName(), "afterRunned", start);
                 }
             }
         }
@@ -158,11 +172,14 @@ public class CoreModule {
 
             List<TestListener> listeners = ModulesManager.getTestListeners_Reverse();
             for (TestListener listener : listeners) {
+                long start = ListenerTimer.start();
                 try {
                     listener.afterMethod(testObject, testMethod);
                 } catch (RuntimeException e) {
                     e.printStackTrace();
                     throw e;
+                } finally {
+                    ListenerTimer.stop(listener.getName(), "afterMethod", start);
                 }
             }
         }
@@ -171,11 +188,14 @@ public class CoreModule {
         public void afterClass(Object testObject) {
             List<TestListener> listeners = ModulesManager.getTestListeners_Reverse();
             for (TestListener listener : listeners) {
+                long start = ListenerTimer.start();
                 try {
                     listener.afterClass(testObject);
                 } catch (RuntimeException e) {
                     e.printStackTrace();
                     throw e;
+                } finally {
+                    ListenerTimer.stop(listener.getName(), "afterClass", start);
                 }
             }
             TestContext.setContext(new ClazzAfterObject(testObject.getClass()), null);
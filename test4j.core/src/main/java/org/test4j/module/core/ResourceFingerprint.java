@@ -0,0 +1,34 @@
+package org.test4j.module.core;
+
+/**
+ * 模块可以实现的扩展接口，返回测试类在该模块中使用的昂贵资源(spring容器、数据源等)的标识<br>
+ * 标识相同的测试类共享同一份资源，可以被安排在一起执行
+ */
+@SuppressWarnings("rawtypes")
+public interface ResourceFingerprint {
+    /**
+     * 资源代价: spring容器
+     */
+    int COST_CONTEXT    = 100;
+
+    /**
+     * 资源代价: 数据源、事务
+     */
+    int COST_DATASOURCE = 10;
+
+    /**
+     * 返回测试类使用的资源标识，只能读取测试类的注解和配置，不能初始化资源<br>
+     * 测试类没有使用该模块的资源时返回null
+     * 
+     * @param testClazz
+     * @return
+     */
+    String getResourceFingerprint(Class testClazz);
+
+    /**
+     * 返回资源的创建代价，拼接资源标识时代价大的在前，使用相同昂贵资源的测试类排在一起
+     * 
+     * @return
+     */
+    int getResourceCost();
+}
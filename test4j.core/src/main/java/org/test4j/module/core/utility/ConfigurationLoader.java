@@ -49,6 +49,7 @@ public class ConfigurationLoader {
      */
     public static synchronized Properties loading() {
         if (properties == null) {
+            long start = System.nanoTime();
             ConfigurationLoader loader = new ConfigurationLoader();
             properties = new Properties();
 
@@ -57,6 +58,7 @@ public class ConfigurationLoader {
             loader.loadLocalConfiguration(properties);
             loader.loadSystemProperties(properties);
             loader.expandPropertyValues(properties);
+            StartupTimer.record(StartupTimer.PHASE_CONFIG, start);
         }
         return properties;
     }
@@ -128,13 +130,17 @@ public class ConfigurationLoader {
      * For example suppose you have a property defined as follows:
      * root.dir=/usr/home <br>
      * Expanding following ${root.dir}/somesubdir will then give following
-     * result: /usr/home/somesubdir
+     * result: /usr/home/somesubdir<br>
+     * 只处理含有占位符的值，其它值(包括所有的系统属性)原样保留
      * 
      * @param properties The properties, not null
      */
     private void expandPropertyValues(Properties properties) {
         for (Object key : properties.keySet()) {
             Object value = properties.get(key);
+            if (!(value instanceof String) || ((String) value).indexOf("${") < 0) {
+                continue;
+            }
             try {
                 String expandedValue = StrSubstitutor.replace(value, properties);
                 properties.put(key, expandedValue);
@@ -0,0 +1,141 @@
+package org.test4j.module.core.utility;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 测试运行过程中各个模块监听器的耗时统计<br>
+ * 按 监听器.阶段 记录调用次数和累计耗时，可以通过{@link #getTimings()}或{@link #report()}查询，
+ * 开启时在jvm退出前输出汇总；<br>
+ * 没有开启(默认)时，每次监听器调用只多一次布尔判断
+ */
+public class ListenerTimer {
+    /**
+     * 是否统计模块监听器的耗时
+     */
+    public static final String             PROPKEY_TIMING_ENABLED = "test4j.listener.timing";
+
+    private static final long              NOT_TIMED              = Long.MIN_VALUE;
+
+    private static volatile boolean        enabled                = false;
+
+    private static boolean                 hasShutdownHook        = false;
+
+    /**
+     * 监听器.阶段 -> {调用次数, 累计耗时(纳秒)}，按第一次记录的顺序排列
+     */
+    private static final Map<String, long[]> timings              = new LinkedHashMap<String, long[]>();
+
+    /**
+     * 开启或关闭耗时统计，第一次开启时注册jvm退出时输出汇总的钩子
+     *
+     * @param enable
+     */
+    public static synchronized void setEnabled(boolean enable) {
+        enabled = enable;
+        if (enable && hasShutdownHook == false) {
+            hasShutdownHook = true;
+            Runtime.getRuntime().addShutdownHook(new Thread("test4j-listener-timer") {
+                @Override
+                public void run() {
+                    MessageHelper.info(report());
+                }
+            });
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 开始计时，没有开启统计时不读取时钟
+     *
+     * @return 开始时间，传给{@link #stop(String, String, long)}
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    /**
+     * 结束计时并累计到 listener.phase 上
+     *
+     * @param listener 监听器名称
+     * @param phase beforeClass, beforeMethod, beforeRunning, afterRunned, afterMethod 或 afterClass
+     * @param startNanos {@link #start()}的返回值
+     */
+    public static void stop(String listener, String phase, long startNanos) {
+        if (startNanos == NOT_TIMED) {
+            return;
+        }
+        long cost = System.nanoTime() - startNanos;
+        String key = listener + "." + phase;
+        synchronized (timings) {
+            long[] timing = timings.get(key);
+            if (timing == null) {
+                timing = new long[2];
+                timings.put(key, timing);
+            }
+            timing[0]++;
+            timing[1] += cost;
+        }
+    }
+
+    /**
+     * 返回 监听器.阶段 的累计耗时(毫秒)
+     *
+     * @return
+     */
+    public static Map<String, Double> getTimings() {
+        Map<String, Double> millis = new LinkedHashMap<String, Double>();
+        synchronized (timings) {
+            for (Map.Entry<String, long[]> entry : timings.entrySet()) {
+                millis.put(entry.getKey(), entry.getValue()[1] / 1000000.0d);
+            }
+        }
+        return millis;
+    }
+
+    /**
+     * 返回 监听器.阶段 的调用次数
+     *
+     * @return
+     */
+    public static Map<String, Long> getCounts() {
+        Map<String, Long> counts = new LinkedHashMap<String, Long>();
+        synchronized (timings) {
+            for (Map.Entry<String, long[]> entry : timings.entrySet()) {
+                counts.put(entry.getKey(), entry.getValue()[0]);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * 清空统计数据
+     */
+    public static void reset() {
+        synchronized (timings) {
+            timings.clear();
+        }
+    }
+
+    /**
+     * 返回耗时汇总，每个 监听器.阶段 一行
+     *
+     * @return
+     */
+    public static String report() {
+        StringBuilder buff = new StringBuilder("test4j listener timings(ms):");
+        synchronized (timings) {
+            for (Map.Entry<String, long[]> entry : timings.entrySet()) {
+                long[] timing = entry.getValue();
+                double total = timing[1] / 1000000.0d;
+                buff.append("\n\t").append(entry.getKey()).append(" = ").append(String.format("%.3f", total))
+                        .append(", calls = ").append(timing[0]).append(", avg = ")
+                        .append(String.format("%.3f", total / timing[0]));
+            }
+        }
+        return buff.toString();
+    }
+}
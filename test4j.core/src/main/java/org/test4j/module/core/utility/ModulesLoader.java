@@ -4,7 +4,9 @@ import static org.test4j.module.core.utility.IPropItem.PROPKEY_MODULES;
 import static org.test4j.tools.commons.ClazzHelper.createInstanceOfType;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.test4j.module.Test4JException;
 import org.test4j.module.core.Module;
@@ -32,6 +34,7 @@ import org.test4j.tools.commons.StringHelper;
  * perform processing in order C, B, A.
  * <p/>
  */
+@SuppressWarnings("rawtypes")
 public class ModulesLoader {
 
     /**
@@ -57,6 +60,18 @@ public class ModulesLoader {
      */
     public static final String PROPKEY_MODULE_SUFFIX_CLASS_NAME = ".className";
 
+    /**
+     * 模块是否延迟初始化的属性后缀<br>
+     * 延迟初始化的模块在第一次被使用(或测试类第一次请求)时才执行init()和afterInit()
+     */
+    public static final String PROPKEY_MODULE_SUFFIX_LAZY       = ".lazy";
+
+    /**
+     * 延迟初始化模块的触发类型(注解或接口/父类)属性后缀,多个用逗号分隔<br>
+     * 配置后，只有测试类带有这些注解或实现了这些类型时才会初始化模块；不配置时在模块的第一个事件时初始化
+     */
+    public static final String PROPKEY_MODULE_SUFFIX_TRIGGERS   = ".lazy.triggers";
+
     /**
      * Loading all test4j modules which are enabled and available.
      * 
@@ -70,19 +85,30 @@ public class ModulesLoader {
 
         // Create core instances in the correct sequence
         List<Module> modules = new ArrayList<Module>();
+        Map<Module, String> names = new HashMap<Module, String>();
+        Map<Module, List<Class>> lazyTriggers = new HashMap<Module, List<Class>>();
         for (String moduleName : moduleNames) {
             // get module class name
             String className = ConfigHelper.getString(PROPKEY_MODULE_PREFIX + moduleName
                     + PROPKEY_MODULE_SUFFIX_CLASS_NAME);
             try {
                 // create module instance
+                long start = System.nanoTime();
                 Object module = createInstanceOfType(className);
+                StartupTimer.record(StartupTimer.modulePhase(moduleName, "create"), start);
                 if (!(module instanceof Module)) {
                     throw new Test4JException("Unable to load core. Module class is not of type Test4JModule: "
                             + className);
                 }
-                ((Module) module).init();// initialize module
+                if (isLazyModule(moduleName)) {
+                    lazyTriggers.put((Module) module, getLazyTriggers(moduleName));
+                } else {
+                    start = System.nanoTime();
+                    ((Module) module).init();// initialize module
+                    StartupTimer.record(StartupTimer.modulePhase(moduleName, "init"), start);
+                }
                 modules.add((Module) module);
+                names.put((Module) module, moduleName);
             } catch (Throwable t) {
                 String error = "An exception occured during the loading of core module " + moduleName
                         + " with module class name " + className;
@@ -90,10 +116,35 @@ public class ModulesLoader {
                 System.out.println(error);
             }
         }
-        ModulesManager.initManager(modules);
+        ModulesManager.initManager(modules, names, lazyTriggers);
         return modules;
     }
 
+    private static boolean isLazyModule(String moduleName) {
+        return ConfigHelper.getBoolean(PROPKEY_MODULE_PREFIX + moduleName + PROPKEY_MODULE_SUFFIX_LAZY, false);
+    }
+
+    /**
+     * 返回延迟初始化模块的触发类型，classpath中不存在的类型被忽略
+     * 
+     * @param moduleName
+     * @return
+     */
+    private static List<Class> getLazyTriggers(String moduleName) {
+        List<String> clazzNames = ConfigHelper.getStringList(PROPKEY_MODULE_PREFIX + moduleName
+                + PROPKEY_MODULE_SUFFIX_TRIGGERS);
+        List<Class> triggers = new ArrayList<Class>();
+        for (String clazzName : clazzNames) {
+            if (ClazzHelper.isClassAvailable(clazzName)) {
+                triggers.add(ClazzHelper.getClazz(clazzName));
+            } else {
+                MessageHelper.warn(String.format("can't find lazy trigger class %s of module[%s] in classpath.",
+                        clazzName, moduleName));
+            }
+        }
+        return triggers;
+    }
+
     /**
      * 过滤失效的模块，保持模块序列 Removes all modules that have a value false for the
      * enabled property.
@@ -1,13 +1,18 @@
 package org.test4j.module.core.utility;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.test4j.module.Test4JException;
 import org.test4j.module.core.Module;
+import org.test4j.module.core.ResourceFingerprint;
 import org.test4j.module.core.TestListener;
 import org.test4j.tools.commons.ClazzHelper;
 
@@ -15,7 +20,7 @@ import org.test4j.tools.commons.ClazzHelper;
  * test4j模块管理器<br>
  * A class for holding and retrieving modules.
  */
-@SuppressWarnings({ "unchecked" })
+@SuppressWarnings({ "unchecked", "rawtypes" })
 public class ModulesManager {
 
     private static ModulesManager modulesManager = null;
@@ -26,7 +31,19 @@ public class ModulesManager {
      * @param modules
      */
     public static final void initManager(List<Module> modules) {
-        modulesManager = new ModulesManager(modules);
+        initManager(modules, new HashMap<Module, String>(), new HashMap<Module, List<Class>>());
+    }
+
+    /**
+     * 初始化Modules的管理器
+     * 
+     * @param modules 所有模块
+     * @param names 模块名称
+     * @param lazyTriggers 延迟初始化的模块和触发初始化的类型(注解或接口/父类)
+     */
+    public static final void initManager(List<Module> modules, Map<Module, String> names,
+                                         Map<Module, List<Class>> lazyTriggers) {
+        modulesManager = new ModulesManager(modules, names, lazyTriggers);
     }
 
     /**
@@ -46,19 +63,36 @@ public class ModulesManager {
      */
     private Map<Module, TestListener> testListenersMap      = null;
 
+    private Map<Module, String>       moduleNames           = null;
+
+    /**
+     * 已经执行过init()和afterInit()的模块<br>
+     * 并发的集合，已初始化的模块不需要加锁就可以判断
+     */
+    private Set<Module>               initializedModules    = null;
+
     /**
      * Creates a repository containing the given modules.<br>
      * Creates test listeners for each of the given modules.
      * 
      * @param modules the modules, not null
+     * @param names the module names, not null
+     * @param lazyTriggers the lazy modules and their triggers, not null
      */
-    private ModulesManager(List<Module> modules) {
+    private ModulesManager(List<Module> modules, Map<Module, String> names, Map<Module, List<Class>> lazyTriggers) {
         this.modules = modules;
+        this.moduleNames = names;
+        this.initializedModules = Collections.newSetFromMap(new ConcurrentHashMap<Module, Boolean>());
         this.testListeners = new ArrayList<TestListener>();
         this.testListeners_Reverse = new ArrayList<TestListener>();
         this.testListenersMap = new HashMap<Module, TestListener>();
         for (Module module : modules) {
-            TestListener listener = module.getTestListener();
+            TestListener listener = null;
+            if (lazyTriggers.containsKey(module)) {
+                listener = new LazyModuleListener(module, lazyTriggers.get(module));
+            } else {
+                listener = module.getTestListener();
+            }
             this.testListeners.add(listener);
             this.testListeners_Reverse.add(listener);
             this.testListenersMap.put(module, listener);
@@ -143,7 +177,108 @@ public class ModulesManager {
         if (modulesOfType.size() < 1) {
             throw new Test4JException("No module found of type " + type.getName());
         }
-        return modulesOfType.get(0);
+        T module = modulesOfType.get(0);
+        initModule(module);
+        return module;
+    }
+
+    /**
+     * 返回测试类的资源标识，由实现了{@link ResourceFingerprint}的模块按资源代价从大到小拼接而成，代价相同时按模块顺序<br>
+     * 不会触发延迟加载模块的初始化；模块还未加载时返回空字符串
+     * 
+     * @param testClazz
+     * @return
+     */
+    public static String getResourceFingerprint(Class testClazz) {
+        if (modulesManager == null) {
+            return "";
+        }
+        List<Module> modules = new ArrayList<Module>();
+        for (Module module : modulesManager.modules) {
+            if (module instanceof ResourceFingerprint) {
+                modules.add(module);
+            }
+        }
+        Collections.sort(modules, new Comparator<Module>() {
+            public int compare(Module m1, Module m2) {
+                int cost1 = ((ResourceFingerprint) m1).getResourceCost();
+                int cost2 = ((ResourceFingerprint) m2).getResourceCost();
+                return cost1 > cost2 ? -1 : (cost1 == cost2 ? 0 : 1);
+            }
+        });
+        StringBuilder buff = new StringBuilder();
+        for (Module module : modules) {
+            String fingerprint = ((ResourceFingerprint) module).getResourceFingerprint(testClazz);
+            if (fingerprint == null) {
+                continue;
+            }
+            if (buff.length() > 0) {
+                buff.append(';');
+            }
+            buff.append(modulesManager.getModuleName(module)).append('=').append(fingerprint);
+        }
+        return buff.toString();
+    }
+
+    /**
+     * 执行非延迟加载模块的afterInit()<br>
+     * 延迟加载的模块在第一次使用时执行init()和afterInit()
+     */
+    public static void afterInitModules() {
+        ModulesManager manager = instance();
+        for (Module module : manager.modules) {
+            if (manager.testListenersMap.get(module) instanceof LazyModuleListener) {
+                continue;
+            }
+            long start = System.nanoTime();
+            module.afterInit();
+            StartupTimer.record(StartupTimer.modulePhase(manager.getModuleName(module), "afterInit"), start);
+            synchronized (manager) {
+                manager.initializedModules.add(module);
+            }
+        }
+    }
+
+    /**
+     * 初始化模块(init()和afterInit())，已经初始化过的模块直接返回
+     * 
+     * @param module
+     */
+    public static void initModule(Module module) {
+        ModulesManager manager = instance();
+        if (manager.initializedModules.contains(module)) {
+            return;
+        }
+        synchronized (manager) {
+            if (manager.initializedModules.contains(module)) {
+                return;
+            }
+            String name = manager.getModuleName(module);
+            long start = System.nanoTime();
+            module.init();
+            StartupTimer.record(StartupTimer.modulePhase(name, "init"), start);
+
+            start = System.nanoTime();
+            module.afterInit();
+            StartupTimer.record(StartupTimer.modulePhase(name, "afterInit"), start);
+            manager.initializedModules.add(module);
+        }
+    }
+
+    /**
+     * 模块是否已经初始化
+     * 
+     * @param module
+     * @return
+     */
+    public static boolean isModuleInitialized(Module module) {
+        ModulesManager manager = instance();
+        return manager.initializedModules.contains(module);
+    }
+
+    private String getModuleName(Module module) {
+        String name = this.moduleNames.get(module);
+        return name == null ? module.getClass().getSimpleName() : name;
     }
 
     /**
@@ -200,4 +335,127 @@ public class ModulesManager {
         return modulesOfType.size() == 1;
     }
 
+    /**
+     * 延迟初始化模块的监听器<br>
+     * 模块在测试类第一次请求时(没有配置触发类型时为第一个事件)才初始化并创建真正的监听器；<br>
+     * 只有转发过beforeClass的测试类，它后续的事件才会被转发，保证事件成对出现：<br>
+     * 模块在测试类中途被初始化(例如通过getModuleInstance或其它线程上的测试类)时，该测试类的事件都不转发
+     */
+    private static class LazyModuleListener extends TestListener {
+        private final Module          module;
+
+        private final List<Class>     triggers;
+
+        private volatile TestListener delegate;
+
+        /**
+         * 已经转发过beforeClass，还没有转发afterClass的测试类
+         */
+        private final Set<Class>      activeClazzes = Collections.newSetFromMap(new ConcurrentHashMap<Class, Boolean>());
+
+        private String                name;
+
+        LazyModuleListener(Module module, List<Class> triggers) {
+            this.module = module;
+            this.triggers = triggers;
+        }
+
+        @Override
+        public void beforeClass(Class testClazz) {
+            if (this.delegate == null) {
+                if (isModuleInitialized(module) == false && isTriggeredBy(testClazz) == false) {
+                    return;
+                }
+                initModule(module);
+                synchronized (this) {
+                    if (this.delegate == null) {
+                        this.delegate = module.getTestListener();
+                    }
+                }
+            }
+            this.activeClazzes.add(testClazz);
+            this.delegate.beforeClass(testClazz);
+        }
+
+        @Override
+        public void beforeMethod(Object testObject, Method testMethod) {
+            if (this.isActive(testObject)) {
+                this.delegate.beforeMethod(testObject, testMethod);
+            }
+        }
+
+        @Override
+        public void beforeRunning(Object testObject, Method testMethod) {
+            if (this.isActive(testObject)) {
+                this.delegate.beforeRunning(testObject, testMethod);
+            }
+        }
+
+        @Override
+        public void afterRunned(Object testObject, Method testMethod, Throwable testThrowable) {
+            if (this.isActive(testObject)) {
+                this.delegate.afterRunned(testObject, testMethod, testThrowable);
+            }
+        }
+
+        @Override
+        public void afterMethod(Object testObject, Method testMethod) {
+            if (this.isActive(testObject)) {
+                this.delegate.afterMethod(testObject, testMethod);
+            }
+        }
+
+        @Override
+        public void afterClass(Object testObject) {
+            if (testObject != null && this.activeClazzes.remove(testObject.getClass())) {
+                this.delegate.afterClass(testObject);
+            }
+        }
+
+        /**
+         * 测试对象所属的测试类已经转发过beforeClass
+         * 
+         * @param testObject
+         * @return
+         */
+        private boolean isActive(Object testObject) {
+            return testObject != null && this.activeClazzes.contains(testObject.getClass());
+        }
+
+        /**
+         * 测试类(包括父类)带有触发注解，或者是触发类型的子类，没有配置触发类型时总是返回true
+         * 
+         * @param testClazz
+         * @return
+         */
+        private boolean isTriggeredBy(Class testClazz) {
+            if (triggers.isEmpty()) {
+                return true;
+            }
+            for (Class trigger : triggers) {
+                if (trigger.isAnnotation() == false) {
+                    if (trigger.isAssignableFrom(testClazz)) {
+                        return true;
+                    }
+                    continue;
+                }
+                for (Class clazz = testClazz; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+                    if (clazz.isAnnotationPresent(trigger)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        @Override
+        protected String getName() {
+            if (this.name == null) {
+                String moduleName = modulesManager == null ? module.getClass().getSimpleName() : modulesManager
+                        .getModuleName(module);
+                this.name = "LazyModuleListener[" + moduleName + "]";
+            }
+            return this.name;
+        }
+    }
 }
@@ -0,0 +1,71 @@
+package org.test4j.module.core.utility;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * test4j启动耗时统计<br>
+ * 记录配置加载、各个模块创建和初始化的耗时，可以通过{@link #getTimings()}或{@link #report()}查询
+ */
+public class StartupTimer {
+    public static final String            PHASE_CONFIG = "config";
+
+    /**
+     * 阶段名称 -> 耗时(纳秒)，按记录顺序排列
+     */
+    private static final Map<String, Long> timings      = new LinkedHashMap<String, Long>();
+
+    /**
+     * 记录阶段耗时
+     *
+     * @param phase 阶段名称
+     * @param startNanos 阶段开始时的System.nanoTime()
+     */
+    public static void record(String phase, long startNanos) {
+        long cost = System.nanoTime() - startNanos;
+        synchronized (timings) {
+            Long previous = timings.get(phase);
+            timings.put(phase, previous == null ? cost : previous + cost);
+        }
+    }
+
+    /**
+     * 模块阶段名称，例如: module[spring].init
+     *
+     * @param moduleName
+     * @param step create, init 或 afterInit
+     * @return
+     */
+    public static String modulePhase(String moduleName, String step) {
+        return "module[" + moduleName + "]." + step;
+    }
+
+    /**
+     * 返回各阶段的耗时(毫秒)
+     *
+     * @return
+     */
+    public static Map<String, Double> getTimings() {
+        Map<String, Double> millis = new LinkedHashMap<String, Double>();
+        synchronized (timings) {
+            for (Map.Entry<String, Long> entry : timings.entrySet()) {
+                millis.put(entry.getKey(), entry.getValue() / 1000000.0d);
+            }
+        }
+        return millis;
+    }
+
+    /**
+     * 返回启动耗时报告，每个阶段一行
+     *
+     * @return
+     */
+    public static String report() {
+        StringBuilder buff = new StringBuilder("test4j startup timings(ms):");
+        for (Map.Entry<String, Double> entry : getTimings().entrySet()) {
+            buff.append("\n\t").append(entry.getKey()).append(" = ")
+                    .append(String.format("%.3f", entry.getValue()));
+        }
+        return buff.toString();
+    }
+}
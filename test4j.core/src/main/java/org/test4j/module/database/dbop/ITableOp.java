@@ -107,4 +107,26 @@ public interface ITableOp {
      * @return
      */
     INumberAssert count();
+
+    /**
+     * 在数据库端验证表中包含所有的期望数据，期望数据中没有的字段不做比较<br>
+     * 按主键查询出期望数据对应的记录进行比较，不加载整个表
+     * 
+     * @param keys 主键字段，多个字段用逗号分隔，为空时在整表上统计匹配次数
+     * @param expected
+     * @param more
+     * @return
+     */
+    ITableOp containRows(String keys, DataMap expected, DataMap... more);
+
+    /**
+     * 在数据库端验证表中的数据和期望数据完全一致(不考虑顺序)<br>
+     * 先比较记录数和字段的聚合值，再按主键分批比较每条期望数据的匹配次数
+     * 
+     * @param keys 主键字段，多个字段用逗号分隔，为空时在整表上统计匹配次数
+     * @param expected
+     * @param more
+     * @return
+     */
+    ITableOp sameRows(String keys, DataMap expected, DataMap... more);
 }
@@ -1,5 +1,8 @@
 package org.test4j.module.jmockit.utility;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import mockit.internal.expectations.RecordAndReplayExecution;
 import mockit.internal.expectations.TestOnlyPhase;
 import mockit.internal.expectations.argumentMatching.ArgumentMatcher;
@@ -18,7 +21,18 @@ import ext.test4j.hamcrest.StringDescription;
  */
 @SuppressWarnings({ "rawtypes" })
 public class ExpectationsUtil {
-    private static ThreadLocal<Object> jes = new ThreadLocal<Object>();
+    private static ThreadLocal<Object>       jes      = new ThreadLocal<Object>();
+
+    /**
+     * 当前线程下已经转换过的参数断言<br>
+     * 按matcher实例缓存(IdentityHashMap，Assert不允许调用equals和hashCode)，进入新的录制回放过程时清空
+     */
+    private static ThreadLocal<MatcherCache> adapters = new ThreadLocal<MatcherCache>() {
+                                                            @Override
+                                                            protected MatcherCache initialValue() {
+                                                                return new MatcherCache();
+                                                            }
+                                                        };
 
     /**
      * 注册当前线程下的mockit.Expectations实例
@@ -61,7 +75,7 @@ public class ExpectationsUtil {
         }
         TestOnlyPhase currentPhase = instance.getCurrentTestOnlyPhase();
         if (currentPhase != null) {
-            ArgumentMatcher _matcher = convert(matcher);
+            ArgumentMatcher _matcher = adapters.get().adapterOf(instance, matcher);
             currentPhase.addArgMatcher(_matcher);
         }
     }
@@ -73,18 +87,50 @@ public class ExpectationsUtil {
      * @return
      */
     public static ArgumentMatcher convert(final Matcher matcher) {
-        return new ArgumentMatcher() {
-            @Override
-            public boolean matches(Object item) {
-                return matcher.matches(item);
-            }
+        return new MatcherAdapter(matcher);
+    }
+
+    /**
+     * hamcrest matcher到jmockit ArgumentMatcher的适配<br>
+     * 断言描述只在参数不匹配时生成；很多matcher的描述依赖最近一次匹配的状态，所以每次都重新生成
+     */
+    static class MatcherAdapter implements ArgumentMatcher {
+        private final Matcher matcher;
+
+        MatcherAdapter(Matcher matcher) {
+            this.matcher = matcher;
+        }
 
-            @Override
-            public void writeMismatchPhrase(ArgumentMismatch argumentMismatch) {
-                Description message = new StringDescription();
-                matcher.describeTo(message);
-                argumentMismatch.append(message.toString());
+        public boolean matches(Object item) {
+            return matcher.matches(item);
+        }
+
+        public void writeMismatchPhrase(ArgumentMismatch argumentMismatch) {
+            Description message = new StringDescription();
+            matcher.describeTo(message);
+            argumentMismatch.append(message.toString());
+        }
+    }
+
+    /**
+     * 单个录制回放过程(一个测试)内的matcher适配缓存
+     */
+    static class MatcherCache {
+        private Object                        execution;
+
+        private Map<Matcher, ArgumentMatcher> cache = new IdentityHashMap<Matcher, ArgumentMatcher>();
+
+        ArgumentMatcher adapterOf(Object execution, Matcher matcher) {
+            if (this.execution != execution) {
+                this.execution = execution;
+                this.cache.clear();
             }
-        };
+            ArgumentMatcher adapter = cache.get(matcher);
+            if (adapter == null) {
+                adapter = convert(matcher);
+                cache.put(matcher, adapter);
+            }
+            return adapter;
+        }
     }
 }
@@ -209,6 +209,39 @@ public class ClazzFinder {
 		}
 	}
 
+	/**
+	 * 计算packPath在当前classpath下的时间戳<br>
+	 * classpath变化、jar文件、package目录或目录下的class文件被修改后返回值会变化，可以用来判断扫描结果是否需要刷新<br>
+	 * 原地重新编译class不会改变目录的修改时间，所以目录下的每个class文件都要计入(与列出的顺序无关)
+	 * 
+	 * @param packPath
+	 * @return
+	 */
+	public static long classpathStamp(String packPath) {
+		String classPath = System.getProperty(JAVA_CLASS_PATH);
+		long stamp = classPath == null ? 0 : classPath.hashCode();
+		if (classPath == null) {
+			return stamp;
+		}
+		String packDir = packPath.replace('.', File.separatorChar);
+		StringTokenizer tokenizer = new StringTokenizer(classPath, File.pathSeparator);
+		while (tokenizer.hasMoreTokens()) {
+			String entry = tokenizer.nextToken();
+			File file = entry.endsWith(".jar") ? new File(entry) : new File(entry, packDir);
+			stamp = 31 * stamp + file.lastModified();
+			File[] clazzes = file.isDirectory() ? file.listFiles() : null;
+			if (clazzes == null) {
+				continue;
+			}
+			for (File claz : clazzes) {
+				if (claz.getName().endsWith(".class")) {
+					stamp += 31 * claz.getName().hashCode() + claz.lastModified();
+				}
+			}
+		}
+		return stamp;
+	}
+
 	/**
 	 * 获得的与claz的package相同的所有class
 	 * 
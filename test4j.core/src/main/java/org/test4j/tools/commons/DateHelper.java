@@ -1,10 +1,17 @@
 package org.test4j.tools.commons;
 
 import java.text.SimpleDateFormat;
+import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.test4j.tools.commons.StringHelper;
 
+/**
+ * 日期工具类<br>
+ * SimpleDateFormat不是线程安全的，这里按线程缓存每种格式的实例，格式只编译一次，并且不会被并发使用
+ */
 public class DateHelper {
 	/**
 	 * 返回当前日期的默认格式("yyyy-MM-dd")字符串
@@ -41,7 +48,7 @@ public class DateHelper {
 	 * @return
 	 */
 	public static final String toDateTimeStr(Date date, String format) {
-		SimpleDateFormat dateFormat = new SimpleDateFormat(format);
+		SimpleDateFormat dateFormat = getSimpleDateFormat(format);
 		return dateFormat.format(date);
 	}
 
@@ -49,28 +56,176 @@ public class DateHelper {
 		return new Date();
 	}
 
-	private static SimpleDateFormat df_default = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
-	private static SimpleDateFormat df_datetime = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-	private static SimpleDateFormat df_time = new SimpleDateFormat("HH:mm:ss");
-	private static SimpleDateFormat df_date = new SimpleDateFormat("yyyy-MM-dd");
+	public static final String PATTERN_DEFAULT = "yyyy-MM-dd HH:mm:ss.SSS";
 
-	// private static SimpleDateFormat df_year = new SimpleDateFormat("yyyy");
+	public static final String PATTERN_DATETIME = "yyyy-MM-dd HH:mm:ss";
 
+	public static final String PATTERN_TIME = "HH:mm:ss";
+
+	public static final String PATTERN_DATE = "yyyy-MM-dd";
+
+	/**
+	 * 当前线程的格式 -> SimpleDateFormat实例
+	 */
+	private static final ThreadLocal<Map<String, SimpleDateFormat>> formats = new ThreadLocal<Map<String, SimpleDateFormat>>() {
+		@Override
+		protected Map<String, SimpleDateFormat> initialValue() {
+			return new HashMap<String, SimpleDateFormat>();
+		}
+	};
+
+	private static final ThreadLocal<Calendar> calendars = new ThreadLocal<Calendar>() {
+		@Override
+		protected Calendar initialValue() {
+			return Calendar.getInstance();
+		}
+	};
+
+	/**
+	 * 返回当前线程缓存的指定格式的SimpleDateFormat实例<br>
+	 * 返回的实例只能在当前线程中使用，并且不要修改它的设置(时区、lenient等)
+	 * 
+	 * @param pattern
+	 * @return
+	 */
+	public static final SimpleDateFormat getSimpleDateFormat(String pattern) {
+		Map<String, SimpleDateFormat> cache = formats.get();
+		SimpleDateFormat df = cache.get(pattern);
+		if (df == null) {
+			df = new SimpleDateFormat(pattern);
+			cache.put(pattern, df);
+		}
+		return df;
+	}
+
+	/**
+	 * 返回当前线程缓存的Calendar实例，并设置为指定时间<br>
+	 * 返回的实例只能在当前线程中临时使用
+	 * 
+	 * @param date
+	 * @return
+	 */
+	public static final Calendar toCalendar(Date date) {
+		Calendar cal = calendars.get();
+		cal.setTime(date);
+		return cal;
+	}
+
+	/**
+	 * 根据输入字符串的格式返回对应的SimpleDateFormat(当前线程缓存的实例)
+	 * 
+	 * @param input
+	 * @return
+	 */
 	public static final SimpleDateFormat getDateFormat(String input) {
+		return getSimpleDateFormat(detectPattern(input));
+	}
+
+	/**
+	 * 一次扫描识别输入字符串的日期格式<br>
+	 * <ul>
+	 * <li>yyyy-M-d: yyyy-MM-dd</li>
+	 * <li>yy-M-d H:m:s: yyyy-MM-dd HH:mm:ss</li>
+	 * <li>H:m:s: HH:mm:ss</li>
+	 * <li>其它: yyyy-MM-dd HH:mm:ss.SSS</li>
+	 * </ul>
+	 * 首尾的空白忽略，日期和时间之间可以是任意多个空白
+	 * 
+	 * @param input
+	 * @return
+	 */
+	static String detectPattern(String input) {
 		if (input == null) {
-			return df_default;
+			return PATTERN_DEFAULT;
+		}
+		int start = 0;
+		int end = input.length();
+		while (start < end && isBlank(input.charAt(start))) {
+			start++;
+		}
+		while (end > start && isBlank(input.charAt(end - 1))) {
+			end--;
 		}
-		// if (input.matches("\\s*\\d{4}\\s*")) {
-		// return df_year;
-		// } else
-		if (input.matches("\\s*\\d{4}-\\d{1,2}-\\d{1,2}\\s*")) {
-			return df_date;
-		} else if (input.matches("\\s*\\d{2,4}-\\d{1,2}-\\d{1,2}\\s+\\d{1,2}:\\d{1,2}:\\d{1,2}\\s*")) {
-			return df_datetime;
-		} else if (input.matches("\\s*\\d{1,2}:\\d{1,2}:\\d{1,2}\\s*")) {
-			return df_time;
+		// 数字段的长度和数字段后面的分隔符
+		int[] digits = new int[6];
+		char[] separators = new char[5];
+		int count = 0;
+		for (int index = start; index < end; index++) {
+			char ch = input.charAt(index);
+			if (ch >= '0' && ch <= '9') {
+				digits[count]++;
+				continue;
+			}
+			if (digits[count] == 0 || count == separators.length) {
+				return PATTERN_DEFAULT;
+			}
+			if (ch == '-' || ch == ':') {
+				separators[count] = ch;
+			} else if (isBlank(ch)) {
+				while (index + 1 < end && isBlank(input.charAt(index + 1))) {
+					index++;
+				}
+				separators[count] = ' ';
+			} else {
+				return PATTERN_DEFAULT;
+			}
+			count++;
+		}
+		if (digits[count] == 0) {
+			return PATTERN_DEFAULT;
+		}
+		count++;
+
+		if (count == 3 && isSeparators(separators, 0, "--") && digits[0] == 4 && isMonthDay(digits, 1, 2)) {
+			return PATTERN_DATE;
+		} else if (count == 3 && isSeparators(separators, 0, "::") && isMonthDay(digits, 0, 3)) {
+			return PATTERN_TIME;
+		} else if (count == 6 && isSeparators(separators, 0, "-- ::") && digits[0] >= 2 && digits[0] <= 4
+				&& isMonthDay(digits, 1, 5)) {
+			return PATTERN_DATETIME;
 		} else {
-			return df_default;
+			return PATTERN_DEFAULT;
+		}
+	}
+
+	private static boolean isBlank(char ch) {
+		return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\r' || ch == '\f' || ch == '\u000B';
+	}
+
+	private static boolean isSeparators(char[] separators, int from, String expected) {
+		for (int index = 0; index < expected.length(); index++) {
+			if (separators[from + index] != expected.charAt(index)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 从from开始的size个数字段的长度都是1或2
+	 */
+	private static boolean isMonthDay(int[] digits, int from, int size) {
+		for (int index = from; index < from + size; index++) {
+			if (digits[index] < 1 || digits[index] > 2) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 按指定格式解析日期字符串
+	 * 
+	 * @param str
+	 * @param format
+	 * @return
+	 */
+	public static final Date parse(String str, String format) {
+		try {
+			return getSimpleDateFormat(format).parse(str);
+		} catch (Throwable e) {
+			String error = "can't parse datetime from string[" + str + "] by format[" + format + "].";
+			throw new RuntimeException(error, e);
 		}
 	}
 
@@ -1,19 +1,33 @@
 package org.test4j.tools.commons;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.test4j.module.Test4JException;
 
 /**
- * 获得一个类（方法）的测试类（方法）的工具
+ * 获得一个类（方法）的测试类（方法）的工具<br>
+ * 每个package的扫描结果会被缓存，直到classpath或package下的class文件发生变化
  * 
  * @author darui.wudr
  * 
  */
 @SuppressWarnings({ "rawtypes" })
 public class MethodFinder {
+	/**
+	 * package名称 -> 该package的扫描结果和索引
+	 */
+	private static final Map<String, PackageIndex> indexes              = new ConcurrentHashMap<String, PackageIndex>();
+
+	/**
+	 * classpath不变时，两次检查时间戳的最小间隔(毫秒)
+	 */
+	static final long                              STAMP_CHECK_INTERVAL = 2000;
+
 	/**
 	 * 获得claz的所有测试类
 	 * 
@@ -21,11 +35,9 @@ public class MethodFinder {
 	 * @return
 	 */
 	public static List<String> findTestClaz(Class claz) {
-		List<String> clazzes = ClazzFinder.findClazz(claz);
 		String classname = claz.getName();
-		List<String> tests = MethodFinder.filterClaz(clazzes, classname);
-
-		return tests;
+		List<String> tests = getPackageIndex(packageOf(classname)).findTestClaz(classname);
+		return new LinkedList<String>(tests);
 	}
 
 	/**
@@ -35,27 +47,8 @@ public class MethodFinder {
 	 * @return
 	 */
 	public static List<String> findTestClaz(String claz) {
-		List<String> clazzes = ClazzFinder.findClazz(claz);
-		String classname = claz.substring(claz.lastIndexOf("."));
-		List<String> tests = MethodFinder.filterClaz(clazzes, classname);
-
-		return tests;
-	}
-
-	private static List<String> filterClaz(List<String> clazzes, String classname) {
-		List<String> tests = new LinkedList<String>();
-		if (clazzes == null) {
-			return tests;
-		}
-		for (String _claz : clazzes) {
-			if (_claz.contains("$") || _claz.equals(classname)) {
-				continue;
-			}
-			if (_claz.contains(classname)) {
-				tests.add(_claz);
-			}
-		}
-		return tests;
+		List<String> tests = getPackageIndex(packageOf(claz)).findTestClaz(claz);
+		return new LinkedList<String>(tests);
 	}
 
 	/**
@@ -77,24 +70,9 @@ public class MethodFinder {
 	 * @return
 	 */
 	public static List<String> findTestMethod(Class claz, String methodname) {
-		List<String> clazzes = MethodFinder.findTestClaz(claz);
-		List<String> testmethods = new LinkedList<String>();
-		for (String classname : clazzes) {
-			Class clazz = null;
-			try {
-				clazz = Class.forName(classname);
-			} catch (ClassNotFoundException e) {
-				throw new Test4JException(e);
-			}
-			Method[] methods = clazz.getMethods();
-			for (Method method : methods) {
-				if (method.getName().indexOf(methodname) == 0 || method.getName().indexOf("test_" + methodname) == 0) {
-					testmethods.add(classname + "." + method.getName());
-				}
-			}
-		}
-
-		return testmethods;
+		String classname = claz.getName();
+		List<String> testmethods = getPackageIndex(packageOf(classname)).findTestMethod(classname, methodname);
+		return new LinkedList<String>(testmethods);
 	}
 
 	/**
@@ -113,4 +91,138 @@ public class MethodFinder {
 			throw new Test4JException(e);
 		}
 	}
+
+	private static String packageOf(String classname) {
+		int index = classname.lastIndexOf('.');
+		return index == -1 ? "" : classname.substring(0, index);
+	}
+
+	/**
+	 * 返回package的扫描结果<br>
+	 * java.class.path变化后立即重新扫描，否则最多每隔STAMP_CHECK_INTERVAL毫秒检查一次classpath时间戳
+	 * 
+	 * @param pack
+	 * @return
+	 */
+	private static PackageIndex getPackageIndex(String pack) {
+		String classPath = System.getProperty(ClazzFinder.JAVA_CLASS_PATH);
+		PackageIndex index = indexes.get(pack);
+		long now = System.currentTimeMillis();
+		boolean samePath = index != null && StringHelper.equals(index.classPath, classPath);
+		if (samePath && now - index.checked < STAMP_CHECK_INTERVAL) {
+			return index;
+		}
+		long stamp = ClazzFinder.classpathStamp(pack);
+		if (samePath && index.stamp == stamp) {
+			index.checked = now;
+			return index;
+		}
+		index = new PackageIndex(classPath, stamp, ClazzFinder.findClazz(pack));
+		indexes.put(pack, index);
+		return index;
+	}
+
+	/**
+	 * 一个package下的所有class，以及被测类到测试类、被测方法到测试方法的反向索引
+	 */
+	private static class PackageIndex {
+		final String                                 classPath;
+
+		final long                                   stamp;
+
+		/**
+		 * 最近一次确认时间戳的时间
+		 */
+		volatile long                                checked;
+
+		final List<String>                           clazzes;
+
+		/**
+		 * 被测类 -> 测试类
+		 */
+		final Map<String, List<String>>              testClazzes = new ConcurrentHashMap<String, List<String>>();
+
+		/**
+		 * 被测类 -> (被测方法 -> 测试方法)
+		 */
+		final Map<String, Map<String, List<String>>> testMethods = new ConcurrentHashMap<String, Map<String, List<String>>>();
+
+		/**
+		 * 被测类 -> 所有测试类的public方法名称，格式: {测试类, 方法名}
+		 */
+		final Map<String, List<String[]>>            testMethodNames = new ConcurrentHashMap<String, List<String[]>>();
+
+		PackageIndex(String classPath, long stamp, List<String> clazzes) {
+			this.classPath = classPath;
+			this.stamp = stamp;
+			this.checked = System.currentTimeMillis();
+			this.clazzes = clazzes == null ? new ArrayList<String>() : new ArrayList<String>(clazzes);
+		}
+
+		List<String> findTestClaz(String classname) {
+			List<String> tests = testClazzes.get(classname);
+			if (tests == null) {
+				tests = filterClaz(classname);
+				testClazzes.put(classname, tests);
+			}
+			return tests;
+		}
+
+		private List<String> filterClaz(String classname) {
+			List<String> tests = new ArrayList<String>();
+			for (String _claz : clazzes) {
+				if (_claz.contains("$") || _claz.equals(classname)) {
+					continue;
+				}
+				if (_claz.contains(classname)) {
+					tests.add(_claz);
+				}
+			}
+			return tests;
+		}
+
+		List<String> findTestMethod(String classname, String methodname) {
+			Map<String, List<String>> methods = testMethods.get(classname);
+			if (methods == null) {
+				methods = new ConcurrentHashMap<String, List<String>>();
+				testMethods.put(classname, methods);
+			}
+			List<String> tests = methods.get(methodname);
+			if (tests == null) {
+				tests = new ArrayList<String>();
+				String testname = "test_" + methodname;
+				for (String[] name : getTestMethodNames(classname)) {
+					if (name[1].startsWith(methodname) || name[1].startsWith(testname)) {
+						tests.add(name[0] + "." + name[1]);
+					}
+				}
+				methods.put(methodname, tests);
+			}
+			return tests;
+		}
+
+		/**
+		 * 测试类只加载和反射一次
+		 */
+		private List<String[]> getTestMethodNames(String classname) {
+			List<String[]> names = testMethodNames.get(classname);
+			if (names != null) {
+				return names;
+			}
+			names = new ArrayList<String[]>();
+			for (String testClaz : findTestClaz(classname)) {
+				Class clazz = null;
+				try {
+					clazz = Class.forName(testClaz);
+				} catch (ClassNotFoundException e) {
+					throw new Test4JException(e);
+				}
+				for (Method method : clazz.getMethods()) {
+					names.add(new String[] { testClaz, method.getName() });
+				}
+			}
+			testMethodNames.put(classname, names);
+			return names;
+		}
+	}
 }
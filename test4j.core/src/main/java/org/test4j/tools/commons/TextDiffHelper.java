@@ -1,15 +1,26 @@
 package org.test4j.tools.commons;
 
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.LinkedList;
 
 import org.test4j.tools.commons.TextDiffMatchPatch.Diff;
+import org.test4j.tools.commons.TextDiffMatchPatch.LinesToCharsResult;
 import org.test4j.tools.commons.TextDiffMatchPatch.Operation;
 
-import ext.test4j.apache.commons.lang.StringEscapeUtils;
-
 public class TextDiffHelper {
-    private static String     style    = "";
+    /**
+     * 文本长度(字符数)超过该值时按行比较
+     */
+    public static final String PROPKEY_LARGE_SIZE    = "text.diff.large.size";
+    /**
+     * 按行比较时，每处差异前后保留的相同行数
+     */
+    public static final String PROPKEY_CONTEXT_LINES = "text.diff.context.lines";
+
+    private static String      style                 = "";
     static {
         StringBuffer buff = new StringBuffer();
         buff.append("<style type=\"text/css\" media=\"all\">\n");
@@ -22,58 +33,108 @@ public class TextDiffHelper {
         buff.append("</style>\n");
         style = buff.toString();
     }
-    static TextDiffMatchPatch textDiff = new TextDiffMatchPatch();
+    static TextDiffMatchPatch  textDiff              = new TextDiffMatchPatch();
 
     /**
      * 比较左边文件内容和右边文件内容的区别，并且返回比较差异内容的html
-     * 
+     *
      * @param lText
      * @param rText
      * @return
      */
     public static String getDiffHtml(String lText, String rText) {
-        LinkedList<Diff> diffs = textDiff.diff_main(lText, rText);
-        String compare = textDiff.diff_prettyHtml(diffs);
+        StringWriter writer = new StringWriter();
+        try {
+            writeDiffHtml(lText, rText, writer);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return writer.toString();
+    }
 
-        StringBuilder buff = new StringBuilder();
-        buff.append("<html>\n");
-        buff.append("<head>\n");
-        buff.append(style);
-        buff.append("</head>\n");
-        buff.append("<body>\n");
+    /**
+     * 比较左边文件内容和右边文件内容的区别，并且把比较差异内容的html逐段写入writer<br>
+     * 大文本按行比较，并且差异和左右两边的原文中每处差异只保留前后{@link #PROPKEY_CONTEXT_LINES}行相同的内容
+     *
+     * @param lText
+     * @param rText
+     * @param writer
+     * @throws IOException
+     */
+    public static void writeDiffHtml(String lText, String rText, Writer writer) throws IOException {
+        boolean isLarge = isLargeText(lText, rText);
+        LinkedList<Diff> diffs = isLarge ? getLineDiff(lText, rText) : textDiff.diff_main(lText, rText);
+        int contextLines = isLarge ? ConfigHelper.getInteger(PROPKEY_CONTEXT_LINES, 3) : -1;
+
+        writer.write("<html>\n");
+        writer.write("<head>\n");
+        writer.write(style);
+        writer.write("</head>\n");
+        writer.write("<body>\n");
 
-        buff.append("<div id=\"topPanel\">\n");
+        writer.write("<div id=\"topPanel\">\n");
         String diffSize = getDiffSize(diffs);
-        buff.append(diffSize);
-        printDiffText(buff, compare);
-        buff.append("</div>\n");
-        buff.append("<div id=\"vSplitter\"></div>\n");
-        buff.append("<div>\n");
-        buff.append("<div id=\"leftPanel\" class=\"buttom buttomPanel\">\n");
-        printHtmlText(buff, lText);
-        buff.append("</div>\n");
-        buff.append("<div id=\"hSplitter\" class=\"buttom\"></div>\n");
-        buff.append("<div id=\"rightPanel\" class=\"buttom buttomPanel\">\n");
-        printHtmlText(buff, rText);
-        buff.append("</div>\n");
-        buff.append("</div>\n");
-        buff.append("</body>\n");
-        buff.append("</html>");
-        return buff.toString();
+        writer.write(diffSize);
+        printDiffText(writer, diffs, contextLines);
+        writer.write("</div>\n");
+        writer.write("<div id=\"vSplitter\"></div>\n");
+        writer.write("<div>\n");
+        writer.write("<div id=\"leftPanel\" class=\"buttom buttomPanel\">\n");
+        if (isLarge) {
+            printPanelText(writer, diffs, Operation.INSERT, contextLines);
+        } else {
+            printHtmlText(writer, lText);
+        }
+        writer.write("</div>\n");
+        writer.write("<div id=\"hSplitter\" class=\"buttom\"></div>\n");
+        writer.write("<div id=\"rightPanel\" class=\"buttom buttomPanel\">\n");
+        if (isLarge) {
+            printPanelText(writer, diffs, Operation.DELETE, contextLines);
+        } else {
+            printHtmlText(writer, rText);
+        }
+        writer.write("</div>\n");
+        writer.write("</div>\n");
+        writer.write("</body>\n");
+        writer.write("</html>");
+        writer.flush();
     }
 
     /**
-     * 比较左边和右边的文件，返回比较差异
-     * 
+     * 比较左边和右边的文件，返回比较差异<br>
+     * 文本长度超过{@link #PROPKEY_LARGE_SIZE}时按行比较
+     *
      * @param lText
      * @param rText
      * @return
      */
     public static LinkedList<Diff> getDiff(String lText, String rText) {
+        if (isLargeText(lText, rText)) {
+            return getLineDiff(lText, rText);
+        }
         LinkedList<Diff> diffs = textDiff.diff_main(lText, rText);
         return diffs;
     }
 
+    /**
+     * 按行比较左边和右边的文件，每一行作为一个比较单元，返回比较差异
+     *
+     * @param lText
+     * @param rText
+     * @return
+     */
+    public static LinkedList<Diff> getLineDiff(String lText, String rText) {
+        LinesToCharsResult lines = textDiff.diff_linesToChars(lText, rText);
+        LinkedList<Diff> diffs = textDiff.diff_main(lines.chars1, lines.chars2, false);
+        textDiff.diff_charsToLines(diffs, lines.lineArray);
+        return diffs;
+    }
+
+    static boolean isLargeText(String lText, String rText) {
+        int largeSize = ConfigHelper.getInteger(PROPKEY_LARGE_SIZE, 64 * 1024);
+        return lText.length() > largeSize || rText.length() > largeSize;
+    }
+
     static String getDiffSize(LinkedList<Diff> diffs) {
         int count = 0;
         for (Diff diff : diffs) {
@@ -91,18 +152,217 @@ public class TextDiffHelper {
         }
     }
 
-    static void printDiffText(StringBuilder buff, String text) {
-        text = text.replace("&para;", "").replace("    ", "&nbsp;&nbsp;&nbsp;&nbsp;");
-        ;
-        buff.append(text);
+    /**
+     * 输出差异内容
+     *
+     * @param writer
+     * @param diffs
+     * @param contextLines 相同内容前后保留的行数，小于0时输出全部相同内容
+     * @throws IOException
+     */
+    static void printDiffText(Writer writer, LinkedList<Diff> diffs, int contextLines) throws IOException {
+        int index = 0;
+        for (Diff diff : diffs) {
+            switch (diff.operation) {
+            case INSERT:
+                writer.write("<ins style=\"background:#e6ffe6;\">");
+                printDiffText(writer, diff.text, 0, diff.text.length());
+                writer.write("</ins>");
+                break;
+            case DELETE:
+                writer.write("<del style=\"background:#ffe6e6;\">");
+                printDiffText(writer, diff.text, 0, diff.text.length());
+                writer.write("</del>");
+                break;
+            case EQUAL:
+                writer.write("<span>");
+                if (contextLines < 0) {
+                    printDiffText(writer, diff.text, 0, diff.text.length());
+                } else {
+                    int headLines = index == 0 ? 0 : contextLines;
+                    int tailLines = index == diffs.size() - 1 ? 0 : contextLines;
+                    printContextText(writer, diff.text, headLines, tailLines);
+                }
+                writer.write("</span>");
+                break;
+            }
+            index++;
+        }
+    }
+
+    /**
+     * 输出一边的原文(左边不含INSERT部分，右边不含DELETE部分)，相同内容只保留每处差异前后contextLines行
+     *
+     * @param writer
+     * @param diffs
+     * @param excluded 不属于这一边的差异类型
+     * @param contextLines
+     * @throws IOException
+     */
+    static void printPanelText(Writer writer, LinkedList<Diff> diffs, Operation excluded, int contextLines)
+            throws IOException {
+        int index = 0;
+        for (Diff diff : diffs) {
+            if (diff.operation == Operation.EQUAL) {
+                int headLines = index == 0 ? 0 : contextLines;
+                int tailLines = index == diffs.size() - 1 ? 0 : contextLines;
+                printContextText(writer, diff.text, headLines, tailLines, true);
+            } else if (diff.operation != excluded) {
+                printHtmlText(writer, diff.text, 0, diff.text.length());
+            }
+            index++;
+        }
+    }
+
+    /**
+     * 只输出相同内容的头部headLines行和尾部tailLines行，中间省略
+     */
+    static void printContextText(Writer writer, String text, int headLines, int tailLines) throws IOException {
+        printContextText(writer, text, headLines, tailLines, false);
+    }
+
+    private static void printContextText(Writer writer, String text, int headLines, int tailLines, boolean isPanel)
+            throws IOException {
+        int headEnd = indexAfterLines(text, headLines);
+        int tailStart = indexOfLastLines(text, tailLines);
+        if (headEnd >= tailStart) {
+            printText(writer, text, 0, text.length(), isPanel);
+            return;
+        }
+        printText(writer, text, 0, headEnd, isPanel);
+        int skipped = 0;
+        for (int index = headEnd; index < tailStart; index++) {
+            if (text.charAt(index) == '\n') {
+                skipped++;
+            }
+        }
+        writer.write("<i>... " + skipped + " lines ...</i>" + (isPanel ? "<BR/>" : "<br>"));
+        printText(writer, text, tailStart, text.length(), isPanel);
+    }
+
+    private static void printText(Writer writer, String text, int start, int end, boolean isPanel)
+            throws IOException {
+        if (isPanel) {
+            printHtmlText(writer, text, start, end);
+        } else {
+            printDiffText(writer, text, start, end);
+        }
     }
 
-    static void printHtmlText(StringBuilder buff, String text) {
-        text = text.replace("\n", "!@#$BR$#@!");
-        text = text.replace(" ", "!@#$SP$#@!");
-        text = StringEscapeUtils.escapeXml(text);
-        text = text.replace("!@#$SP$#@!", "&nbsp;");
-        text = text.replace("!@#$BR$#@!", "<BR/>");
-        buff.append(text);
+    /**
+     * 返回前lines行之后的位置
+     */
+    private static int indexAfterLines(String text, int lines) {
+        int index = 0;
+        for (int count = 0; count < lines; count++) {
+            int br = text.indexOf('\n', index);
+            if (br < 0) {
+                return text.length();
+            }
+            index = br + 1;
+        }
+        return index;
+    }
+
+    /**
+     * 返回最后lines行的起始位置
+     */
+    private static int indexOfLastLines(String text, int lines) {
+        if (lines <= 0) {
+            return text.length();
+        }
+        int index = text.endsWith("\n") ? text.length() - 1 : text.length();
+        for (int count = 0; count < lines; count++) {
+            int br = text.lastIndexOf('\n', index - 1);
+            if (br < 0) {
+                return 0;
+            }
+            index = br;
+        }
+        return index + 1;
+    }
+
+    /**
+     * 输出差异内容，换行输出为&lt;br&gt;，连续4个空格输出为4个&amp;nbsp;
+     */
+    static void printDiffText(Writer writer, String text, int start, int end) throws IOException {
+        int spaces = 0;
+        for (int index = start; index < end; index++) {
+            char ch = text.charAt(index);
+            if (ch == ' ') {
+                spaces++;
+                if (spaces == 4) {
+                    writer.write("&nbsp;&nbsp;&nbsp;&nbsp;");
+                    spaces = 0;
+                }
+                continue;
+            }
+            for (; spaces > 0; spaces--) {
+                writer.write(' ');
+            }
+            switch (ch) {
+            case '&':
+                writer.write("&amp;");
+                break;
+            case '<':
+                writer.write("&lt;");
+                break;
+            case '>':
+                writer.write("&gt;");
+                break;
+            case '\n':
+                writer.write("<br>");
+                break;
+            default:
+                writer.write(ch);
+            }
+        }
+        for (; spaces > 0; spaces--) {
+            writer.write(' ');
+        }
+    }
+
+    /**
+     * 输出原文，换行输出为&lt;BR/&gt;，空格输出为&amp;nbsp;，其它字符按xml转义
+     */
+    static void printHtmlText(Writer writer, String text) throws IOException {
+        printHtmlText(writer, text, 0, text.length());
+    }
+
+    static void printHtmlText(Writer writer, String text, int start, int end) throws IOException {
+        for (int index = start; index < end; index++) {
+            char ch = text.charAt(index);
+            switch (ch) {
+            case '\n':
+                writer.write("<BR/>");
+                break;
+            case ' ':
+                writer.write("&nbsp;");
+                break;
+            case '&':
+                writer.write("&amp;");
+                break;
+            case '<':
+                writer.write("&lt;");
+                break;
+            case '>':
+                writer.write("&gt;");
+                break;
+            case '"':
+                writer.write("&quot;");
+                break;
+            case '\'':
+                writer.write("&apos;");
+                break;
+            default:
+                if (ch > 0x7F) {
+                    writer.write("&#");
+                    writer.write(Integer.toString(ch, 10));
+                    writer.write(';');
+                } else {
+                    writer.write(ch);
+                }
+            }
+        }
     }
 }
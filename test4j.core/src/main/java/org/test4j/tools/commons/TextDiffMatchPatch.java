@@ -536,8 +536,9 @@ public class TextDiffMatchPatch {
 		// So we'll insert a junk entry to avoid generating a null character.
 		lineArray.add("");
 
-		String chars1 = diff_linesToCharsMunge(text1, lineArray, lineHash);
-		String chars2 = diff_linesToCharsMunge(text2, lineArray, lineHash);
+		// Allocate 2/3rds of the space for text1, the rest for text2.
+		String chars1 = diff_linesToCharsMunge(text1, lineArray, lineHash, 40000);
+		String chars2 = diff_linesToCharsMunge(text2, lineArray, lineHash, 65535);
 		return new LinesToCharsResult(chars1, chars2, lineArray);
 	}
 
@@ -551,9 +552,12 @@ public class TextDiffMatchPatch {
 	 *            List of unique strings.
 	 * @param lineHash
 	 *            Map of strings to indices.
+	 * @param maxLines
+	 *            Maximum length of lineArray.
 	 * @return Encoded string.
 	 */
-	private String diff_linesToCharsMunge(String text, List<String> lineArray, Map<String, Integer> lineHash) {
+	private String diff_linesToCharsMunge(String text, List<String> lineArray, Map<String, Integer> lineHash,
+			int maxLines) {
 		int lineStart = 0;
 		int lineEnd = -1;
 		String line;
@@ -567,15 +571,20 @@ public class TextDiffMatchPatch {
 				lineEnd = text.length() - 1;
 			}
 			line = text.substring(lineStart, lineEnd + 1);
-			lineStart = lineEnd + 1;
 
 			if (lineHash.containsKey(line)) {
 				chars.append(String.valueOf((char) (int) lineHash.get(line)));
 			} else {
+				if (lineArray.size() == maxLines) {
+					// Bail out at 65535 because char 65536 == char 0.
+					line = text.substring(lineStart);
+					lineEnd = text.length();
+				}
 				lineArray.add(line);
 				lineHash.put(line, lineArray.size() - 1);
 				chars.append(String.valueOf((char) (lineArray.size() - 1)));
 			}
+			lineStart = lineEnd + 1;
 		}
 		return chars.toString();
 	}
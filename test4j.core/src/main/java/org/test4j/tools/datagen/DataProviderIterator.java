@@ -3,12 +3,33 @@ package org.test4j.tools.datagen;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.test4j.tools.commons.ArrayHelper;
 
+/**
+ * 测试数据迭代器<br>
+ * 数据可以通过{@link #data(Object...)}预先填充，也可以由子类覆盖{@link #nextData()}在迭代时逐行生成，
+ * 两者同时使用时先返回预先填充的数据
+ */
 public class DataProviderIterator<T> implements Iterator<T[]> {
-    private List<T[]>     datas = new ArrayList<T[]>();
-    private Iterator<T[]> it    = null;
+    private List<T[]>     datas         = new ArrayList<T[]>();
+    private Iterator<T[]> it            = null;
+
+    /**
+     * nextData()生成的、还没有被next()取走的数据
+     */
+    private T[]           generated     = null;
+
+    /**
+     * nextData()是否已经返回null
+     */
+    private boolean       exhausted     = false;
+
+    /**
+     * 最后一次next()返回的是否是nextData()生成的数据
+     */
+    private boolean       lastGenerated = false;
 
     public void data(T... data) {
         this.checkDataLength(data);
@@ -18,19 +39,63 @@ public class DataProviderIterator<T> implements Iterator<T[]> {
 
     public boolean hasNext() {
         this.initIterator();
-        return it.hasNext();
+        if (it.hasNext()) {
+            return true;
+        }
+        return this.generateNext();
     }
 
     public T[] next() {
         this.initIterator();
-        return it.next();
+        if (it.hasNext()) {
+            this.lastGenerated = false;
+            return it.next();
+        }
+        if (this.generateNext() == false) {
+            throw new NoSuchElementException();
+        }
+        T[] data = this.generated;
+        this.generated = null;
+        this.lastGenerated = true;
+        return data;
     }
 
     public void remove() {
+        if (this.lastGenerated) {
+            throw new UnsupportedOperationException("the data generated by nextData() can't be removed.");
+        }
         this.initIterator();
         it.remove();
     }
 
+    /**
+     * 按需生成下一行数据，返回null表示没有更多的数据<br>
+     * 子类覆盖该方法可以在迭代时逐行生成数据，避免在测试开始前就构造好所有数据
+     * 
+     * @return
+     */
+    protected T[] nextData() {
+        return null;
+    }
+
+    private boolean generateNext() {
+        if (this.generated != null) {
+            return true;
+        }
+        if (this.exhausted) {
+            return false;
+        }
+        T[] data = this.nextData();
+        if (data == null) {
+            this.exhausted = true;
+            return false;
+        }
+        this.checkDataLength(data);
+        this.index++;
+        this.generated = data;
+        return true;
+    }
+
     private synchronized void initIterator() {
         if (it == null) {
             it = this.datas.iterator();
@@ -1,20 +1,40 @@
 package org.test4j.tools.generic;
 
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Array;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
- * 泛型对应的具体类型查找类
+ * 泛型对应的具体类型查找类<br>
+ * 解析结果按Type缓存(弱引用key，不影响classloader的卸载)，返回的GenericTypeMap不可修改，可以在线程间共享
  * 
  * @author darui.wudr 2013-10-30 下午2:04:16
  */
 @SuppressWarnings("rawtypes")
 public class GenericTypeFinder {
+    /**
+     * Type -> 解析好的泛型变量列表<br>
+     * value使用软引用，避免value引用key所在的classloader导致key无法被回收
+     */
+    private static final Map<Type, SoftReference<GenericTypeMap>> cache = Collections
+                                                                             .synchronizedMap(new WeakHashMap<Type, SoftReference<GenericTypeMap>>());
+
     public static GenericTypeMap findGenericTypes(Type type) {
-        GenericTypeMap map = new GenericTypeMap();
-        fillInterfaceTypes(type, map);
+        SoftReference<GenericTypeMap> ref = cache.get(type);
+        GenericTypeMap map = ref == null ? null : ref.get();
+        if (map == null) {
+            map = new GenericTypeMap();
+            fillInterfaceTypes(type, map);
+            map.freeze();
+            cache.put(type, new SoftReference<GenericTypeMap>(map));
+        }
         return map;
     }
 
@@ -36,12 +56,9 @@ public class GenericTypeFinder {
         if (type instanceof ParameterizedType) {
             return ((ParameterizedType) type).getActualTypeArguments();
         }
-        if (type instanceof GenericArrayType) {
-
+        if (type instanceof WildcardType) {
+            return getTypeArgs(getBound((WildcardType) type));
         }
-        //  if (type instanceof WildcardType) {
-        //
-        // }
         return new Type[0];
     }
 
@@ -53,20 +70,40 @@ public class GenericTypeFinder {
             return (Class) ((ParameterizedType) type).getRawType();
         }
         if (type instanceof GenericArrayType) {
-
+            Class component = getRawType(((GenericArrayType) type).getGenericComponentType());
+            return Array.newInstance(component, 0).getClass();
+        }
+        if (type instanceof WildcardType) {
+            return getRawType(getBound((WildcardType) type));
+        }
+        if (type instanceof TypeVariable) {
+            Type[] bounds = ((TypeVariable) type).getBounds();
+            return bounds.length == 0 ? Object.class : getRawType(bounds[0]);
         }
-        //  if (type instanceof WildcardType) {
-        //
-        // }
         return Object.class;
     }
 
+    /**
+     * ? super T 返回T，? extends T 返回T，? 返回Object
+     */
+    private static Type getBound(WildcardType type) {
+        Type[] lowers = type.getLowerBounds();
+        if (lowers.length > 0) {
+            return lowers[0];
+        }
+        Type[] uppers = type.getUpperBounds();
+        return uppers.length == 0 ? Object.class : uppers[0];
+    }
+
     private static Class fillTypeGenericType(Type type, GenericTypeMap map) {
         Class raw = getRawType(type);
         Type[] args = getTypeArgs(type);
         TypeVariable[] vars = raw.getTypeParameters();
         int index = 0;
         for (Type arg : args) {
+            if (arg instanceof WildcardType) {
+                arg = getBound((WildcardType) arg);
+            }
             if (arg instanceof TypeVariable) {
                 map.putGeneric(vars[index], (TypeVariable) arg);
             } else {
@@ -2,8 +2,11 @@ package org.test4j.tools.generic;
 
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 泛型变量列表
@@ -14,6 +17,60 @@ import java.util.Map;
 public class GenericTypeMap extends HashMap<GenericTypeKey, Type> {
     private static final long serialVersionUID = -8181224276624369854L;
 
+    /**
+     * 被缓存共享的实例不允许再修改
+     */
+    private boolean           frozen           = false;
+
+    void freeze() {
+        this.frozen = true;
+    }
+
+    private void checkFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("the generic type map is shared and can't be modified.");
+        }
+    }
+
+    @Override
+    public Type put(GenericTypeKey key, Type value) {
+        this.checkFrozen();
+        return super.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends GenericTypeKey, ? extends Type> m) {
+        this.checkFrozen();
+        super.putAll(m);
+    }
+
+    @Override
+    public Type remove(Object key) {
+        this.checkFrozen();
+        return super.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        this.checkFrozen();
+        super.clear();
+    }
+
+    @Override
+    public Set<Map.Entry<GenericTypeKey, Type>> entrySet() {
+        return frozen ? Collections.unmodifiableSet(super.entrySet()) : super.entrySet();
+    }
+
+    @Override
+    public Set<GenericTypeKey> keySet() {
+        return frozen ? Collections.unmodifiableSet(super.keySet()) : super.keySet();
+    }
+
+    @Override
+    public Collection<Type> values() {
+        return frozen ? Collections.unmodifiableCollection(super.values()) : super.values();
+    }
+
     @Override
     public String toString() {
         StringBuilder buff = new StringBuilder();
@@ -4,12 +4,16 @@ import java.lang.reflect.Method;
 
 import org.springframework.transaction.PlatformTransactionManager;
 import org.test4j.module.core.Module;
+import org.test4j.module.core.ResourceFingerprint;
 import org.test4j.module.core.TestListener;
 import org.test4j.module.core.utility.MessageHelper;
+import org.test4j.module.database.annotations.Transactional;
 import org.test4j.module.database.environment.DBEnvironment;
 import org.test4j.module.database.environment.DBEnvironmentFactory;
+import org.test4j.tools.commons.AnnotationHelper;
+import org.test4j.tools.commons.StringHelper;
 
-public class DatabaseModule implements Module {
+public class DatabaseModule implements Module, ResourceFingerprint {
 	/**
 	 * Property indicating if the database schema should be updated before
 	 * performing the tests
@@ -39,6 +43,29 @@ public class DatabaseModule implements Module {
 		DBEnvironmentFactory.getDefaultDBEnvironment().registerTransactionManagementConfiguration(null);
 	}
 
+	/**
+	 * 测试类使用的数据源和类级别的事务模式<br>
+	 * <br>
+	 * {@inheritDoc}
+	 */
+	@SuppressWarnings("rawtypes")
+	@Override
+	public String getResourceFingerprint(Class testClazz) {
+		String fingerprint = DBEnvironment.DEFAULT_DATASOURCE_NAME + ","
+				+ DBEnvironmentFactory.getClassTransactionMode(testClazz);
+		String manager = AnnotationHelper.getClassLevelAnnotationProperty(Transactional.class,
+				"transactionManagerName", "", testClazz);
+		if (StringHelper.isBlankOrNull(manager) == false) {
+			fingerprint = fingerprint + "," + manager;
+		}
+		return fingerprint;
+	}
+
+	@Override
+	public int getResourceCost() {
+		return COST_DATASOURCE;
+	}
+
 	/**
 	 * @return The {@link TestListener} associated with this module
 	 */
@@ -52,6 +79,16 @@ public class DatabaseModule implements Module {
 	 * The {@link TestListener} for this module
 	 */
 	protected class DatabaseTestListener extends TestListener {
+		/**
+		 * 事务模式为SAVEPOINT时，开启测试类级别的外层事务<br>
+		 * <br>
+		 * {@inheritDoc}
+		 */
+		@SuppressWarnings("rawtypes")
+		@Override
+		public void beforeClass(Class testClazz) {
+			DBEnvironmentFactory.startClassTransaction(testClazz);
+		}
 
 		/**
 		 * 初始化测试方法的事务<br>
@@ -75,6 +112,16 @@ public class DatabaseModule implements Module {
 			DBEnvironmentFactory.changeDBEnvironment(DBEnvironment.DEFAULT_DATASOURCE_NAME);
 		}
 
+		/**
+		 * 回滚测试类级别的外层事务<br>
+		 * <br>
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void afterClass(Object testObject) {
+			DBEnvironmentFactory.closeClassTransaction();
+		}
+
 		@Override
 		protected String getName() {
 			return "DatabaseTestListener";
@@ -47,6 +47,16 @@ public @interface Transactional {
          */
         ROLLBACK,
 
+        /**
+         * Value indicating that the test class should be executed in one outer
+         * transaction which is rollbacked after the last test, and that each
+         * test is executed in a savepoint of this transaction which is
+         * rollbacked at the end of the test. Fixtures prepared before the
+         * first test (e.g. class level data files) are shared by all the
+         * tests of the class.
+         */
+        SAVEPOINT,
+
         /**
          * Value indicating that the default behavior is defined by the test4j
          * property <code>DatabaseModule.Transactional.value.default</code> is
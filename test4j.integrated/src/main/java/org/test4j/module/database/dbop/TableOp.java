@@ -2,6 +2,7 @@ package org.test4j.module.database.dbop;
 
 import static org.test4j.module.database.dbop.DBOperator.IN_DB_OPERATOR;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.test4j.hamcrest.iassert.object.impl.CollectionAssert;
@@ -181,4 +182,33 @@ public class TableOp implements ITableOp {
             IN_DB_OPERATOR.set(false);
         }
     }
+
+    public ITableOp containRows(String keys, DataMap expected, DataMap... more) {
+        IN_DB_OPERATOR.set(true);
+        try {
+            new TableVerifier(table, keys).verifyContains(toList(expected, more));
+            return this;
+        } finally {
+            IN_DB_OPERATOR.set(false);
+        }
+    }
+
+    public ITableOp sameRows(String keys, DataMap expected, DataMap... more) {
+        IN_DB_OPERATOR.set(true);
+        try {
+            new TableVerifier(table, keys).verifySame(toList(expected, more));
+            return this;
+        } finally {
+            IN_DB_OPERATOR.set(false);
+        }
+    }
+
+    private static List<DataMap> toList(DataMap expected, DataMap... more) {
+        List<DataMap> list = new ArrayList<DataMap>();
+        list.add(expected);
+        for (DataMap map : more) {
+            list.add(map);
+        }
+        return list;
+    }
 }
@@ -0,0 +1,506 @@
+package org.test4j.module.database.dbop;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.test4j.module.ICore.DataMap;
+import org.test4j.module.database.environment.DBEnvironment;
+import org.test4j.module.database.environment.DBEnvironmentFactory;
+import org.test4j.module.database.environment.TableMeta;
+import org.test4j.module.database.utility.DBHelper;
+import org.test4j.tools.commons.ConfigHelper;
+import org.test4j.tools.commons.ExceptionWrapper;
+import org.test4j.tools.commons.StringHelper;
+
+/**
+ * 在数据库端完成数据表和期望数据的比较<br>
+ * 期望行按批合并成sum(case when ...)查询，只返回每一行的匹配次数，字段都由数据库比较；<br>
+ * 指定了主键时用主键条件过滤记录，没有指定主键(或期望行中缺少主键字段)时在整表上统计；<br>
+ * 整表比较时先比较count(*)、各字段的count和整数字段的sum；<br>
+ * 失败信息中的实际数据按主键查询
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class TableVerifier {
+    /**
+     * 每个比较查询中合并的期望行数
+     */
+    public static final String PROPKEY_BATCH_SIZE  = "database.verify.batch.size";
+
+    /**
+     * 失败信息中最多输出的数据行数，小于等于0时不限制
+     */
+    public static final String PROPKEY_REPORT_ROWS = "database.verify.report.rows";
+
+    private final String        table;
+
+    private final String[]      keys;
+
+    private final DBEnvironment dbEnvironment;
+
+    private final TableMeta     tableMeta;
+
+    private final String        quato;
+
+    private final int           batchSize;
+
+    private final int           reportRows;
+
+    /**
+     * @param table 数据表
+     * @param keys 主键字段，多个字段用逗号分隔，为空时按整表查询匹配次数，失败信息中也不输出数据库中的实际数据
+     */
+    public TableVerifier(String table, String keys) {
+        this.table = table;
+        this.keys = StringHelper.isBlankOrNull(keys) ? new String[0] : keys.trim().split("\\s*,\\s*");
+        this.dbEnvironment = DBEnvironmentFactory.getCurrentDBEnvironment();
+        this.tableMeta = dbEnvironment.getTableMetaData(table);
+        this.quato = dbEnvironment.getFieldQuato();
+        int size = ConfigHelper.getInteger(PROPKEY_BATCH_SIZE, 50);
+        this.batchSize = size < 1 ? 1 : size;
+        this.reportRows = ConfigHelper.getInteger(PROPKEY_REPORT_ROWS, 10);
+    }
+
+    /**
+     * 验证数据表中包含所有的期望数据<br>
+     * 期望数据中没有指定的字段不做比较
+     *
+     * @param expected
+     */
+    public void verifyContains(List<DataMap> expected) {
+        List<ExpectedRow> rows = this.toExpectedRows(expected);
+        StringBuilder report = new StringBuilder();
+        this.verifyRows(rows, false, report);
+        this.assertReport(report);
+    }
+
+    /**
+     * 验证数据表中的数据和期望数据完全一致(不考虑顺序)<br>
+     * 期望数据中没有指定的字段不做比较
+     *
+     * @param expected
+     */
+    public void verifySame(List<DataMap> expected) {
+        List<ExpectedRow> rows = this.toExpectedRows(expected);
+        StringBuilder report = new StringBuilder();
+        long actualCount = this.verifyAggregates(expected, rows, report);
+        this.verifyRows(rows, true, report);
+        if (actualCount > expected.size()) {
+            this.reportExtraRows(rows, actualCount - expected.size(), report);
+        }
+        this.assertReport(report);
+    }
+
+    private void assertReport(StringBuilder report) {
+        if (report.length() > 0) {
+            throw new AssertionError("the data of table[" + table + "] isn't as expected:" + report);
+        }
+    }
+
+    /**
+     * 比较表的记录数，各字段非空值的个数，以及整数字段的和
+     *
+     * @return 表的记录数
+     */
+    private long verifyAggregates(List<DataMap> expected, List<ExpectedRow> rows, StringBuilder report) {
+        Set<String> columns = new LinkedHashSet<String>();
+        for (DataMap map : expected) {
+            columns.addAll(map.keySet());
+        }
+        List<String> counted = new ArrayList<String>();
+        List<String> summed = new ArrayList<String>();
+        Map<String, Long> expectedCounts = new LinkedHashMap<String, Long>();
+        Map<String, BigDecimal> expectedSums = new LinkedHashMap<String, BigDecimal>();
+        for (String column : columns) {
+            long count = 0;
+            BigDecimal sum = BigDecimal.ZERO;
+            boolean isIntegral = true;
+            boolean isAllSpecified = true;
+            for (ExpectedRow row : rows) {
+                int index = row.columns.indexOf(column);
+                if (index < 0) {
+                    isAllSpecified = false;
+                    break;
+                }
+                Object value = row.values.get(index);
+                if (value == null) {
+                    continue;
+                }
+                count += row.times;
+                if (isIntegral(value)) {
+                    sum = sum.add(new BigDecimal(value.toString()).multiply(BigDecimal.valueOf(row.times)));
+                } else {
+                    isIntegral = false;
+                }
+            }
+            if (!isAllSpecified) {
+                continue;
+            }
+            counted.add(column);
+            expectedCounts.put(column, count);
+            if (isIntegral && count > 0) {
+                summed.add(column);
+                expectedSums.put(column, sum);
+            }
+        }
+
+        StringBuilder sql = new StringBuilder("select count(*)");
+        for (String column : counted) {
+            sql.append(", count(").append(this.quato(column)).append(")");
+        }
+        for (String column : summed) {
+            sql.append(", sum(").append(this.quato(column)).append(")");
+        }
+        sql.append(" from ").append(table);
+        Object[] aggregates = this.queryOneRow(sql.toString(), new ArrayList<Object>());
+
+        long actualCount = toLong(aggregates[0]);
+        if (actualCount != expected.size()) {
+            report.append("\n\tcount(*): expected ").append(expected.size()).append(", actual ").append(actualCount);
+        }
+        int index = 1;
+        for (String column : counted) {
+            long actual = toLong(aggregates[index++]);
+            long count = expectedCounts.get(column);
+            if (actual != count) {
+                report.append("\n\tcount(").append(column).append("): expected ").append(count).append(", actual ")
+                        .append(actual);
+            }
+        }
+        for (String column : summed) {
+            Object actual = aggregates[index++];
+            BigDecimal sum = expectedSums.get(column);
+            if (actual == null || new BigDecimal(actual.toString()).compareTo(sum) != 0) {
+                report.append("\n\tsum(").append(column).append("): expected ").append(sum).append(", actual ")
+                        .append(actual);
+            }
+        }
+        return actualCount;
+    }
+
+    /**
+     * 按批查询期望行在数据表中的匹配次数
+     *
+     * @param rows
+     * @param isExactTimes true:匹配次数必须和期望次数相等; false:匹配次数不少于期望次数
+     * @param report
+     */
+    private void verifyRows(List<ExpectedRow> rows, boolean isExactTimes, StringBuilder report) {
+        List<ExpectedRow> keyed = new ArrayList<ExpectedRow>();
+        List<ExpectedRow> unkeyed = new ArrayList<ExpectedRow>();
+        for (ExpectedRow row : rows) {
+            if (this.hasKeys(row)) {
+                keyed.add(row);
+            } else {
+                unkeyed.add(row);
+            }
+        }
+        for (int start = 0; start < keyed.size(); start += batchSize) {
+            this.countByKeys(keyed.subList(start, Math.min(start + batchSize, keyed.size())));
+        }
+        for (int start = 0; start < unkeyed.size(); start += batchSize) {
+            this.countByTable(unkeyed.subList(start, Math.min(start + batchSize, unkeyed.size())));
+        }
+        List<ExpectedRow> mismatched = new ArrayList<ExpectedRow>();
+        for (ExpectedRow row : rows) {
+            boolean isMatched = isExactTimes ? row.actual == row.times : row.actual >= row.times;
+            if (!isMatched) {
+                mismatched.add(row);
+            }
+        }
+        int reported = 0;
+        for (ExpectedRow row : mismatched) {
+            if (reportRows > 0 && reported >= reportRows) {
+                report.append("\n\t... ").append(mismatched.size() - reported).append(" more mismatched rows");
+                break;
+            }
+            report.append("\n\texpected row").append(row.source).append(" matched ").append(row.actual)
+                    .append(" times, expected ").append(isExactTimes ? "" : "at least ").append(row.times)
+                    .append(" times");
+            this.reportRowsByKey(row, report);
+            reported++;
+        }
+    }
+
+    /**
+     * 期望行中是否指定了所有的主键字段
+     */
+    private boolean hasKeys(ExpectedRow row) {
+        if (keys.length == 0) {
+            return false;
+        }
+        for (String key : keys) {
+            if (!row.columns.contains(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 把一批期望行合并成sum(case when ...)查询，并用这批期望行的主键条件过滤记录<br>
+     * 和countByTable一样由数据库比较字段(CHAR字段的空格补齐、忽略大小写的排序规则等结果一致)，<br>
+     * 只统计主键相同的记录，查询代价和期望行数成正比，和表的大小无关
+     */
+    private void countByKeys(List<ExpectedRow> batch) {
+        Set<List<Object>> keyValues = new LinkedHashSet<List<Object>>();
+        for (ExpectedRow row : batch) {
+            List<Object> values = new ArrayList<Object>();
+            for (String key : keys) {
+                values.add(row.values.get(row.columns.indexOf(key)));
+            }
+            keyValues.add(values);
+        }
+        List<Object> params = new ArrayList<Object>();
+        StringBuilder sql = new StringBuilder("select ").append(this.getMatchedCounts(batch, params));
+        sql.append(" from ").append(table).append(" where ");
+        boolean isFirst = true;
+        for (List<Object> values : keyValues) {
+            sql.append(isFirst ? "" : " or ").append(this.getCondition(Arrays.asList(keys), values, params));
+            isFirst = false;
+        }
+        this.setActualCounts(batch, this.queryOneRow(sql.toString(), params));
+    }
+
+    /**
+     * 把一批期望行合并成sum(case when ...)查询，在整表上统计每一行的匹配次数，每批只返回一行计数
+     */
+    private void countByTable(List<ExpectedRow> batch) {
+        List<Object> params = new ArrayList<Object>();
+        StringBuilder sql = new StringBuilder("select ").append(this.getMatchedCounts(batch, params));
+        sql.append(" from ").append(table);
+        this.setActualCounts(batch, this.queryOneRow(sql.toString(), params));
+    }
+
+    /**
+     * 每个期望行一个sum(case when ...)，统计和期望行所有字段都相等的记录数
+     */
+    private String getMatchedCounts(List<ExpectedRow> batch, List<Object> params) {
+        StringBuilder counts = new StringBuilder();
+        for (ExpectedRow row : batch) {
+            if (counts.length() > 0) {
+                counts.append(", ");
+            }
+            counts.append("sum(case when ").append(this.getCondition(row.columns, row.values, params))
+                    .append(" then 1 else 0 end)");
+        }
+        return counts.toString();
+    }
+
+    private void setActualCounts(List<ExpectedRow> batch, Object[] counts) {
+        for (int index = 0; index < batch.size(); index++) {
+            batch.get(index).actual = toLong(counts[index]);
+        }
+    }
+
+    /**
+     * 按主键查询出和期望行对应的实际数据，输出到失败信息中
+     */
+    private void reportRowsByKey(ExpectedRow row, StringBuilder report) {
+        if (keys.length == 0) {
+            return;
+        }
+        StringBuilder where = new StringBuilder();
+        List<Object> params = new ArrayList<Object>();
+        for (String key : keys) {
+            int index = row.columns.indexOf(key);
+            if (index < 0) {
+                return;
+            }
+            Object value = row.values.get(index);
+            where.append(where.length() == 0 ? "" : " and ");
+            if (value == null) {
+                where.append(this.quato(key)).append(" is null");
+            } else {
+                where.append(this.quato(key)).append("=?");
+                params.add(value);
+            }
+        }
+        List<Map> actuals = this.queryRows("select * from " + table + " where " + where, params);
+        if (actuals.size() == 0) {
+            report.append("\n\t\tno row with the same key in table.");
+        }
+        for (Map actual : actuals) {
+            report.append("\n\t\tactual row").append(actual);
+        }
+    }
+
+    /**
+     * 输出数据表中不在期望数据中的记录<br>
+     * 期望行少于一批时才查询，否则只输出多出的记录数
+     */
+    private void reportExtraRows(List<ExpectedRow> rows, long extra, StringBuilder report) {
+        report.append("\n\tthere are ").append(extra).append(" rows more than expected in table.");
+        if (rows.size() > batchSize) {
+            return;
+        }
+        StringBuilder where = new StringBuilder();
+        List<Object> params = new ArrayList<Object>();
+        for (ExpectedRow row : rows) {
+            where.append(where.length() == 0 ? "" : " or ");
+            where.append(this.getCondition(row.columns, row.values, params));
+        }
+        String sql = "select * from " + table + (rows.size() == 0 ? "" : " where not (" + where + ")");
+        for (Map actual : this.queryRows(sql, params)) {
+            report.append("\n\t\tunexpected row").append(actual);
+        }
+    }
+
+    /**
+     * 构造字段等于指定值的条件，参数值按顺序加入params
+     */
+    private String getCondition(List<String> columns, List<Object> values, List<Object> params) {
+        if (columns.size() == 0) {
+            return "(1=1)";
+        }
+        StringBuilder condition = new StringBuilder("(");
+        for (int index = 0; index < columns.size(); index++) {
+            if (index > 0) {
+                condition.append(" and ");
+            }
+            String column = this.quato(columns.get(index));
+            Object value = values.get(index);
+            if (value == null) {
+                condition.append(column).append(" is null");
+            } else {
+                condition.append(column).append("=?");
+                params.add(value);
+            }
+        }
+        return condition.append(")").toString();
+    }
+
+    /**
+     * 把期望数据转换为sql值，相同的期望行合并为一行并记录次数
+     */
+    private List<ExpectedRow> toExpectedRows(List<DataMap> expected) {
+        Map<List<Object>, ExpectedRow> rows = new LinkedHashMap<List<Object>, ExpectedRow>();
+        for (DataMap map : expected) {
+            ExpectedRow row = new ExpectedRow(map);
+            for (String column : map.keySet()) {
+                row.columns.add(column);
+                row.values.add(this.toSqlValue(column, map.get(column)));
+            }
+            List<Object> identity = new ArrayList<Object>(row.columns);
+            identity.addAll(row.values);
+            ExpectedRow exists = rows.get(identity);
+            if (exists == null) {
+                rows.put(identity, row);
+            } else {
+                exists.times++;
+            }
+        }
+        return new ArrayList<ExpectedRow>(rows.values());
+    }
+
+    private Object toSqlValue(String column, Object value) {
+        if (value instanceof String) {
+            String javaType = this.tableMeta.getColumnType(column);
+            if (!String.class.getName().equals(javaType)) {
+                value = dbEnvironment.toObjectValue((String) value, javaType);
+            }
+        }
+        return value == null ? null : dbEnvironment.converToSqlValue(value);
+    }
+
+    private String quato(String column) {
+        return this.quato + column + this.quato;
+    }
+
+    private Object[] queryOneRow(String sql, List<Object> params) {
+        PreparedStatement st = null;
+        ResultSet rs = null;
+        try {
+            st = this.prepare(sql, params);
+            rs = st.executeQuery();
+            int count = rs.getMetaData().getColumnCount();
+            Object[] values = new Object[count];
+            if (rs.next()) {
+                for (int index = 0; index < count; index++) {
+                    values[index] = rs.getObject(index + 1);
+                }
+            }
+            return values;
+        } catch (Throwable e) {
+            throw ExceptionWrapper.getUndeclaredThrowableExceptionCaused(e);
+        } finally {
+            DBHelper.closeResultSet(rs);
+            DBHelper.closeStatement(st);
+        }
+    }
+
+    /**
+     * 查询用于输出失败信息的数据，最多返回{@link #PROPKEY_REPORT_ROWS}行
+     */
+    private List<Map> queryRows(String sql, List<Object> params) {
+        PreparedStatement st = null;
+        ResultSet rs = null;
+        try {
+            st = this.prepare(sql, params);
+            if (reportRows > 0) {
+                st.setMaxRows(reportRows);
+            }
+            rs = st.executeQuery();
+            ResultSetMetaData rsmd = rs.getMetaData();
+            return DBHelper.getListMapFromResult(rs, rsmd, false);
+        } catch (Throwable e) {
+            throw ExceptionWrapper.getUndeclaredThrowableExceptionCaused(e);
+        } finally {
+            DBHelper.closeResultSet(rs);
+            DBHelper.closeStatement(st);
+        }
+    }
+
+    private PreparedStatement prepare(String sql, List<Object> params) throws Exception {
+        PreparedStatement st = dbEnvironment.createStatementWithBoundFixtureSymbols(sql);
+        int index = 1;
+        for (Object param : params) {
+            st.setObject(index++, param);
+        }
+        return st;
+    }
+
+    private static long toLong(Object value) {
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+
+    private static boolean isIntegral(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+                || value instanceof BigInteger) {
+            return true;
+        }
+        if (value instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) value;
+            return decimal.signum() == 0 || decimal.scale() <= 0 || decimal.stripTrailingZeros().scale() <= 0;
+        }
+        return false;
+    }
+
+    /**
+     * 期望行: 字段、转换后的sql值，以及在期望数据中出现的次数
+     */
+    private static class ExpectedRow {
+        final DataMap      source;
+
+        final List<String> columns = new ArrayList<String>();
+
+        final List<Object> values  = new ArrayList<Object>();
+
+        int                times   = 1;
+
+        long               actual;
+
+        ExpectedRow(DataMap source) {
+            this.source = source;
+        }
+    }
+}
@@ -6,15 +6,18 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 import javax.sql.DataSource;
 
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
 import org.test4j.module.Test4JException;
 import org.test4j.module.core.TestContext;
 import org.test4j.module.core.utility.MessageHelper;
@@ -30,9 +33,10 @@ public abstract class BaseEnvironment implements DBEnvironment {
 
     /**
      * Set of possible providers of a spring
-     * <code>PlatformTransactionManager</code>
+     * <code>PlatformTransactionManager</code><br>
+     * 延迟加载的模块(如spring)会在测试运行中注册，所以使用线程安全的集合
      */
-    protected Set<TransactionManagementConfiguration> transactionManagementConfigurations = new HashSet<TransactionManagementConfiguration>();
+    protected Set<TransactionManagementConfiguration> transactionManagementConfigurations = new CopyOnWriteArraySet<TransactionManagementConfiguration>();
 
     protected final String                            dataSourceName;
 
@@ -120,6 +124,44 @@ public abstract class BaseEnvironment implements DBEnvironment {
             currTransactionManager.endTransaction();
             this.threadTransactionManager.remove();
         }
+        this.rollbackToSavepoint();
+    }
+
+    @Override
+    public void startClassTransaction() {
+        if (this.classTransaction.get() == null) {
+            this.classTransaction.set(new ClassTransaction(this.getDataSource()));
+        }
+    }
+
+    @Override
+    public void setSavepoint() {
+        this.startClassTransaction();
+        this.classTransaction.get().setSavepoint();
+    }
+
+    @Override
+    public void rollbackToSavepoint() {
+        ClassTransaction currClassTransaction = this.classTransaction.get();
+        if (currClassTransaction != null) {
+            currClassTransaction.rollbackToSavepoint();
+        }
+    }
+
+    @Override
+    public void endClassTransaction() {
+        ClassTransaction currClassTransaction = this.classTransaction.get();
+        if (currClassTransaction != null) {
+            this.classTransaction.remove();
+            currClassTransaction.rollback();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.dataSource != null) {
+            this.dataSource.close();
+        }
     }
 
     /**
@@ -244,6 +286,55 @@ public abstract class BaseEnvironment implements DBEnvironment {
         }
     }
 
+    /**
+     * 测试类级别的外层事务(TransactionMode.SAVEPOINT)
+     */
+    private final ThreadLocal<ClassTransaction> classTransaction = new ThreadLocal<ClassTransaction>();
+
+    /**
+     * 测试类级别的外层事务<br>
+     * 事务的连接绑定在当前线程上，测试过程中通过DataSourceUtils获取的都是同一个连接，
+     * 每个测试方法在一个savepoint中执行，结束后回滚到savepoint；测试类结束后整个事务回滚
+     */
+    private static class ClassTransaction {
+        private final PlatformTransactionManager transactionManager;
+
+        private final TransactionStatus          transactionStatus;
+
+        private Object                           savepoint;
+
+        ClassTransaction(DataSource dataSource) {
+            MessageHelper.debug("Starting class transaction");
+            this.transactionManager = new DataSourceTransactionManager(dataSource);
+            this.transactionStatus = transactionManager.getTransaction(new DefaultTransactionDefinition(
+                    TransactionDefinition.PROPAGATION_REQUIRED));
+        }
+
+        void setSavepoint() {
+            this.rollbackToSavepoint();
+            this.savepoint = transactionStatus.createSavepoint();
+        }
+
+        void rollbackToSavepoint() {
+            if (this.savepoint == null) {
+                return;
+            }
+            try {
+                MessageHelper.debug("Rolling back to savepoint");
+                transactionStatus.rollbackToSavepoint(savepoint);
+                transactionStatus.releaseSavepoint(savepoint);
+            } finally {
+                this.savepoint = null;
+            }
+        }
+
+        void rollback() {
+            this.savepoint = null;
+            MessageHelper.debug("Rolling back class transaction");
+            transactionManager.rollback(transactionStatus);
+        }
+    }
+
     /**
      * 是否是默认的数据源
      * 
@@ -139,4 +139,29 @@ public interface DBEnvironment {
      */
     void rollback();
 
+    /**
+     * 开启测试类级别的外层事务，测试类结束时整体回滚
+     */
+    void startClassTransaction();
+
+    /**
+     * 为当前测试方法设置savepoint，如果测试类级别的事务还没有开启，先开启
+     */
+    void setSavepoint();
+
+    /**
+     * 回滚到当前测试方法的savepoint
+     */
+    void rollbackToSavepoint();
+
+    /**
+     * 回滚并结束测试类级别的外层事务
+     */
+    void endClassTransaction();
+
+    /**
+     * 关闭数据源的连接池，释放所有的数据库连接<br>
+     * 之后再次使用数据源时会重新创建连接池
+     */
+    void close();
 }
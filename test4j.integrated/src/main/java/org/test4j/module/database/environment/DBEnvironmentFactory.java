@@ -10,16 +10,17 @@ import static org.test4j.module.database.annotations.Transactional.TransactionMo
 import static org.test4j.module.database.environment.DBEnvironment.CUSTOMIZED_DATASOURCE_NAME;
 import static org.test4j.module.database.environment.DBEnvironment.DEFAULT_DATASOURCE_FROM;
 import static org.test4j.module.database.environment.DBEnvironment.DEFAULT_DATASOURCE_NAME;
+import static org.test4j.tools.commons.AnnotationHelper.getClassLevelAnnotationProperty;
 import static org.test4j.tools.commons.AnnotationHelper.getMethodOrClassLevelAnnotationProperty;
 
 import java.sql.SQLException;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
-import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.test4j.module.core.TestContext;
 import org.test4j.module.core.utility.IPropItem;
+import org.test4j.module.core.utility.MessageHelper;
 import org.test4j.module.database.annotations.Transactional;
 import org.test4j.module.database.annotations.Transactional.TransactionMode;
 import org.test4j.module.database.environment.types.DerbyEnvironment;
@@ -32,7 +33,15 @@ import org.test4j.tools.commons.ResourceHelper;
 import org.test4j.tools.commons.StringHelper;
 
 public final class DBEnvironmentFactory {
-    private static Map<String, DBEnvironment> environments = new HashMap<String, DBEnvironment>();
+    /**
+     * 数据源名称=数据源来源 -> 数据库环境，自定义数据源的key是连接标识
+     */
+    private static final Map<String, DBEnvironment> environments = new ConcurrentHashMap<String, DBEnvironment>();
+
+    /**
+     * 是否已经注册了jvm退出时关闭所有数据源的hook
+     */
+    private static boolean                          shutdownHooked = false;
 
     private static DBEnvironment newInstance(DataSourceType dataSourceType, String dataSourceName, String dataSourceFrom) {
         if (dataSourceType == null) {
@@ -53,7 +62,8 @@ public final class DBEnvironmentFactory {
     }
 
     /**
-     * 构造自定义的数据库连接识别码
+     * 构造自定义的数据库连接识别码<br>
+     * 连接属性(类型、驱动、url、用户和密码)相同的自定义数据源只创建一次，之后直接复用
      * 
      * @param type
      * @param driver
@@ -64,11 +74,6 @@ public final class DBEnvironmentFactory {
      */
     public static DBEnvironment getDBEnvironment(String type, String driver, String url, String username,
                                                  String password) {
-        DataSourceType dataSourceType = DataSourceType.databaseType(type);
-        String dataSourceFrom = "customized-" + UUID.randomUUID().toString();
-        DBEnvironment enviroment = newInstance(dataSourceType, CUSTOMIZED_DATASOURCE_NAME, dataSourceFrom);
-        environments.put(DEFAULT_DATASOURCE_NAME + "=" + dataSourceFrom, enviroment);
-
         if (StringHelper.isBlankOrNull(driver)) {
             driver = ConfigHelper.databaseDriver();
         }
@@ -81,9 +86,23 @@ public final class DBEnvironmentFactory {
         if (StringHelper.isBlankOrNull(password)) {
             password = ConfigHelper.databasePassword();
         }
-        enviroment.setDataSource(driver, url, "", username, password);
-
-        return enviroment;
+        DataSourceType dataSourceType = DataSourceType.databaseType(type);
+        String key = CUSTOMIZED_DATASOURCE_NAME + "=" + dataSourceType + "|" + driver + "|" + url + "|" + username
+                + "|" + password;
+        DBEnvironment enviroment = environments.get(key);
+        if (enviroment != null) {
+            return enviroment;
+        }
+        synchronized (environments) {
+            enviroment = environments.get(key);
+            if (enviroment == null) {
+                String dataSourceFrom = "customized-" + username + "@" + url;
+                enviroment = newInstance(dataSourceType, CUSTOMIZED_DATASOURCE_NAME, dataSourceFrom);
+                enviroment.setDataSource(driver, url, "", username, password);
+                register(key, enviroment);
+            }
+            return enviroment;
+        }
     }
 
     final static String NO_VALID_VALUE_MESSAGE = "can't find valid value of key[%s] in file[%s]!";
@@ -123,8 +142,16 @@ public final class DBEnvironmentFactory {
         dataSourceName = StringHelper.isBlankOrNull(dataSourceName) ? DEFAULT_DATASOURCE_NAME : dataSourceName;
         dataSourceFrom = StringHelper.isBlankOrNull(dataSourceFrom) ? DEFAULT_DATASOURCE_FROM : dataSourceFrom;
 
-        DBEnvironment enviroment = environments.get(dataSourceName + "=" + dataSourceFrom);
-        if (enviroment == null) {
+        String key = dataSourceName + "=" + dataSourceFrom;
+        DBEnvironment enviroment = environments.get(key);
+        if (enviroment != null) {
+            return enviroment;
+        }
+        synchronized (environments) {
+            enviroment = environments.get(key);
+            if (enviroment != null) {
+                return enviroment;
+            }
             Properties props = null;
             if (StringHelper.isBlankOrNull(dataSourceFrom) == false
                     && DEFAULT_DATASOURCE_FROM.equalsIgnoreCase(dataSourceFrom) == false) {
@@ -135,8 +162,6 @@ public final class DBEnvironmentFactory {
 
             enviroment = newInstance(dataSourceType, dataSourceName, dataSourceFrom);
 
-            environments.put(dataSourceName + "=" + dataSourceFrom, enviroment);
-
             String driver = ConfigHelper.getString(props,
                     getMergeKey(dataSourceName, PROPKEY_DATASOURCE_DRIVERCLASSNAME));
             String url = ConfigHelper.getString(props, getMergeKey(dataSourceName, PROPKEY_DATASOURCE_URL));
@@ -154,9 +179,40 @@ public final class DBEnvironmentFactory {
             schemas = schemas == null ? "" : schemas;
 
             enviroment.setDataSource(driver, url, schemas, user, pass);
+            register(key, enviroment);
+            return enviroment;
         }
+    }
 
-        return enviroment;
+    /**
+     * 登记新建的数据库环境，第一次登记时注册jvm退出时关闭所有数据源的hook
+     */
+    private static void register(String key, DBEnvironment enviroment) {
+        environments.put(key, enviroment);
+        if (shutdownHooked) {
+            return;
+        }
+        shutdownHooked = true;
+        Runtime.getRuntime().addShutdownHook(new Thread("test4j-close-datasource") {
+            @Override
+            public void run() {
+                closeAllDBEnvironment();
+            }
+        });
+    }
+
+    /**
+     * 关闭所有数据库环境的连接池，释放数据库连接<br>
+     * 在测试套件结束时调用，jvm退出时也会自动调用；数据库环境仍然保留，再次使用时重新创建连接池
+     */
+    public static void closeAllDBEnvironment() {
+        for (DBEnvironment environment : environments.values()) {
+            try {
+                environment.close();
+            } catch (Throwable e) {
+                MessageHelper.warn("close db environment error.", e);
+            }
+        }
     }
 
     private static String getMergeKey(String dataSourceName, String key) {
@@ -237,6 +293,25 @@ public final class DBEnvironmentFactory {
         }
     }
 
+    /**
+     * 测试类的事务模式，只读取类级别的@Transactional
+     * 
+     * @param testClazz
+     * @return
+     */
+    public static TransactionMode getClassTransactionMode(Class testClazz) {
+        if (testClazz == null) {
+            return TransactionMode.DISABLED;
+        }
+        TransactionMode transactionMode = getClassLevelAnnotationProperty(Transactional.class, "value", DEFAULT,
+                testClazz);
+        if (transactionMode == TransactionMode.DEFAULT) {
+            String mode = ConfigHelper.getString(IPropItem.TRANSACTIONAL_MODE_DEFAULT, "DISABLED");
+            transactionMode = TransactionMode.valueOf(mode.toUpperCase());
+        }
+        return transactionMode == null ? TransactionMode.DISABLED : transactionMode;
+    }
+
     private final static String DEFAULT_ENVIRONMENT_KEY = DEFAULT_DATASOURCE_NAME + "=" + DEFAULT_DATASOURCE_FROM;
 
     /**
@@ -269,6 +344,27 @@ public final class DBEnvironmentFactory {
         TransactionMode mode = DBEnvironmentFactory.getTransactionMode();
         if (mode == TransactionMode.COMMIT || mode == TransactionMode.ROLLBACK) {
             DBEnvironmentFactory.getDefaultDBEnvironment().startTransaction();
+        } else if (mode == TransactionMode.SAVEPOINT) {
+            DBEnvironmentFactory.getDefaultDBEnvironment().setSavepoint();
         }
     }
+
+    /**
+     * 测试类的事务模式是SAVEPOINT时，开启默认数据源上的测试类级别事务
+     * 
+     * @param testClazz
+     */
+    public static void startClassTransaction(Class testClazz) {
+        if (getClassTransactionMode(testClazz) == TransactionMode.SAVEPOINT) {
+            DBEnvironmentFactory.getDefaultDBEnvironment().startClassTransaction();
+        }
+    }
+
+    /**
+     * 回滚并结束默认数据源上的测试类级别事务<br>
+     * 不论测试类的事务模式，方法级别的@Transactional(SAVEPOINT)也会开启测试类级别事务；没有开启时什么也不做
+     */
+    public static void closeClassTransaction() {
+        DBEnvironmentFactory.getDefaultDBEnvironment().endClassTransaction();
+    }
 }
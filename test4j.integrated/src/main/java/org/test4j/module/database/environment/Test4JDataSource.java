@@ -22,7 +22,7 @@ import org.test4j.tools.commons.ConfigHelper;
  * @author darui.wudr
  */
 public class Test4JDataSource implements DataSource {
-    private final DataSource     dataSource;
+    private DataSource           dataSource;
 
     private final DataSourceType type;
     private final String         driver;
@@ -64,7 +64,7 @@ public class Test4JDataSource implements DataSource {
      */
     @Override
     public Connection getConnection() throws SQLException {
-        Connection conn = dataSource.getConnection();
+        Connection conn = this.getDataSource().getConnection();
         return ConnectionProxy.getConnectionProxy(conn);
     }
 
@@ -73,7 +73,7 @@ public class Test4JDataSource implements DataSource {
      */
     @Override
     public Connection getConnection(String arg0, String arg1) throws SQLException {
-        Connection conn = dataSource.getConnection(arg0, arg1);
+        Connection conn = this.getDataSource().getConnection(arg0, arg1);
         return ConnectionProxy.getConnectionProxy(conn);
     }
 
@@ -82,7 +82,7 @@ public class Test4JDataSource implements DataSource {
      */
     @Override
     public PrintWriter getLogWriter() throws SQLException {
-        return dataSource.getLogWriter();
+        return this.getDataSource().getLogWriter();
     }
 
     /**
@@ -90,7 +90,7 @@ public class Test4JDataSource implements DataSource {
      */
     @Override
     public int getLoginTimeout() throws SQLException {
-        return dataSource.getLoginTimeout();
+        return this.getDataSource().getLoginTimeout();
     }
 
     /**
@@ -98,7 +98,7 @@ public class Test4JDataSource implements DataSource {
      */
     @Override
     public void setLogWriter(PrintWriter arg0) throws SQLException {
-        dataSource.setLogWriter(arg0);
+        this.getDataSource().setLogWriter(arg0);
     }
 
     /**
@@ -106,7 +106,7 @@ public class Test4JDataSource implements DataSource {
      */
     @Override
     public void setLoginTimeout(int arg0) throws SQLException {
-        dataSource.setLoginTimeout(arg0);
+        this.getDataSource().setLoginTimeout(arg0);
     }
 
     /**
@@ -137,6 +137,32 @@ public class Test4JDataSource implements DataSource {
         }
     }
 
+    /**
+     * 关闭后再次使用时重新创建连接池
+     */
+    private synchronized DataSource getDataSource() {
+        if (this.dataSource == null) {
+            this.dataSource = this.createDataSource();
+        }
+        return this.dataSource;
+    }
+
+    /**
+     * 关闭连接池，释放所有的数据库连接<br>
+     * 之后再次使用时会重新创建连接池
+     */
+    public synchronized void close() {
+        DataSource closed = this.dataSource;
+        this.dataSource = null;
+        if (closed instanceof BasicDataSource) {
+            try {
+                ((BasicDataSource) closed).close();
+            } catch (SQLException e) {
+                MessageHelper.warn("close data source[" + url + "] error.", e);
+            }
+        }
+    }
+
     @Override
     public String toString() {
         return "Test4JDataSource [type=" + type + ", driver=" + driver + ", url=" + url + ", username=" + username
@@ -3,6 +3,7 @@ package org.test4j.module.spring;
 import java.lang.reflect.Method;
 
 import org.test4j.module.core.Module;
+import org.test4j.module.core.ResourceFingerprint;
 import org.test4j.module.core.TestContext;
 import org.test4j.module.core.TestListener;
 import org.test4j.module.core.utility.ModulesManager;
@@ -16,7 +17,7 @@ import org.test4j.module.spring.utility.SpringModuleHelper;
 import org.test4j.tools.commons.ConfigHelper;
 
 @SuppressWarnings("rawtypes")
-public class SpringModule implements Module {
+public class SpringModule implements Module, ResourceFingerprint {
     private ApplicationContextFactory contextFactory;
 
     /**
@@ -51,6 +52,32 @@ public class SpringModule implements Module {
         SpringTestedContext.setSpringContext(springContext);
     }
 
+    /**
+     * 测试类声明的spring配置文件，配置相同的测试类一起执行可以复用共享的spring容器<br>
+     * <br>
+     * {@inheritDoc}
+     */
+    @Override
+    public String getResourceFingerprint(Class testClazz) {
+        String[] locations = SpringModuleHelper.getContextLocations(testClazz);
+        if (locations == null) {
+            return null;
+        }
+        StringBuilder buff = new StringBuilder();
+        for (String location : locations) {
+            if (buff.length() > 0) {
+                buff.append(',');
+            }
+            buff.append(location);
+        }
+        return buff.toString();
+    }
+
+    @Override
+    public int getResourceCost() {
+        return COST_CONTEXT;
+    }
+
     @Override
     public TestListener getTestListener() {
         return new SpringTestListener();
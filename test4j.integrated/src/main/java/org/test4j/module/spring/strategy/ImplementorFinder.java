@@ -4,7 +4,9 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -87,56 +89,133 @@ public class ImplementorFinder {
 	}
 
 	/**
-	 * 返回接口对应的实现类
+	 * 映射规则集 -> 预编译的规则和接口实现的查找结果
+	 */
+	private static final Map<String, MappingRules> rulesCache = new ConcurrentHashMap<String, MappingRules>();
+
+	/**
+	 * 返回接口对应的实现类<br>
+	 * 同一个规则集下，每个接口只查找一次，找不到实现的结果也会被缓存
 	 * 
 	 * @return 接口对应的实现类
 	 * @throws FindBeanImplClassException
 	 */
 	protected static Class getImplClass(final Class beanClazz, final List<BeanMap> beanMapping)
 			throws FindBeanImplClassException {
-		final String beanClazzName = beanClazz.getName();
-		Class beanImplClazz = null;
-		List<String> exceptions = new ArrayList<String>();
+		MappingRules rules = getMappingRules(beanMapping);
+		Resolution resolution = rules.resolutions.get(beanClazz);
+		if (resolution == null) {
+			resolution = rules.resolve(beanClazz);
+			rules.resolutions.put(beanClazz, resolution);
+		}
+		if (resolution.implClazz == null) {
+			throw new FindBeanImplClassException(resolution.error);
+		} else {
+			return resolution.implClazz;
+		}
+	}
+
+	private static MappingRules getMappingRules(final List<BeanMap> beanMapping) {
+		StringBuilder key = new StringBuilder();
 		for (BeanMap beanMap : beanMapping) {
-			String intf = beanMap.intf();
-			String impl = beanMap.impl();
-			String beanImplClazzName = null;
-			try {
-				if (intf.equals(beanClazzName)) {
-					beanImplClazz = Class.forName(impl);
-				}
-				if (intf.contains("*") == false) {// 非regex形式的package无需检查
-					continue;
-				}
-				String regex = ClazzHelper.getPackageRegex(intf);
-				if (beanClazzName.matches(regex) == false) {// 不符regex描述的package的无需检查
-					continue;
-				}
-				beanImplClazzName = replace(intf, impl, beanClazzName);
+			key.append(beanMap.intf()).append('=').append(beanMap.impl()).append(';');
+		}
+		MappingRules rules = rulesCache.get(key.toString());
+		if (rules == null) {
+			rules = new MappingRules(beanMapping);
+			rulesCache.put(key.toString(), rules);
+		}
+		return rules;
+	}
 
-				if (!StringHelper.equals(beanImplClazzName, beanClazzName)) {
-					beanImplClazz = ImplementorFinder.class.getClassLoader().loadClass(beanImplClazzName);
-				}
-			} catch (ClassNotFoundException e) {
-				String message = String.format(
-						"\nCan't find implement class[%s] of interface[%s], use @BeanMap(intf=\"%s\",impl=\"%s\")",
-						beanImplClazzName, beanClazzName, intf, impl);
-				exceptions.add(message);
-			} catch (NoClassDefFoundError err) {
-				String message = String.format(
-						"\nCan't find implement class[%s] of interface[%s], use @BeanMap(intf=\"%s\",impl=\"%s\")",
-						beanImplClazzName, beanClazzName, intf, impl);
-				exceptions.add(message);
+	/**
+	 * 预编译的规则集，以及规则集下接口的查找结果
+	 */
+	private static class MappingRules {
+		final List<MappingRule>       rules       = new ArrayList<MappingRule>();
+
+		final Map<Class, Resolution> resolutions = new ConcurrentHashMap<Class, Resolution>();
+
+		MappingRules(List<BeanMap> beanMapping) {
+			for (BeanMap beanMap : beanMapping) {
+				rules.add(new MappingRule(beanMap.intf(), beanMap.impl()));
 			}
 		}
-		if (beanImplClazz == null) {
-			if (exceptions.size() == 0) {
-				throw new FindBeanImplClassException("can't find rule to find implement class for " + beanClazzName);
+
+		/**
+		 * 按顺序匹配所有规则，后面匹配成功的规则覆盖前面的结果
+		 */
+		Resolution resolve(final Class beanClazz) {
+			final String beanClazzName = beanClazz.getName();
+			Class beanImplClazz = null;
+			List<String> exceptions = new ArrayList<String>();
+			for (MappingRule rule : rules) {
+				String beanImplClazzName = null;
+				try {
+					if (rule.intf.equals(beanClazzName)) {
+						beanImplClazz = Class.forName(rule.impl);
+					}
+					if (rule.pattern == null) {// 非regex形式的package无需检查
+						continue;
+					}
+					if (rule.pattern.matcher(beanClazzName).matches() == false) {// 不符regex描述的package的无需检查
+						continue;
+					}
+					beanImplClazzName = replace(rule.intf, rule.impl, beanClazzName);
+
+					if (!StringHelper.equals(beanImplClazzName, beanClazzName)) {
+						beanImplClazz = ImplementorFinder.class.getClassLoader().loadClass(beanImplClazzName);
+					}
+				} catch (ClassNotFoundException e) {
+					exceptions.add(rule.notFoundMessage(beanImplClazzName, beanClazzName));
+				} catch (NoClassDefFoundError err) {
+					exceptions.add(rule.notFoundMessage(beanImplClazzName, beanClazzName));
+				}
+			}
+			if (beanImplClazz != null) {
+				return new Resolution(beanImplClazz, null);
+			} else if (exceptions.size() == 0) {
+				return new Resolution(null, "can't find rule to find implement class for " + beanClazzName);
 			} else {
-				throw new FindBeanImplClassException(ArrayHelper.toString(exceptions.toArray(new String[0])));
+				return new Resolution(null, ArrayHelper.toString(exceptions.toArray(new String[0])));
 			}
-		} else {
-			return beanImplClazz;
+		}
+	}
+
+	/**
+	 * 一条@BeanMap规则，带*的接口表达式预先编译为正则表达式
+	 */
+	private static class MappingRule {
+		final String  intf;
+
+		final String  impl;
+
+		final Pattern pattern;
+
+		MappingRule(String intf, String impl) {
+			this.intf = intf;
+			this.impl = impl;
+			this.pattern = intf.contains("*") ? Pattern.compile(ClazzHelper.getPackageRegex(intf)) : null;
+		}
+
+		String notFoundMessage(String beanImplClazzName, String beanClazzName) {
+			return String.format(
+					"\nCan't find implement class[%s] of interface[%s], use @BeanMap(intf=\"%s\",impl=\"%s\")",
+					beanImplClazzName, beanClazzName, intf, impl);
+		}
+	}
+
+	/**
+	 * 接口实现的查找结果，implClazz为null时error是找不到实现的原因
+	 */
+	private static class Resolution {
+		final Class  implClazz;
+
+		final String error;
+
+		Resolution(Class implClazz, String error) {
+			this.implClazz = implClazz;
+			this.error = error;
 		}
 	}
 
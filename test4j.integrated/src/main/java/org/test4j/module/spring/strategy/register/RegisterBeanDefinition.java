@@ -2,7 +2,9 @@ package org.test4j.module.spring.strategy.register;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
@@ -32,6 +34,11 @@ public class RegisterBeanDefinition {
 
 	private boolean allowAutoInject;
 
+	/**
+	 * 按注册顺序记录的动态bean定义(副本)
+	 */
+	private final Map<String, AbstractBeanDefinition> registered = new LinkedHashMap<String, AbstractBeanDefinition>();
+
 	public RegisterBeanDefinition(final DefaultListableBeanFactory factory, final AutoBeanInject autoBeanInject) {
 		this.factory = factory;
 		this.autoBeanInject = autoBeanInject;
@@ -92,6 +99,16 @@ public class RegisterBeanDefinition {
 
 	public void register(String beanName, AbstractBeanDefinition beanDefinition) {
 		factory.registerBeanDefinition(beanName, beanDefinition);
+		registered.put(beanName, beanDefinition.cloneBeanDefinition());
+	}
+
+	/**
+	 * 返回已经注册的动态bean定义，bean名称 -> bean定义
+	 * 
+	 * @return
+	 */
+	public Map<String, AbstractBeanDefinition> getRegisteredDefinitions() {
+		return registered;
 	}
 
 	/**
@@ -1,7 +1,12 @@
 package org.test4j.module.spring.strategy.register;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
@@ -25,7 +30,13 @@ public class RegisterDynamicBean {
 	Queue<Class> beanFields = new LinkedList<Class>();
 
 	/**
-	 * 动态注册@SpringBeanByName,@SpringBeanByType和@SpringBeanFor等注解定义的bean
+	 * 被测类和@AutoBeanInject设置 -> 动态注册的bean定义
+	 */
+	private static final Map<String, RegisteredBeans> registeredCache = new ConcurrentHashMap<String, RegisteredBeans>();
+
+	/**
+	 * 动态注册@SpringBeanByName,@SpringBeanByType和@SpringBeanFor等注解定义的bean<br>
+	 * 相同的被测类和@AutoBeanInject设置只分析一次依赖关系，之后只注册factory中还没有的bean定义
 	 * 
 	 * @param beanFactory
 	 * @param testedClazz
@@ -33,15 +44,24 @@ public class RegisterDynamicBean {
 	public static void dynamicRegisterBeanDefinition(final DefaultListableBeanFactory beanFactory,
 			final Class testedClazz) {
 		RegisterDynamicBean dynamicBean = new RegisterDynamicBean(beanFactory, testedClazz);
+		String key = testedClazz.getName() + "#" + dynamicBean.autoBeanInject;
+		RegisteredBeans registered = registeredCache.get(key);
+		if (registered != null && registered.registerDelta(beanFactory)) {
+			return;
+		}
+		Set<String> baseNames = getBeanNames(beanFactory);
 		try {
 			dynamicBean.registerSpringBean();
 		} catch (FindBeanImplClassException e) {
 			throw new RuntimeException(e);
 		}
+		registeredCache.put(key, new RegisteredBeans(baseNames, dynamicBean.definitionRegister
+				.getRegisteredDefinitions()));
 	}
 
 	private final DefaultListableBeanFactory beanFactory;
 	private final Class testedClazz;
+	private final AutoBeanInject autoBeanInject;
 	private final RegisterBeanDefinition definitionRegister;
 
 	RegisterDynamicBean(final DefaultListableBeanFactory beanFactory, final Class testedClazz) {
@@ -50,7 +70,7 @@ public class RegisterDynamicBean {
 		}
 		this.beanFactory = beanFactory;
 		this.testedClazz = testedClazz;
-		AutoBeanInject autoBeanInject = AnnotationHelper.getClassLevelAnnotation(AutoBeanInject.class, testedClazz);
+		this.autoBeanInject = AnnotationHelper.getClassLevelAnnotation(AutoBeanInject.class, testedClazz);
 		this.definitionRegister = new RegisterBeanDefinition(this.beanFactory, autoBeanInject);
 	}
 
@@ -115,4 +135,51 @@ public class RegisterDynamicBean {
 
 		return beanDefinition;
 	}
+
+	private static Set<String> getBeanNames(DefaultListableBeanFactory beanFactory) {
+		return new HashSet<String>(Arrays.asList(beanFactory.getBeanDefinitionNames()));
+	}
+
+	/**
+	 * 一次依赖分析的结果: 分析前factory中已有的bean，以及动态注册的bean定义
+	 */
+	private static class RegisteredBeans {
+		private final Set<String>                         baseNames;
+
+		/**
+		 * 覆盖了factory中原有定义的动态bean
+		 */
+		private final Set<String>                         overrides;
+
+		private final Map<String, AbstractBeanDefinition> definitions;
+
+		RegisteredBeans(Set<String> baseNames, Map<String, AbstractBeanDefinition> definitions) {
+			this.overrides = new HashSet<String>(baseNames);
+			this.overrides.retainAll(definitions.keySet());
+			this.baseNames = baseNames;
+			this.baseNames.removeAll(definitions.keySet());
+			this.definitions = definitions;
+		}
+
+		/**
+		 * factory中除动态bean之外的bean定义和分析时一致，则只注册factory中还没有的bean定义
+		 * 
+		 * @param beanFactory
+		 * @return false: factory中的bean定义已经变化，需要重新分析
+		 */
+		boolean registerDelta(DefaultListableBeanFactory beanFactory) {
+			Set<String> names = getBeanNames(beanFactory);
+			names.removeAll(definitions.keySet());
+			if (names.equals(baseNames) == false) {
+				return false;
+			}
+			for (Map.Entry<String, AbstractBeanDefinition> entry : definitions.entrySet()) {
+				String beanName = entry.getKey();
+				if (overrides.contains(beanName) || beanFactory.containsBeanDefinition(beanName) == false) {
+					beanFactory.registerBeanDefinition(beanName, entry.getValue().cloneBeanDefinition());
+				}
+			}
+			return true;
+		}
+	}
 }
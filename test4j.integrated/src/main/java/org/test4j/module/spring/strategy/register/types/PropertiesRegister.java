@@ -17,6 +17,13 @@ import org.test4j.tools.commons.ClazzHelper;
  */
 @SuppressWarnings("rawtypes")
 public abstract class PropertiesRegister {
+	/**
+	 * 注解是否可用只判断一次，不用在依赖队列的每个类上重复检查
+	 */
+	private static final boolean isResourceAvailable  = ClazzHelper.isClassAvailable(ClazzConst.Javax_Resource_Annotation);
+
+	private static final boolean isAutowiredAvailable = ClazzHelper.isClassAvailable(ClazzConst.Spring_Autowired_Annotation);
+
 	protected final Class ownerClazz;
 	protected final RegisterBeanDefinition definitionRegister;
 
@@ -39,12 +46,10 @@ public abstract class PropertiesRegister {
 			final Queue<Class> registedBeanClazz) {
 		new MethodPropertiesRegister(ownerClazz, definitionRegister).registerProperties(registedBeanClazz);
 
-		boolean isResourceAvailable = ClazzHelper.isClassAvailable(ClazzConst.Javax_Resource_Annotation);
 		if (isResourceAvailable) {
 			new ResourcePropertiesRegister(ownerClazz, definitionRegister).registerProperties(registedBeanClazz);
 		}
 
-		boolean isAutowiredAvailable = ClazzHelper.isClassAvailable(ClazzConst.Spring_Autowired_Annotation);
 		if (isAutowiredAvailable) {
 			new AutowiredPropertiesRegister(ownerClazz, definitionRegister).registerProperties(registedBeanClazz);
 		}
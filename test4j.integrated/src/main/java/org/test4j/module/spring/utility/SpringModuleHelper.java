@@ -110,6 +110,18 @@ public class SpringModuleHelper {
         return context;
     }
 
+    /**
+     * 返回测试类@SpringContext声明的spring配置文件，没有声明时返回null<br>
+     * 只读取注解，不创建spring容器
+     * 
+     * @param testClazz
+     * @return
+     */
+    public static String[] getContextLocations(Class testClazz) {
+        SpringContext annotation = AnnotationHelper.getClassLevelAnnotation(SpringContext.class, testClazz);
+        return annotation == null ? null : annotation.value();
+    }
+
     /**
      * 创建新的spring容器
      * 
@@ -1,5 +1,8 @@
 package org.test4j.module.tracer;
 
+import java.util.List;
+
+import org.test4j.json.encoder.EncodeLimit;
 import org.test4j.json.encoder.object.SpecEncoder;
 import org.test4j.module.core.utility.IPropConst;
 import org.test4j.tools.commons.ClazzHelper;
@@ -30,6 +33,39 @@ public class TracerHelper {
 	 * 如果是记录在数据库中，数据库连接密码
 	 */
 	public final static String TRACER_DB_PASSWORD = "tracer.db.password";
+	/**
+	 * 只跟踪这些package下的spring bean，逗号分隔，为空时跟踪所有
+	 */
+	public final static String TRACER_INCLUDE_PACKAGES = "tracer.include.packages";
+	/**
+	 * 不跟踪这些package下的spring bean，逗号分隔<br>
+	 * java., javax., org.springframework., org.hibernate., com.ibatis.总是被排除
+	 */
+	public final static String TRACER_EXCLUDE_PACKAGES = "tracer.exclude.packages";
+	/**
+	 * 只跟踪声明了这些注解(类全称)的spring bean，逗号分隔，为空时不限制
+	 */
+	public final static String TRACER_INCLUDE_ANNOTATIONS = "tracer.include.annotations";
+	/**
+	 * 不跟踪声明了这些注解(类全称)的spring bean，逗号分隔
+	 */
+	public final static String TRACER_EXCLUDE_ANNOTATIONS = "tracer.exclude.annotations";
+	/**
+	 * 记录参数和返回值时，对象的最大嵌套层数
+	 */
+	public final static String TRACER_CAPTURE_MAX_DEPTH = "tracer.capture.max.depth";
+	/**
+	 * 记录参数和返回值时，集合、数组、Map最多记录的元素个数
+	 */
+	public final static String TRACER_CAPTURE_MAX_ITEMS = "tracer.capture.max.items";
+	/**
+	 * 记录参数和返回值时，字符串最多记录的长度
+	 */
+	public final static String TRACER_CAPTURE_MAX_STRING = "tracer.capture.max.string";
+	/**
+	 * 每次调用(全部参数或返回值)最多记录的字符数
+	 */
+	public final static String TRACER_CAPTURE_MAX_CHARS = "tracer.capture.max.chars";
 
 	/**
 	 * 是否打开记录测试序列的功能
@@ -40,6 +76,35 @@ public class TracerHelper {
 		return IPropConst.TRACER_ENABLE;
 	}
 
+	public static List<String> tracerIncludePackages() {
+		return ConfigHelper.getStringList(TRACER_INCLUDE_PACKAGES);
+	}
+
+	public static List<String> tracerExcludePackages() {
+		return ConfigHelper.getStringList(TRACER_EXCLUDE_PACKAGES);
+	}
+
+	public static List<String> tracerIncludeAnnotations() {
+		return ConfigHelper.getStringList(TRACER_INCLUDE_ANNOTATIONS);
+	}
+
+	public static List<String> tracerExcludeAnnotations() {
+		return ConfigHelper.getStringList(TRACER_EXCLUDE_ANNOTATIONS);
+	}
+
+	/**
+	 * 创建一次调用的参数或返回值的记录限制，超出限制的内容不会被序列化
+	 * 
+	 * @return
+	 */
+	public static EncodeLimit newCaptureLimit() {
+		int depth = ConfigHelper.getInteger(TRACER_CAPTURE_MAX_DEPTH, 5);
+		int items = ConfigHelper.getInteger(TRACER_CAPTURE_MAX_ITEMS, 100);
+		int length = ConfigHelper.getInteger(TRACER_CAPTURE_MAX_STRING, 1024);
+		int chars = ConfigHelper.getInteger(TRACER_CAPTURE_MAX_CHARS, 64 * 1024);
+		return new EncodeLimit(depth, items, length, chars);
+	}
+
 	/**
 	 * 是否将跟踪信息记录在文件中
 	 * 
@@ -7,6 +7,7 @@ import java.io.IOException;
 import java.io.Writer;
 
 import org.test4j.json.JSON;
+import org.test4j.json.encoder.EncodeLimit;
 import org.test4j.json.helper.JSONFeature;
 import org.test4j.module.core.TestContext;
 import org.test4j.tools.commons.DateHelper;
@@ -60,9 +61,16 @@ public abstract class TracerLogger {
 	 */
 	public abstract void close();
 
-	String toJSON(Object o) {
+	/**
+	 * 按limit的限制序列化对象，超出限制的部分被截断
+	 * 
+	 * @param o
+	 * @param limit
+	 * @return
+	 */
+	String toJSON(Object o, EncodeLimit limit) {
 		try {
-			String json = JSON.toJSON(o, JSONFeature.UnMarkClassFlag, JSONFeature.SkipNullValue,
+			String json = JSON.toJSON(o, limit, JSONFeature.UnMarkClassFlag, JSONFeature.SkipNullValue,
 					JSONFeature.SkipNullValue);
 			return json;
 		} catch (Throwable e) {
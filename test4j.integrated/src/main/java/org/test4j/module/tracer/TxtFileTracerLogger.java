@@ -3,6 +3,7 @@ package org.test4j.module.tracer;
 import java.io.IOException;
 import java.io.Writer;
 
+import org.test4j.json.encoder.EncodeLimit;
 import org.test4j.tools.commons.StringHelper;
 
 @SuppressWarnings("rawtypes")
@@ -13,11 +14,13 @@ public class TxtFileTracerLogger extends TracerLogger {
 	public void writerMethodInputInfo(Class claz, String method, Object[] values) {
 		buff.append("#START_INPUT#" + claz.getName() + "#" + method + "#" + values.length);
 		buff.append("\n");
+		EncodeLimit limit = TracerHelper.newCaptureLimit();
 		for (int index = 1; index <= values.length; index++) {
 			buff.append("#START_PARAMETER#" + index);
 			buff.append("\n");
-			buff.append(toJSON(values[index - 1]));
+			buff.append(toJSON(values[index - 1], limit));
 			buff.append("\n");
+			this.writeTruncated(limit);
 			buff.append("#END_PARAMETER");
 			buff.append("\n");
 		}
@@ -39,12 +42,24 @@ public class TxtFileTracerLogger extends TracerLogger {
 	public void writerMethodReturnValue(Class claz, String method, Object result) {
 		buff.append("#START_RETURN#" + claz.getName() + "#" + method);
 		buff.append("\n");
-		buff.append(toJSON(result));
+		EncodeLimit limit = TracerHelper.newCaptureLimit();
+		buff.append(toJSON(result, limit));
 		buff.append("\n");
+		this.writeTruncated(limit);
 		buff.append("#END_RETURN");
 		buff.append("\n");
 	}
 
+	/**
+	 * 参数或返回值被截断时，记录截断标记
+	 */
+	private void writeTruncated(EncodeLimit limit) {
+		if (limit.clearTruncated()) {
+			buff.append("#TRUNCATED");
+			buff.append("\n");
+		}
+	}
+
 	@Override
 	public void writerSqlStatement(String sql, Object result) {
 		buff.append("#START_SQL");
@@ -3,6 +3,7 @@ package org.test4j.module.tracer;
 import java.io.IOException;
 import java.io.Writer;
 
+import org.test4j.json.encoder.EncodeLimit;
 import org.test4j.tools.commons.StringHelper;
 
 @SuppressWarnings("rawtypes")
@@ -17,11 +18,13 @@ public class XmlFileTracerLogger extends TracerLogger {
 		buff.append(String.format("<call class=\"%s\" method=\"%s\">\n", claz.getName(), method));
 		this.writeTab(1);
 		buff.append(String.format("<paras count=\"%d\">\n", values.length));
+		EncodeLimit limit = TracerHelper.newCaptureLimit();
 		for (int index = 1; index <= values.length; index++) {
+			String json = toJSON(values[index - 1], limit);
 			this.writeTab(0);
-			buff.append("<para>");
+			buff.append(limit.clearTruncated() ? "<para truncated=\"true\">" : "<para>");
 			buff.append("<![CDATA[");
-			buff.append(toJSON(values[index - 1]));
+			buff.append(json);
 			buff.append("]]>");
 			buff.append("</para>\n");
 		}
@@ -45,9 +48,12 @@ public class XmlFileTracerLogger extends TracerLogger {
 	}
 
 	public void writerMethodReturnValue(Class claz, String method, Object result) {
+		EncodeLimit limit = TracerHelper.newCaptureLimit();
+		String json = toJSON(result, limit);
 		this.writeTab(-1);
-		buff.append("<return><![CDATA[");
-		buff.append(toJSON(result));
+		buff.append(limit.clearTruncated() ? "<return truncated=\"true\">" : "<return>");
+		buff.append("<![CDATA[");
+		buff.append(json);
 		buff.append("]]></return>\n");
 		// end call
 		this.writeTab(0);
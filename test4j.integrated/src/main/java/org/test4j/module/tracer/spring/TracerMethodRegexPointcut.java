@@ -1,17 +1,43 @@
 package org.test4j.module.tracer.spring;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.aop.ClassFilter;
 import org.springframework.aop.support.JdkRegexpMethodPointcut;
+import org.test4j.module.tracer.TracerHelper;
 
+/**
+ * spring bean跟踪的切入点<br>
+ * 按{@link TracerHelper#TRACER_INCLUDE_PACKAGES}等配置过滤需要跟踪的bean class，每个class只判断一次
+ */
 @SuppressWarnings("rawtypes")
 public class TracerMethodRegexPointcut extends JdkRegexpMethodPointcut {
 
-	private static final long serialVersionUID = 8342662318985403824L;
+	private static final long                   serialVersionUID = 8342662318985403824L;
+
+	private final List<String>                  includePackages;
+
+	private final List<String>                  excludePackages;
+
+	private final List<String>                  includeAnnotations;
+
+	private final List<String>                  excludeAnnotations;
+
+	/**
+	 * bean class -> 是否需要跟踪
+	 */
+	private transient Map<Class, Boolean>       matched          = new ConcurrentHashMap<Class, Boolean>();
 
 	public TracerMethodRegexPointcut() {
 		super.setPatterns(patterns);
+		this.includePackages = TracerHelper.tracerIncludePackages();
+		this.excludePackages = TracerHelper.tracerExcludePackages();
+		this.includeAnnotations = TracerHelper.tracerIncludeAnnotations();
+		this.excludeAnnotations = TracerHelper.tracerExcludeAnnotations();
 	}
 
 	@Override
@@ -19,21 +45,41 @@ public class TracerMethodRegexPointcut extends JdkRegexpMethodPointcut {
 		final ClassFilter filter = super.getClassFilter();
 		return new ClassFilter() {
 			public boolean matches(Class clazz) {
-				int modifier = clazz.getModifiers();
-				if (Modifier.isFinal(modifier)) {
-					return false;
+				if (matched == null) {
+					matched = new ConcurrentHashMap<Class, Boolean>();
 				}
-				String clazzName = clazz.getName();
-				if (beenFilted(clazzName)) {
-					return false;
-				} else {
-					return filter.matches(clazz);
+				Boolean isMatched = matched.get(clazz);
+				if (isMatched == null) {
+					isMatched = isTracedClazz(clazz) && filter.matches(clazz);
+					matched.put(clazz, isMatched);
 				}
+				return isMatched;
 			}
 		};
 	}
 
-	private final static String[] patterns = new String[] { ".*" };
+	private boolean isTracedClazz(Class clazz) {
+		if (TracerHelper.doesTracerEnabled() == false) {
+			return false;
+		}
+		int modifier = clazz.getModifiers();
+		if (Modifier.isFinal(modifier)) {
+			return false;
+		}
+		String clazzName = clazz.getName();
+		if (beenFilted(clazzName) || startsWith(clazzName, excludePackages)) {
+			return false;
+		}
+		if (hasValue(includePackages) && startsWith(clazzName, includePackages) == false) {
+			return false;
+		}
+		if (hasAnnotation(clazz, excludeAnnotations)) {
+			return false;
+		}
+		return hasValue(includeAnnotations) == false || hasAnnotation(clazz, includeAnnotations);
+	}
+
+	private final static String[] patterns          = new String[] { ".*" };
 
 	private final static String[] FilterClazzPrefix = new String[] { "java.",// <br>
 			"javax.", "org.springframework.", "org.hibernate.", "com.ibatis." };
@@ -52,4 +98,57 @@ public class TracerMethodRegexPointcut extends JdkRegexpMethodPointcut {
 		}
 		return false;
 	}
+
+	/**
+	 * 空的前缀(配置如"com.a, "中逗号后的部分)被跳过，否则会匹配所有的class
+	 */
+	private static boolean startsWith(String clazzName, List<String> prefixes) {
+		for (String prefix : prefixes) {
+			if (prefix.length() > 0 && clazzName.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 是否配置了非空的值，只有空值的配置(如" , ")等同于没有配置
+	 */
+	private static boolean hasValue(List<String> values) {
+		for (String value : values) {
+			if (value.length() > 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * class或其父类、接口上是否有指定名称的注解
+	 */
+	private static boolean hasAnnotation(Class clazz, List<String> annotations) {
+		if (hasValue(annotations) == false) {
+			return false;
+		}
+		for (Class type = clazz; type != null && type != Object.class; type = type.getSuperclass()) {
+			if (hasDeclaredAnnotation(type, annotations)) {
+				return true;
+			}
+			for (Class _interface : type.getInterfaces()) {
+				if (hasDeclaredAnnotation(_interface, annotations)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static boolean hasDeclaredAnnotation(Class type, List<String> annotations) {
+		for (Annotation annotation : type.getDeclaredAnnotations()) {
+			if (annotations.contains(annotation.annotationType().getName())) {
+				return true;
+			}
+		}
+		return false;
+	}
 }
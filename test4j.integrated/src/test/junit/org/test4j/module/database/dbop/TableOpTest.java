@@ -323,4 +323,164 @@ public class TableOpTest extends Test4J {
         db.table(ITable.t_tdd_user).count().eq(3);
         db.table(ITable.t_tdd_user).queryWhere("post_code=310000").propertyEq("id", new int[] { 101, 102 });
     }
+
+    @Test
+    public void testContainRows() {
+        db.table(ITable.t_tdd_user).clean().insert(3, new TddUserTable() {
+            {
+                this.put(IColumn.f_id, new int[] { 100, 101, 102 });
+                this.put(IColumn.f_first_name, "name1", "name2", "name3");
+            }
+        });
+        db.table(ITable.t_tdd_user).containRows(IColumn.f_id, new TddUserTable() {
+            {
+                this.put(IColumn.f_id, 101);
+                this.put(IColumn.f_first_name, "name2");
+            }
+        });
+    }
+
+    @Test
+    public void testContainRows_Mismatch() {
+        db.table(ITable.t_tdd_user).clean().insert(3, new TddUserTable() {
+            {
+                this.put(IColumn.f_id, new int[] { 100, 101, 102 });
+                this.put(IColumn.f_first_name, "name1", "name2", "name3");
+            }
+        });
+        try {
+            db.table(ITable.t_tdd_user).containRows(IColumn.f_id, new TddUserTable() {
+                {
+                    this.put(IColumn.f_id, 101);
+                    this.put(IColumn.f_first_name, "wrong name");
+                }
+            });
+        } catch (AssertionError e) {
+            want.string(e.getMessage()).contains("matched 0 times").contains("actual row").contains("name2");
+            return;
+        }
+        want.fail();
+    }
+
+    @Test
+    public void testSameRows() {
+        db.table(ITable.t_tdd_user).clean().insert(2, new TddUserTable() {
+            {
+                this.put(IColumn.f_id, new int[] { 100, 101 });
+                this.put(IColumn.f_first_name, "name1", "name2");
+            }
+        });
+        db.table(ITable.t_tdd_user).sameRows(IColumn.f_id, new TddUserTable() {
+            {
+                this.put(IColumn.f_id, 101);
+                this.put(IColumn.f_first_name, "name2");
+            }
+        }, new TddUserTable() {
+            {
+                this.put(IColumn.f_id, 100);
+                this.put(IColumn.f_first_name, "name1");
+            }
+        });
+    }
+
+    @Test
+    public void testSameRows_MoreRows() {
+        db.table(ITable.t_tdd_user).clean().insert(3, new TddUserTable() {
+            {
+                this.put(IColumn.f_id, new int[] { 100, 101, 102 });
+                this.put(IColumn.f_first_name, "name1", "name2", "name3");
+            }
+        });
+        try {
+            db.table(ITable.t_tdd_user).sameRows(IColumn.f_id, new TddUserTable() {
+                {
+                    this.put(IColumn.f_id, 100);
+                    this.put(IColumn.f_first_name, "name1");
+                }
+            }, new TddUserTable() {
+                {
+                    this.put(IColumn.f_id, 101);
+                    this.put(IColumn.f_first_name, "name2");
+                }
+            });
+        } catch (AssertionError e) {
+            want.string(e.getMessage()).contains("count(*): expected 2, actual 3").contains("unexpected row")
+                    .contains("name3");
+            return;
+        }
+        want.fail();
+    }
+
+    @Test
+    public void testContainRows_NoKey() {
+        db.table(ITable.t_tdd_user).clean().insert(3, new TddUserTable() {
+            {
+                this.put(IColumn.f_id, new int[] { 100, 101, 102 });
+                this.put(IColumn.f_first_name, "name1", "name2", "name3");
+            }
+        });
+        db.table(ITable.t_tdd_user).containRows(null, new TddUserTable() {
+            {
+                this.put(IColumn.f_id, 102);
+                this.put(IColumn.f_first_name, "name3");
+            }
+        });
+    }
+
+    @Test
+    public void testSameRows_KeyMismatch() {
+        db.table(ITable.t_tdd_user).clean().insert(2, new TddUserTable() {
+            {
+                this.put(IColumn.f_id, new int[] { 100, 101 });
+                this.put(IColumn.f_first_name, "name1", "name2");
+            }
+        });
+        try {
+            db.table(ITable.t_tdd_user).sameRows(IColumn.f_id, new TddUserTable() {
+                {
+                    this.put(IColumn.f_id, 100);
+                    this.put(IColumn.f_first_name, "name1");
+                }
+            }, new TddUserTable() {
+                {
+                    this.put(IColumn.f_id, 103);
+                    this.put(IColumn.f_first_name, "name2");
+                }
+            });
+        } catch (AssertionError e) {
+            want.string(e.getMessage()).contains("matched 0 times").contains("no row with the same key")
+                    .notContain("name1");
+            return;
+        }
+        want.fail();
+    }
+
+    /**
+     * 指定主键和不指定主键时都由数据库比较字段，结果一致(例如尾部空格的比较)
+     */
+    @Test
+    public void testContainRows_KeyedSameAsUnkeyed() {
+        db.table(ITable.t_tdd_user).clean().insert(2, new TddUserTable() {
+            {
+                this.put(IColumn.f_id, new int[] { 100, 101 });
+                this.put(IColumn.f_first_name, "name1", "name2");
+            }
+        });
+        TddUserTable expected = new TddUserTable() {
+            {
+                this.put(IColumn.f_id, 101);
+                this.put(IColumn.f_first_name, "name2 ");
+            }
+        };
+        want.bool(isContained(IColumn.f_id, expected)).is(isContained(null, expected));
+    }
+
+    private static boolean isContained(String keys, TddUserTable expected) {
+        try {
+            db.table(ITable.t_tdd_user).containRows(keys, expected);
+            return true;
+        } catch (AssertionError e) {
+            return false;
+        }
+    }
 }
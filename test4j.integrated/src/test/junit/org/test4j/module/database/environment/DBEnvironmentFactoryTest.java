@@ -0,0 +1,35 @@
+package org.test4j.module.database.environment;
+
+import org.junit.Test;
+import org.test4j.junit.Test4J;
+
+public class DBEnvironmentFactoryTest extends Test4J {
+
+    @Test
+    public void testGetDBEnvironment_Customized() {
+        DBEnvironment env1 = DBEnvironmentFactory.getDBEnvironment("mysql", "com.mysql.jdbc.Driver",
+                "jdbc:mysql://localhost/test4j_db?characterEncoding=UTF8", "root", "password");
+        DBEnvironment env2 = DBEnvironmentFactory.getDBEnvironment("mysql", "com.mysql.jdbc.Driver",
+                "jdbc:mysql://localhost/test4j_db?characterEncoding=UTF8", "root", "password");
+        want.object(env2).same(env1);
+
+        DBEnvironment another = DBEnvironmentFactory.getDBEnvironment("mysql", "com.mysql.jdbc.Driver",
+                "jdbc:mysql://localhost/test4j_another?characterEncoding=UTF8", "root", "password");
+        want.bool(another == env1).is(false);
+    }
+
+    @Test
+    public void testGetDBEnvironment_DefaultFromConfig() {
+        DBEnvironment env1 = DBEnvironmentFactory.getDBEnvironment("mysql", null, null, null, null);
+        DBEnvironment env2 = DBEnvironmentFactory.getDBEnvironment("mysql", "", "", "", "");
+        want.object(env2).same(env1);
+    }
+
+    @Test
+    public void testCloseAllDBEnvironment() {
+        DBEnvironment env = DBEnvironmentFactory.getDBEnvironment("mysql", null, null, null, null);
+        DBEnvironmentFactory.closeAllDBEnvironment();
+        want.object(DBEnvironmentFactory.getDBEnvironment("mysql", null, null, null, null)).same(env);
+        want.object(env.getDataSource()).notNull();
+    }
+}
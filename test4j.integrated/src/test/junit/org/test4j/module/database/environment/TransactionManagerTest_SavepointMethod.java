@@ -0,0 +1,45 @@
+package org.test4j.module.database.environment;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.test4j.database.table.ITable;
+import org.test4j.database.table.TddUserTable;
+import org.test4j.junit.Test4J;
+import org.test4j.module.database.annotations.Transactional;
+import org.test4j.module.database.annotations.Transactional.TransactionMode;
+
+/**
+ * 测试类不是SAVEPOINT模式，只有方法上声明了SAVEPOINT
+ */
+@SuppressWarnings("serial")
+@Transactional(TransactionMode.DISABLED)
+public class TransactionManagerTest_SavepointMethod extends Test4J {
+
+    @BeforeClass
+    public static void cleanTable() {
+        db.table(ITable.t_tdd_user).clean().insert(new TddUserTable() {
+            {
+                this.put(IColumn.f_id, 1);
+                this.put(IColumn.f_first_name, "jobs1");
+            }
+        }).commit();
+    }
+
+    @Test
+    @Transactional(TransactionMode.SAVEPOINT)
+    public void testSavepoint() {
+        TransactionManagerTest_SavepointMode.insertUser(5);
+        db.table(ITable.t_tdd_user).count().isEqualTo(2);
+    }
+
+    /**
+     * 方法开启的测试类级别事务也要在测试类结束时回滚，不能留给后面的测试类
+     */
+    @AfterClass
+    public static void checkClassTransactionClosed() {
+        want.bool(TransactionSynchronizationManager.isActualTransactionActive()).is(false);
+        db.table(ITable.t_tdd_user).count().isEqualTo(1);
+    }
+}
@@ -0,0 +1,68 @@
+package org.test4j.module.database.environment;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.test4j.database.table.ITable;
+import org.test4j.database.table.TddUserTable;
+import org.test4j.junit.Test4J;
+import org.test4j.module.database.annotations.Transactional;
+import org.test4j.module.database.annotations.Transactional.TransactionMode;
+
+@SuppressWarnings("serial")
+@Transactional(TransactionMode.SAVEPOINT)
+public class TransactionManagerTest_SavepointMode extends Test4J {
+
+    @BeforeClass
+    public static void cleanTable() {
+        db.table(ITable.t_tdd_user).clean().insert(new TddUserTable() {
+            {
+                this.put(IColumn.f_id, 1);
+                this.put(IColumn.f_first_name, "jobs1");
+            }
+        }).commit();
+    }
+
+    /**
+     * 另一个测试方法插入的数据在方法结束时回滚到savepoint
+     */
+    @Test
+    public void testSavepoint_Insert2() {
+        db.table(ITable.t_tdd_user).queryWhere("id=3").sizeEq(0);
+        insertUser(2);
+        db.table(ITable.t_tdd_user).queryWhere("id=2").sizeEq(1);
+    }
+
+    @Test
+    public void testSavepoint_Insert3() {
+        db.table(ITable.t_tdd_user).queryWhere("id=2").sizeEq(0);
+        insertUser(3);
+        db.table(ITable.t_tdd_user).queryWhere("id=3").sizeEq(1);
+    }
+
+    /**
+     * 不在savepoint中的修改属于测试类级别的事务，在测试类结束时回滚
+     */
+    @Test
+    @Transactional(TransactionMode.DISABLED)
+    public void testClassTransaction() {
+        insertUser(9);
+        db.table(ITable.t_tdd_user).queryWhere("id=9").sizeEq(1);
+    }
+
+    @AfterClass
+    public static void checkClassTransactionRollback() {
+        want.bool(TransactionSynchronizationManager.isActualTransactionActive()).is(false);
+        db.table(ITable.t_tdd_user).count().isEqualTo(1);
+    }
+
+    static void insertUser(final int id) {
+        db.table(ITable.t_tdd_user).insert(new TddUserTable() {
+            {
+                this.put(IColumn.f_id, id);
+                this.put(IColumn.f_first_name, "savepoint" + id);
+            }
+        });
+    }
+}
@@ -3,6 +3,7 @@ package org.test4j.module.spring.strategy;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import mockit.Mock;
 
@@ -77,6 +78,80 @@ public class ImplementorFinderTest extends Test4J {
         }
     }
 
+    @Test
+    public void testGetImplClass_Cached() throws Exception {
+        Map rulesCache = clearRulesCache();
+        List<BeanMap> mapping = Arrays.asList(IUserService.class.getAnnotation(BeanMap.class));
+        Class impl1 = reflector.invokeStatic(ImplementorFinder.class, "getImplClass", IUserService.class, mapping);
+        want.object(impl1).isEqualTo(IUserServiceImpl.class);
+        want.map(rulesCache).sizeEq(1);
+        Map resolutions = reflector.getField(rulesCache.values().iterator().next(), "resolutions");
+        want.map(resolutions).sizeEq(1).hasKeys(IUserService.class);
+        Object resolution = resolutions.get(IUserService.class);
+
+        forbidResolve();
+        Class impl2 = reflector.invokeStatic(ImplementorFinder.class, "getImplClass", IUserService.class,
+                Arrays.asList(IUserService.class.getAnnotation(BeanMap.class)));
+        want.object(impl2).isEqualTo(IUserServiceImpl.class);
+        want.map(rulesCache).sizeEq(1);
+        want.object(resolutions.get(IUserService.class)).same(resolution);
+    }
+
+    @Test
+    // (description = "找不到实现的结果被缓存后，再次查找仍然抛出相同的异常")
+    public void testGetImplClass_NotFoundCached() {
+        Map rulesCache = clearRulesCache();
+        BeanMap beanMap = ICharacterDiff.class.getAnnotation(BeanMap.class);
+        String error1 = getImplClassError(ICharacterDiff.class, beanMap);
+        want.string(error1).contains("ImplementorFinderTest$ICharacterDiffImpl");
+        Map resolutions = reflector.getField(rulesCache.values().iterator().next(), "resolutions");
+        want.map(resolutions).sizeEq(1).hasKeys(ICharacterDiff.class);
+        Object resolution = resolutions.get(ICharacterDiff.class);
+        want.object(reflector.getField(resolution, "implClazz")).isNull();
+
+        forbidResolve();
+        String error2 = getImplClassError(ICharacterDiff.class, beanMap);
+        want.string(error2).isEqualTo(error1);
+        want.object(resolutions.get(ICharacterDiff.class)).same(resolution);
+    }
+
+    private Map clearRulesCache() {
+        Map rulesCache = reflector.getStaticField(ImplementorFinder.class, "rulesCache");
+        rulesCache.clear();
+        return rulesCache;
+    }
+
+    /**
+     * 命中缓存时不会再按规则重新查找实现类
+     */
+    private void forbidResolve() {
+        new MockUp<ImplementorFinder>() {
+            @Mock(invocations = 0)
+            public String replace(String interfaceKey, String implementKey, String interfaceClass) {
+                return null;
+            }
+        };
+    }
+
+    private String getImplClassError(Class beanClazz, BeanMap beanMap) {
+        try {
+            reflector.invokeStatic(ImplementorFinder.class, "getImplClass", beanClazz, Arrays.asList(beanMap));
+            want.fail();
+            return null;
+        } catch (Exception e) {
+            return e.getMessage();
+        }
+    }
+
+    @BeanMap(intf = "**.*", impl = "**.*Impl")
+    public static interface IUserService {
+
+    }
+
+    public static class IUserServiceImpl implements IUserService {
+
+    }
+
     @BeanMap(intf = "**.*", impl = "**.*Impl")
     public static interface ICharacterDiff {
 
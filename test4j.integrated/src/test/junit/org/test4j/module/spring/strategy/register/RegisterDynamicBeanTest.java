@@ -1,8 +1,10 @@
 package org.test4j.module.spring.strategy.register;
 
 import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.test4j.fortest.service.UserAnotherDao;
 import org.test4j.fortest.service.UserService;
+import org.test4j.hamcrest.matcher.property.reflection.EqMode;
 import org.test4j.junit.Test4J;
 import org.test4j.module.spring.annotations.AutoBeanInject;
 import org.test4j.module.spring.annotations.AutoBeanInject.BeanMap;
@@ -45,4 +47,25 @@ public class RegisterDynamicBeanTest extends Test4J {
         int springinit = (Integer) reflector.getField(userAnotherDao, "springinit");
         want.number(springinit).isEqualTo(100);
     }
+
+    /**
+     * 测试相同的被测类再次注册时，使用缓存的bean定义，只注册factory中没有的bean
+     */
+    @Test
+    public void testDynamicRegister_Cached() {
+        DefaultListableBeanFactory factory1 = new DefaultListableBeanFactory();
+        RegisterDynamicBean.dynamicRegisterBeanDefinition(factory1, RegisterDynamicBeanTest.class);
+        want.array(factory1.getBeanDefinitionNames()).hasItems("userService", "userAnotherDao", "userDao");
+
+        DefaultListableBeanFactory factory2 = new DefaultListableBeanFactory();
+        RegisterDynamicBean.dynamicRegisterBeanDefinition(factory2, RegisterDynamicBeanTest.class);
+        want.array(factory2.getBeanDefinitionNames()).reflectionEq(factory1.getBeanDefinitionNames(),
+                EqMode.IGNORE_ORDER);
+        want.object(factory2.getBeanDefinition("userDao")).notSame(factory1.getBeanDefinition("userDao"));
+
+        factory2.removeBeanDefinition("userDao");
+        RegisterDynamicBean.dynamicRegisterBeanDefinition(factory2, RegisterDynamicBeanTest.class);
+        want.array(factory2.getBeanDefinitionNames()).reflectionEq(factory1.getBeanDefinitionNames(),
+                EqMode.IGNORE_ORDER);
+    }
 }
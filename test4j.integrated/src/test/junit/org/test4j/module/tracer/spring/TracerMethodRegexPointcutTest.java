@@ -1,16 +1,46 @@
 package org.test4j.module.tracer.spring;
 
+import java.util.Map;
+import java.util.Properties;
+
+import mockit.Mock;
+
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
+import org.springframework.aop.ClassFilter;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
 import org.test4j.fortest.service.UserAnotherDao;
 import org.test4j.junit.Test4J;
+import org.test4j.module.tracer.Hello;
+import org.test4j.module.tracer.TracerHelper;
 import org.test4j.module.spring.annotations.SpringBeanByName;
 import org.test4j.module.spring.strategy.Test4JSpringContext;
+import org.test4j.tools.commons.ConfigHelper;
 
+@SuppressWarnings("rawtypes")
 public class TracerMethodRegexPointcutTest extends Test4J {
     @SpringBeanByName(claz = FinalUserDao.class)
     UserAnotherDao userAnotherDao;
 
+    private static final String[] FILTER_KEYS = new String[] { TracerHelper.TRACER_INCLUDE_PACKAGES,
+            TracerHelper.TRACER_EXCLUDE_PACKAGES, TracerHelper.TRACER_INCLUDE_ANNOTATIONS,
+            TracerHelper.TRACER_EXCLUDE_ANNOTATIONS };
+
+    private final Properties      filters     = new Properties();
+
+    @Before
+    public void saveFilters() {
+        for (String key : FILTER_KEYS) {
+            filters.setProperty(key, ConfigHelper.getString(key, ""));
+        }
+    }
+
+    @After
+    public void restoreFilters() {
+        ConfigHelper.getConfiguration().putAll(filters);
+    }
+
     /**
      * 测试@Tracer可以过滤 final的类的aop
      */
@@ -24,4 +54,106 @@ public class TracerMethodRegexPointcutTest extends Test4J {
         UserAnotherDao bean = (UserAnotherDao) context.getBean("userAnotherDao");
         want.object(bean).notNull();
     }
+
+    /**
+     * 每个class只判断一次，之后(包括同一个切入点的其它ClassFilter)直接使用缓存的结果
+     */
+    @Test
+    public void testGetClassFilter_Cached() {
+        new MockUp<TracerHelper>() {
+            @Mock(invocations = 3)
+            public boolean doesTracerEnabled() {
+                return true;
+            }
+        };
+        TracerMethodRegexPointcut pointcut = new TracerMethodRegexPointcut();
+        ClassFilter filter = pointcut.getClassFilter();
+        want.bool(filter.matches(String.class)).is(false);
+        want.bool(filter.matches(FinalUserDao.class)).is(false);
+        want.bool(filter.matches(Hello.class)).is(true);
+        want.bool(filter.matches(String.class)).is(false);
+        want.bool(filter.matches(Hello.class)).is(true);
+        want.bool(pointcut.getClassFilter().matches(FinalUserDao.class)).is(false);
+        want.bool(pointcut.getClassFilter().matches(Hello.class)).is(true);
+
+        Map<Class, Boolean> matched = reflector.getField(pointcut, "matched");
+        want.map(matched).sizeEq(3).hasEntry(Hello.class, true, String.class, false, FinalUserDao.class, false);
+    }
+
+    /**
+     * 只跟踪include package下的类，配置中的空项不会匹配所有的类
+     */
+    @Test
+    public void testGetClassFilter_IncludePackages() {
+        setFilter(TracerHelper.TRACER_INCLUDE_PACKAGES, "org.test4j.module.tracer.spring, ");
+        ClassFilter filter = new TracerMethodRegexPointcut().getClassFilter();
+        want.bool(filter.matches(PlainBean.class)).is(true);
+        want.bool(filter.matches(Hello.class)).is(false);
+    }
+
+    /**
+     * exclude package下的类不跟踪，配置中的空项不会排除所有的类
+     */
+    @Test
+    public void testGetClassFilter_ExcludePackages() {
+        setFilter(TracerHelper.TRACER_EXCLUDE_PACKAGES, "org.test4j.module.tracer.spring, ");
+        ClassFilter filter = new TracerMethodRegexPointcut().getClassFilter();
+        want.bool(filter.matches(PlainBean.class)).is(false);
+        want.bool(filter.matches(Hello.class)).is(true);
+    }
+
+    /**
+     * 配置了include annotation时只跟踪带有该注解的类
+     */
+    @Test
+    public void testGetClassFilter_IncludeAnnotations() {
+        setFilter(TracerHelper.TRACER_INCLUDE_ANNOTATIONS, "java.lang.Deprecated, ");
+        ClassFilter filter = new TracerMethodRegexPointcut().getClassFilter();
+        want.bool(filter.matches(DeprecatedBean.class)).is(true);
+        want.bool(filter.matches(PlainBean.class)).is(false);
+    }
+
+    /**
+     * 带有exclude annotation的类不跟踪
+     */
+    @Test
+    public void testGetClassFilter_ExcludeAnnotations() {
+        setFilter(TracerHelper.TRACER_EXCLUDE_ANNOTATIONS, "java.lang.Deprecated");
+        ClassFilter filter = new TracerMethodRegexPointcut().getClassFilter();
+        want.bool(filter.matches(DeprecatedBean.class)).is(false);
+        want.bool(filter.matches(PlainBean.class)).is(true);
+    }
+
+    /**
+     * 只有空项的配置等同于没有配置
+     */
+    @Test
+    public void testGetClassFilter_BlankFilters() {
+        for (String key : FILTER_KEYS) {
+            setFilter(key, " , ");
+        }
+        ClassFilter filter = new TracerMethodRegexPointcut().getClassFilter();
+        want.bool(filter.matches(PlainBean.class)).is(true);
+        want.bool(filter.matches(Hello.class)).is(true);
+    }
+
+    /**
+     * 打开跟踪功能，并设置过滤配置
+     */
+    private void setFilter(String key, String value) {
+        new MockUp<TracerHelper>() {
+            @Mock
+            public boolean doesTracerEnabled() {
+                return true;
+            }
+        };
+        ConfigHelper.getConfiguration().setProperty(key, value);
+    }
+
+    public static class PlainBean {
+    }
+
+    @Deprecated
+    public static class DeprecatedBean {
+    }
 }
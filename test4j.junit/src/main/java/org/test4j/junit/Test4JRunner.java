@@ -2,16 +2,24 @@ package org.test4j.junit;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Ignore;
+import org.junit.internal.runners.model.EachTestNotifier;
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
 import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.BlockJUnit4ClassRunner;
 import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.InitializationError;
 import org.junit.runners.model.Statement;
 import org.test4j.junit.annotations.DataFrom;
+import org.test4j.junit.parametermethod.FrameworkMethodWithDataFrom;
 import org.test4j.junit.parametermethod.FrameworkMethodWithParameters;
-import org.test4j.junit.parametermethod.ParameterDataFromHelper;
 import org.test4j.junit.statement.MethodAroundStatement;
 import org.test4j.junit.statement.TestAroundStatement;
 import org.test4j.module.core.CoreModule;
@@ -114,11 +122,98 @@ public class Test4JRunner extends BlockJUnit4ClassRunner {
         }
     }
 
+    /**
+     * @DataFrom测试方法的描述，运行时每读取一行数据就把该行的描述加为它的子节点
+     */
+    private final Map<FrameworkMethod, Description> dataFromDescriptions = new ConcurrentHashMap<FrameworkMethod, Description>();
+
+    /**
+     * 过滤条件，用于运行时按行数据的描述过滤@DataFrom方法的数据行
+     */
+    private Filter                                  rowFilter            = null;
+
+    /**
+     * {@inheritDoc}<br>
+     * 带@DataFrom的测试方法的描述只创建一次，保证运行时加入的数据行出现在测试树中
+     */
+    @Override
+    protected Description describeChild(FrameworkMethod method) {
+        if (!(method instanceof FrameworkMethodWithDataFrom)) {
+            return super.describeChild(method);
+        }
+        Description description = dataFromDescriptions.get(method);
+        if (description == null) {
+            description = super.describeChild(method);
+            dataFromDescriptions.put(method, description);
+        }
+        return description;
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * 数据行在运行时才生成，过滤掉整个方法的条件可能选中其中的某一行，<br>
+     * 所以@DataFrom方法先保留下来，运行时再按行数据的描述过滤
+     */
+    @Override
+    public void filter(final Filter filter) throws NoTestsRemainException {
+        this.rowFilter = this.rowFilter == null ? filter : this.rowFilter.intersect(filter);
+        super.filter(new Filter() {
+            @Override
+            public boolean shouldRun(Description description) {
+                return dataFromDescriptions.containsValue(description) || filter.shouldRun(description);
+            }
+
+            @Override
+            public String describe() {
+                return filter.describe();
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * 带@DataFrom的测试方法每读取一行数据就运行一次，不预先读取所有的数据；<br>
+     * 每行数据作为方法描述下的一个子测试单独报告；只选中部分数据行时，不报告读取数据的错误
+     */
+    @Override
+    protected void runChild(FrameworkMethod method, RunNotifier notifier) {
+        if (!(method instanceof FrameworkMethodWithDataFrom)) {
+            super.runChild(method, notifier);
+            return;
+        }
+        Description description = describeChild(method);
+        if (method.getAnnotation(Ignore.class) != null) {
+            notifier.fireTestIgnored(description);
+            return;
+        }
+        boolean allRows = rowFilter == null || rowFilter.shouldRun(description);
+        try {
+            Iterator<FrameworkMethodWithParameters> it = ((FrameworkMethodWithDataFrom) method).parameterizedMethods();
+            while (it.hasNext()) {
+                FrameworkMethodWithParameters row = it.next();
+                Description rowDescription = describeChild(row);
+                if (!allRows && !rowFilter.shouldRun(rowDescription)) {
+                    continue;
+                }
+                description.addChild(rowDescription);
+                super.runChild(row, notifier);
+            }
+        } catch (Throwable e) {
+            if (!allRows) {
+                return;
+            }
+            EachTestNotifier eachNotifier = new EachTestNotifier(notifier, description);
+            eachNotifier.fireTestStarted();
+            eachNotifier.addFailure(e);
+            eachNotifier.fireTestFinished();
+        }
+    }
+
     private List<FrameworkMethod> testMethods;
 
     /**
      * {@inheritDoc}<br>
-     * 构造有参和无参的测试方法列表
+     * 构造有参和无参的测试方法列表，@DataFrom的测试方法在运行时才按数据展开
      */
     @Override
     protected List<FrameworkMethod> computeTestMethods() {
@@ -133,9 +228,7 @@ public class Test4JRunner extends BlockJUnit4ClassRunner {
                 if (dataFrom == null) {
                     testMethods.add(frameworkMethod);
                 } else {
-                    List<FrameworkMethodWithParameters> parameterizedTestMethods = ParameterDataFromHelper
-                            .computeParameterizedTestMethods(testclazz, frameworkMethod.getMethod(), dataFrom);
-                    testMethods.addAll(parameterizedTestMethods);
+                    testMethods.add(new FrameworkMethodWithDataFrom(testclazz, testMethod, dataFrom));
                 }
             }
         }
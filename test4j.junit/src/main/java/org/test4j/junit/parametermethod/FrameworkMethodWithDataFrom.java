@@ -0,0 +1,33 @@
+package org.test4j.junit.parametermethod;
+
+import java.lang.reflect.Method;
+import java.util.Iterator;
+
+import org.junit.runners.model.FrameworkMethod;
+import org.test4j.junit.annotations.DataFrom;
+
+/**
+ * 带@DataFrom注解的测试方法<br>
+ * 测试数据在运行时才逐行读取，每行数据展开为一个{@link FrameworkMethodWithParameters}
+ */
+@SuppressWarnings("rawtypes")
+public class FrameworkMethodWithDataFrom extends FrameworkMethod {
+	private final Class    testClazz;
+
+	private final DataFrom dataFrom;
+
+	public FrameworkMethodWithDataFrom(Class testClazz, Method method, DataFrom dataFrom) {
+		super(method);
+		this.testClazz = testClazz;
+		this.dataFrom = dataFrom;
+	}
+
+	/**
+	 * 返回按数据逐行展开的有参测试方法
+	 *
+	 * @return
+	 */
+	public Iterator<FrameworkMethodWithParameters> parameterizedMethods() {
+		return ParameterDataFromHelper.iterateParameterizedTestMethods(testClazz, getMethod(), dataFrom);
+	}
+}
@@ -2,8 +2,11 @@ package org.test4j.junit.parametermethod;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.test4j.junit.annotations.DataFrom;
 import org.test4j.module.core.utility.MessageHelper;
@@ -14,6 +17,11 @@ import org.test4j.tools.exception.NoSuchMethodRuntimeException;
 
 @SuppressWarnings({ "rawtypes", "unchecked" })
 public class ParameterDataFromHelper {
+    /**
+     * 数据源类 -> 用于调用数据源方法的实例；类无法实例化时缓存实例化异常，之后直接按静态方法调用
+     */
+    private static final Map<Class, Object> providers = new ConcurrentHashMap<Class, Object>();
+
     /**
      * 构造一系列有参的测试方法
      * 
@@ -25,6 +33,26 @@ public class ParameterDataFromHelper {
     public static List<FrameworkMethodWithParameters> computeParameterizedTestMethods(Class testClazz,
                                                                                       Method testMethod,
                                                                                       DataFrom dataFrom) {
+        List<FrameworkMethodWithParameters> methodWithParameters = new ArrayList<FrameworkMethodWithParameters>();
+        Iterator<FrameworkMethodWithParameters> it = iterateParameterizedTestMethods(testClazz, testMethod, dataFrom);
+        while (it.hasNext()) {
+            methodWithParameters.add(it.next());
+        }
+        return methodWithParameters;
+    }
+
+    /**
+     * 返回逐行构造有参测试方法的迭代器<br>
+     * 数据源返回Iterator时，每次next()才从数据源中读取一行数据
+     * 
+     * @param testClazz 当前测试类class
+     * @param testMethod 测试方法
+     * @param dataFrom
+     * @return
+     */
+    public static Iterator<FrameworkMethodWithParameters> iterateParameterizedTestMethods(Class testClazz,
+                                                                                          Method testMethod,
+                                                                                          DataFrom dataFrom) {
         String fromMethod = dataFrom.value();
         if ("".equals(fromMethod)) {
             throw new RuntimeException("You should specify the value property of @DataFrom() item.");
@@ -35,7 +63,7 @@ public class ParameterDataFromHelper {
                 if (dataFromClaz == DataFrom.class) {
                     dataFromClaz = testMethod.getDeclaringClass();
                 }
-                return computeParameterziedFromDataProviderMethod(testClazz, testMethod, fromMethod, dataFromClaz);
+                return iterateFromDataProviderMethod(testClazz, testMethod, fromMethod, dataFromClaz);
             case FromFile:
                 // TODO
             default:
@@ -43,15 +71,15 @@ public class ParameterDataFromHelper {
         }
     }
 
-    private static List<FrameworkMethodWithParameters> computeParameterziedFromDataProviderMethod(Class testClazz,
-                                                                                                  Method testMethod,
-                                                                                                  String dataFromMethod,
-                                                                                                  Class dataFromClaz) {
+    private static Iterator<FrameworkMethodWithParameters> iterateFromDataProviderMethod(Class testClazz,
+                                                                                         Method testMethod,
+                                                                                         String dataFromMethod,
+                                                                                         Class dataFromClaz) {
         Object data = getDataFromMethod(dataFromMethod, testClazz, dataFromClaz);
         if (data instanceof Iterator) {
-            return computeParameterFromIterator(testMethod, (Iterator) data);
+            return new ParameterizedMethodIterator(testMethod, (Iterator) data);
         } else if (data instanceof Object[][]) {
-            return computeParameterFromArray(testMethod, (Object[][]) data);
+            return new ParameterizedMethodIterator(testMethod, Arrays.asList((Object[][]) data).iterator());
         } else {
             throw new RuntimeException(
                     "The @DataFrom method can only return value of type Iterator<Object[]> or Object[][].");
@@ -59,46 +87,66 @@ public class ParameterDataFromHelper {
     }
 
     private static Object getDataFromMethod(String dataFromMethod, Class testClazz, Class dataFromClaz) {
+        Class providerClaz = dataFromClaz.isAssignableFrom(testClazz) ? testClazz : dataFromClaz;
+        Object from = getProvider(providerClaz);
+        if (!(from instanceof NewInstanceException)) {
+            Object data = MethodHelper.invokeUnThrow(from, dataFromMethod);
+            return data;
+        }
         try {
-            if (dataFromClaz.isAssignableFrom(testClazz)) {
-                Object from = Reflector.instance.newInstance(testClazz);
-                Object data = MethodHelper.invokeUnThrow(from, dataFromMethod);
-                return data;
-            } else {
-                Object from = Reflector.instance.newInstance(dataFromClaz);
-                Object data = MethodHelper.invokeUnThrow(from, dataFromMethod);
-                return data;
-            }
-        } catch (NewInstanceException e1) {
+            Object data = MethodHelper.invokeStatic(dataFromClaz, dataFromMethod);
+            return data;
+        } catch (NoSuchMethodRuntimeException e2) {
+            String err = "The @DataFrom method isn't a static method or isn't declared in a concrete class.";
+            MessageHelper.error(err, (NewInstanceException) from, e2);
+            throw new RuntimeException(err, e2);
+        }
+    }
+
+    /**
+     * 每个数据源类只实例化一次
+     */
+    private static Object getProvider(Class providerClaz) {
+        Object provider = providers.get(providerClaz);
+        if (provider == null) {
             try {
-                Object data = MethodHelper.invokeStatic(dataFromClaz, dataFromMethod);
-                return data;
-            } catch (NoSuchMethodRuntimeException e2) {
-                String err = "The @DataFrom method isn't a static method or isn't declared in a concrete class.";
-                MessageHelper.error(err, e1, e2);
-                throw new RuntimeException(err, e2);
+                provider = Reflector.instance.newInstance(providerClaz);
+            } catch (NewInstanceException e) {
+                provider = e;
             }
+            providers.put(providerClaz, provider);
         }
+        return provider;
     }
 
-    private static List<FrameworkMethodWithParameters> computeParameterFromIterator(Method method, Iterator iterator) {
-        List<FrameworkMethodWithParameters> methodWithParameters = new ArrayList<FrameworkMethodWithParameters>();
-        for (; iterator.hasNext();) {
-            Object caseData = iterator.next();
+    /**
+     * 把数据源的每行数据包装为有参测试方法，不预先读取数据
+     */
+    private static class ParameterizedMethodIterator implements Iterator<FrameworkMethodWithParameters> {
+        private final Method   method;
+
+        private final Iterator datas;
+
+        ParameterizedMethodIterator(Method method, Iterator datas) {
+            this.method = method;
+            this.datas = datas;
+        }
+
+        public boolean hasNext() {
+            return datas.hasNext();
+        }
+
+        public FrameworkMethodWithParameters next() {
+            Object caseData = datas.next();
             if (caseData instanceof Object[]) {
-                methodWithParameters.add(new FrameworkMethodWithParameters(method, (Object[]) caseData));
+                return new FrameworkMethodWithParameters(method, (Object[]) caseData);
             } else {
-                methodWithParameters.add(new FrameworkMethodWithParameters(method, new Object[] { caseData }));
+                return new FrameworkMethodWithParameters(method, new Object[] { caseData });
             }
         }
-        return methodWithParameters;
-    }
 
-    private static List<FrameworkMethodWithParameters> computeParameterFromArray(Method method, Object[][] array) {
-        List<FrameworkMethodWithParameters> methodWithParameters = new ArrayList<FrameworkMethodWithParameters>();
-        for (Object[] caseData : array) {
-            methodWithParameters.add(new FrameworkMethodWithParameters(method, (Object[]) caseData));
+        public void remove() {
+            throw new UnsupportedOperationException();
         }
-        return methodWithParameters;
     }
 }
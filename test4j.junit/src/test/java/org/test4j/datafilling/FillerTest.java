@@ -1,16 +1,29 @@
 package org.test4j.datafilling;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+
 import junit.framework.Assert;
 
+import org.junit.After;
 import org.junit.Test;
 import org.test4j.datafilling.Filler;
+import org.test4j.datafilling.common.ClassFieldInfo;
+import org.test4j.datafilling.model.SimplePojoToTestSetters;
 import org.test4j.datafilling.model.dto.A;
 import org.test4j.datafilling.model.dto.B;
 import org.test4j.datafilling.model.dto.ConcreteBusinessObject;
+import org.test4j.datafilling.strategy.RandomDataFactory;
 import org.test4j.module.ICore;
 
+@SuppressWarnings("rawtypes")
 public class FillerTest implements ICore {
 
+	@After
+	public void resetSeed() {
+		RandomDataFactory.resetSeed();
+	}
+
 	@Test
 	public void testFilling() throws Exception {
 		A pojo = Filler.filling(A.class);
@@ -26,4 +39,36 @@ public class FillerTest implements ICore {
 		ConcreteBusinessObject pojo = Filler.filling(ConcreteBusinessObject.class);
 		Assert.assertNotNull("The created POJO cannot be null!", pojo);
 	}
+
+	@Test
+	public void testFilling_SameSeed() {
+		RandomDataFactory.setSeed(20121010L);
+		SimplePojoToTestSetters first = Filler.filling(SimplePojoToTestSetters.class);
+		RandomDataFactory.setSeed(20121010L);
+		SimplePojoToTestSetters second = Filler.filling(SimplePojoToTestSetters.class);
+
+		want.object(first).notNull();
+		want.object(second).isEqualTo(first);
+	}
+
+	@Test
+	public void testGetClassInfo_Cached() {
+		ClassFieldInfo info = ClassFieldInfo.getClassInfo(A.class);
+		want.object(ClassFieldInfo.getClassInfo(A.class)).same(info);
+		want.collection(info.getClassFields()).sizeEq(1);
+	}
+
+	/**
+	 * 反序列化后setter注解的缓存为null，使用时重新创建
+	 */
+	@Test
+	public void testGetSetterAnnotations_NullCache() {
+		ClassFieldInfo info = ClassFieldInfo.getClassInfo(A.class);
+		Method setter = info.getClassSetters().iterator().next();
+		reflector.setField(info, "setterAnnotations", null);
+
+		want.object(info.getSetterAnnotations(A.class, setter)).notNull();
+		Map cache = reflector.getField(info, "setterAnnotations");
+		want.map(cache).hasKeys(setter);
+	}
 }
@@ -41,4 +41,15 @@ public class JSONAssertTest extends Test4J {
         want.json(json_arr).isJSONArray()
                 .propertyEq("employeeId", Arrays.asList("1234", null, null, null, null, null, null, null, null, null));
     }
+
+    @Test
+    public void testIsJSONMap_Path() {
+        want.json(json_arr).isJSONMap("/1").propertyEq("loginId", "wrreer");
+        want.json(json_arr).isSimple("/0/employeeId").isEqualTo("1234");
+    }
+
+    @Test(expected = AssertionError.class)
+    public void testIsJSONArray_PathNotFound() {
+        want.json(json_obj).isJSONArray("/notExisted");
+    }
 }
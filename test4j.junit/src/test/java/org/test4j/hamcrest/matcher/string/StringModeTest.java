@@ -102,4 +102,27 @@ public class StringModeTest extends Test4J {
         String actual = "d:/abc\\e/1.txt";
         want.string(actual).eq("d:/abc/e/1.txt", StringMode.SameAsSlash);
     }
+
+    @Test
+    @DataFrom("data_FirstDifference")
+    public void testFirstDifference(String expected, String actual, int[] difference) {
+        int[] result = StringMode.firstDifference(expected, actual, StringMode.IgnoreCase, StringMode.SameAsSpace);
+        want.object(result).reflectionEq(difference);
+    }
+
+    public static Object[][] data_FirstDifference() {
+        return new Object[][] { { null, null, null }, // <br>
+                { "select *  from t", "SELECT * FROM\n\tt", null }, // <br>
+                { "select *  from t", "SELECT * FROM  x", new int[] { 15, 15 } }, // <br>
+                { "select *", "SELECT * FROM", new int[] { 8, 8 } } };
+    }
+
+    @Test
+    public void testGetStringByMode_OrderIndependent() {
+        String input = "a ' b";
+        String actual1 = StringMode.getStringByMode(input, StringMode.SameAsSpace, StringMode.IgnoreQuato);
+        String actual2 = StringMode.getStringByMode(input, StringMode.IgnoreQuato, StringMode.SameAsSpace);
+        want.string(actual1).isEqualTo("a b");
+        want.string(actual2).isEqualTo("a b");
+    }
 }
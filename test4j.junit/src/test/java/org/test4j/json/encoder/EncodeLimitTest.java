@@ -0,0 +1,139 @@
+package org.test4j.json.encoder;
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.test4j.json.JSON;
+import org.test4j.json.helper.JSONFeature;
+import org.test4j.junit.Test4J;
+
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class EncodeLimitTest extends Test4J {
+    static final JSONFeature[] features = { JSONFeature.UnMarkClassFlag, JSONFeature.SkipNullValue };
+
+    @Test
+    public void testToJSON_Items() {
+        List list = new ArrayList();
+        for (int index = 0; index < 100000; index++) {
+            list.add(index);
+        }
+        EncodeLimit limit = new EncodeLimit(0, 3, 0, 0);
+        String json = JSON.toJSON(list, limit, features);
+        want.string(json).isEqualTo("[0,1,2,\"...(99997 more items)\"]");
+        want.bool(limit.isTruncated()).is(true);
+    }
+
+    @Test
+    public void testToJSON_MapItems() {
+        Map map = new LinkedHashMap();
+        for (int index = 0; index < 5; index++) {
+            map.put("k" + index, index);
+        }
+        String json = JSON.toJSON(map, new EncodeLimit(0, 2, 0, 0), features);
+        want.string(json).isEqualTo("{\"k0\":0,\"k1\":1,\"...(3 more items)\":null}");
+    }
+
+    @Test
+    public void testToJSON_DepthAndString() {
+        Map map = new LinkedHashMap();
+        map.put("name", "abcdefghij");
+        Map child = new LinkedHashMap();
+        child.put("c", new LinkedHashMap());
+        map.put("c", child);
+
+        String json = JSON.toJSON(map, new EncodeLimit(2, 0, 4, 0), features);
+        want.string(json).isEqualTo(
+                "{\"name\":\"abcd...(6 more chars)\",\"c\":{\"c\":\"...(depth > 2)\"}}");
+    }
+
+    @Test
+    public void testToJSON_TotalChars() {
+        String json = JSON.toJSON(new int[100], new EncodeLimit(0, 0, 0, 10), features);
+        want.string(json).isEqualTo("[0,0,0,0,0...(exceeds 10 chars)");
+    }
+
+    @Test
+    public void testToJSON_NoLimit() {
+        Map map = new LinkedHashMap();
+        map.put("name", "abcdefghij");
+        EncodeLimit limit = new EncodeLimit(0, 0, 0, 0);
+        want.string(JSON.toJSON(map, limit, features)).isEqualTo(JSON.toJSON(map, features));
+        want.bool(limit.isTruncated()).is(false);
+    }
+
+    /**
+     * 因为层数限制没有输出的对象不记录引用，之后再遇到时完整输出，而不是输出指向它的#refer
+     */
+    @Test
+    public void testToJSON_DepthNotReferenced() {
+        Node shared = new Node();
+        Map inner = new LinkedHashMap();
+        inner.put("x", shared);
+        List list = new ArrayList();
+        list.add(1);
+        inner.put("y", list);
+        Map root = new LinkedHashMap();
+        root.put("a", inner);
+        root.put("b", shared);
+        root.put("c", list);
+
+        String json = JSON.toJSON(root, new EncodeLimit(2, 0, 0, 0), JSONFeature.SkipNullValue);
+        want.string(json).notContain("#refer").contains("shared-node").contains("list@");
+    }
+
+    /**
+     * 截断标记中剩余的属性个数不包括被跳过的null属性
+     */
+    @Test
+    public void testEncode_MorePropertiesSkipNull() {
+        final List<Integer> more = new ArrayList<Integer>();
+        final int mask = JSONFeature.getFeaturesMask(features);
+        ObjectEncoder<Node> encoder = new ObjectEncoder<Node>(Node.class) {
+            @Override
+            protected Collection<PropertyEncoder> getPropertyEncoders(Node target) {
+                List<PropertyEncoder> encoders = new ArrayList<PropertyEncoder>();
+                for (Field field : Node.class.getDeclaredFields()) {
+                    encoders.add(PropertyEncoder.newInstance(field, target, mask));
+                }
+                return encoders;
+            }
+
+            @Override
+            protected boolean acceptProperty(EncodeLimit limit, int index) {
+                return index < 1;
+            }
+
+            @Override
+            protected void writeMoreProperties(EncodeLimit limit, Writer writer, boolean comma, int count) {
+                more.add(count);
+            }
+        };
+        encoder.setFeatures(mask);
+        EncodeLimit previous = EncodeLimit.attach(new EncodeLimit(0, 0, 0, 0));
+        try {
+            encoder.encode(new Node(), new StringWriter(), new ArrayList<String>());
+        } finally {
+            EncodeLimit.attach(previous);
+        }
+        // name和type不为null，next和parent被跳过
+        want.list(more).isEqualTo(Arrays.asList(1));
+    }
+
+    public static class Node {
+        public String name   = "shared-node";
+
+        public Node   next   = null;
+
+        public String type   = "node";
+
+        public Node   parent = null;
+    }
+}
@@ -4,7 +4,9 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 
 import org.junit.Test;
 import org.test4j.json.JSON;
@@ -85,4 +87,16 @@ public class JSONEncoderTest extends Test4J {
         String json = JSON.toJSON(bean, JSONFeature.UseSingleQuote);
         want.string(json).contains("refObject:null");
     }
+
+    @Test
+    // "简单对象没有地址标识，不能作为引用记录，否则之后的简单对象都会输出成{#refer:null}")
+    public void testEncode_SimpleValueNotReferred() {
+        List list = new ArrayList();
+        list.add(new Date(0));
+        list.add("x");
+        list.add(1);
+        String json = JSON.toJSON(list, JSONFeature.UseSingleQuote);
+        want.string(json).notContain("#refer").containsInOrder("{#class:'Date',", "{#class:'string',#value:'x'}",
+                "{#class:'Integer',#value:1}");
+    }
 }
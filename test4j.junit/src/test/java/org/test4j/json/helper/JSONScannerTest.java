@@ -157,4 +157,25 @@ public class JSONScannerTest extends Test4J {
         want.string(value).isEqualTo("{xxx}");
     }
 
+    @Test
+    @DataFrom("jsonPathData")
+    public void testScnJSON_Path(String path, String expected) {
+        String json = "{'skip':{'a':[1,'}]',{b:2}]},'data':[{'id':1,'name':'a\\/b'},{id:2,tags:[x,y]}],'~/key':v}";
+        JSONObject value = JSONScanner.scnJSON(json, path);
+        if (expected == null) {
+            want.object(value).isNull();
+        } else {
+            want.string(value.toString()).isEqualTo(expected);
+        }
+    }
+
+    public static Object[][] jsonPathData() {
+        return new Object[][] { { "/data/0/name", "a/b" },// <br>
+                { "data/1/tags/1", "y" }, /** <br> */
+                { "/~0~1key", "v" }, /** <br> */
+                { "/data/2", null }, /** <br> */
+                { "/missing", null }, /** <br> */
+                { "/data/0/name/x", null } /** <br> */
+        };
+    }
 }
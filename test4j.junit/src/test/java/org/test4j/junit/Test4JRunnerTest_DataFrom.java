@@ -0,0 +1,128 @@
+package org.test4j.junit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.test4j.junit.annotations.DataFrom;
+import org.test4j.module.ICore;
+
+/**
+ * 验证带@DataFrom的测试方法每行数据作为一个子测试报告: 每行各自started、failure和finished
+ */
+public class Test4JRunnerTest_DataFrom implements ICore {
+
+    @Test
+    public void testRunChild_RowFailure() {
+        List<String> events = new ArrayList<String>();
+        Result result = run("testData", events);
+        want.list(events).isEqualTo(
+                Arrays.asList("started testData[1]", "finished testData[1]", "started testData[2]",
+                        "failure testData[2]", "finished testData[2]", "started testData[3]", "finished testData[3]"));
+        want.number(result.getRunCount()).isEqualTo(3);
+        want.number(result.getFailureCount()).isEqualTo(1);
+        want.string(result.getFailures().get(0).getMessage()).isEqualTo("index 2");
+        want.number(DataFromCase.executed).isEqualTo(3);
+    }
+
+    @Test
+    public void testRunChild_RowDescriptions() {
+        Runner runner = request("testData").getRunner();
+        new JUnitCore().run(runner);
+        List<String> rows = new ArrayList<String>();
+        for (Description method : runner.getDescription().getChildren()) {
+            if ("testData".equals(method.getMethodName())) {
+                for (Description row : method.getChildren()) {
+                    rows.add(row.getMethodName());
+                }
+            }
+        }
+        want.list(rows).isEqualTo(Arrays.asList("testData[1]", "testData[2]", "testData[3]"));
+    }
+
+    @Test
+    public void testRunChild_FilterRow() {
+        List<String> events = new ArrayList<String>();
+        Result result = run("testData[3]", events);
+        want.list(events).isEqualTo(Arrays.asList("started testData[3]", "finished testData[3]"));
+        want.number(result.getRunCount()).isEqualTo(1);
+        want.number(result.getFailureCount()).isEqualTo(0);
+        want.number(DataFromCase.executed).isEqualTo(1);
+    }
+
+    @Test
+    public void testRunChild_ProviderError() {
+        List<String> events = new ArrayList<String>();
+        Result result = run("testError", events);
+        want.list(events).isEqualTo(Arrays.asList("started testError", "failure testError", "finished testError"));
+        want.number(result.getRunCount()).isEqualTo(1);
+        want.number(result.getFailureCount()).isEqualTo(1);
+    }
+
+    /**
+     * 按方法名(或数据行的名称)过滤，只运行指定的@DataFrom方法
+     */
+    private static Result run(String method, final List<String> events) {
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) {
+                events.add("started " + description.getMethodName());
+            }
+
+            @Override
+            public void testFailure(Failure failure) {
+                events.add("failure " + failure.getDescription().getMethodName());
+            }
+
+            @Override
+            public void testFinished(Description description) {
+                events.add("finished " + description.getMethodName());
+            }
+        });
+        return core.run(request(method));
+    }
+
+    private static Request request(String method) {
+        Filter filter = Filter.matchMethodDescription(Description.createTestDescription(DataFromCase.class, method));
+        return Request.aClass(DataFromCase.class).filterWith(filter);
+    }
+
+    @RunWith(Test4JRunner.class)
+    public static class DataFromCase {
+        static int executed = 0;
+
+        @Test
+        @DataFrom("data")
+        public void testData(Integer index) {
+            executed++;
+            if (index == 2) {
+                throw new AssertionError("index 2");
+            }
+        }
+
+        @Test
+        @DataFrom("errorData")
+        public void testError(Integer index) {
+        }
+
+        public static Object[][] data() {
+            executed = 0;
+            return new Object[][] { { 1 }, { 2 }, { 3 } };
+        }
+
+        public static Object[][] errorData() {
+            throw new RuntimeException("no data");
+        }
+    }
+}
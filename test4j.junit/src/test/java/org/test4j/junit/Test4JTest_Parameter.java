@@ -64,6 +64,38 @@ public class Test4JTest_Parameter extends Test4J {
         // System.out.println("name=" + name);
     }
 
+    private static int generated = 0;
+
+    private static int executed  = 0;
+
+    /**
+     * 验证数据是在测试运行时逐行读取的，而不是在运行前读取所有数据
+     * 
+     * @param index
+     */
+    @DataFrom("lazyData")
+    @Test
+    public void testWithParameter_Lazy(Integer index) {
+        executed++;
+        want.number(index).isEqualTo(executed);
+        want.number(generated).isEqualTo(executed);
+    }
+
+    public static Iterator lazyData() {
+        generated = 0;
+        executed = 0;
+        return new DataIterator() {
+            @Override
+            protected Object[] nextData() {
+                if (generated >= 3) {
+                    return null;
+                }
+                generated++;
+                return new Object[] { generated };
+            }
+        };
+    }
+
     static class MockDto {
         private final String name = "init";
 
@@ -0,0 +1,50 @@
+package org.test4j.module.core.utility;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.test4j.junit.Test4J;
+
+public class ListenerTimerTest extends Test4J {
+    private boolean enabled;
+
+    @Before
+    public void saveEnabled() {
+        this.enabled = ListenerTimer.isEnabled();
+        ListenerTimer.reset();
+    }
+
+    @After
+    public void restoreEnabled() {
+        ListenerTimer.setEnabled(this.enabled);
+        ListenerTimer.reset();
+    }
+
+    /**
+     * 测试没有开启统计时不记录耗时
+     */
+    @Test
+    public void testStop_Disabled() {
+        ListenerTimer.setEnabled(false);
+        long start = ListenerTimer.start();
+        ListenerTimer.stop("MyListener", "beforeMethod", start);
+        want.map(ListenerTimer.getTimings()).sizeEq(0);
+    }
+
+    /**
+     * 测试开启统计后按 监听器.阶段 累计调用次数
+     */
+    @Test
+    public void testStop_Enabled() {
+        ListenerTimer.setEnabled(true);
+        for (int index = 0; index < 2; index++) {
+            long start = ListenerTimer.start();
+            ListenerTimer.stop("MyListener", "beforeMethod", start);
+        }
+        ListenerTimer.stop("MyListener", "afterMethod", ListenerTimer.start());
+
+        want.map(ListenerTimer.getCounts()).sizeEq(2).hasEntry("MyListener.beforeMethod", 2L)
+                .hasEntry("MyListener.afterMethod", 1L);
+        want.string(ListenerTimer.report()).contains("MyListener.beforeMethod").contains("calls = 2");
+    }
+}
@@ -1,15 +1,37 @@
 package org.test4j.module.core.utility;
 
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import mockit.Mock;
 
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 import org.test4j.junit.Test4J;
+import org.test4j.module.core.Module;
+import org.test4j.module.core.TestListener;
 import org.test4j.tools.commons.ConfigHelper;
 
+@SuppressWarnings("rawtypes")
 public class ModulesLoaderTest extends Test4J {
+    private ModulesManager manager;
+
+    @Before
+    public void saveManager() {
+        manager = ModulesManager.instance();
+    }
+
+    @After
+    public void restoreManager() {
+        reflector.setStaticField(ModulesManager.class, "modulesManager", manager);
+    }
     /**
      * 测试database.type未设置时,database和dbfit模块失效
      */
@@ -25,4 +47,164 @@ public class ModulesLoaderTest extends Test4J {
                 Arrays.asList("database", "jmockit", "inject", "tracer"));
         want.collection(list).not(the.collection().hasItems("database")).sizeEq(2);
     }
+
+    /**
+     * 测试启动时记录了配置加载和模块创建的耗时
+     */
+    @Test
+    public void testStartupTimings() {
+        want.map(StartupTimer.getTimings()).hasKeys(StartupTimer.PHASE_CONFIG,
+                StartupTimer.modulePhase("jmockit", "create"), StartupTimer.modulePhase("jmockit", "init"));
+        want.string(StartupTimer.report()).contains("module[jmockit].init");
+    }
+
+    /**
+     * 没有配置触发类型的延迟模块在第一个测试类开始时才初始化
+     */
+    @Test
+    public void testLazyModule_InitOnFirstClass() throws Exception {
+        RecordModule module = initLazyModule(new ArrayList<Class>());
+        want.bool(ModulesManager.isModuleInitialized(module)).is(false);
+        want.number(module.inits).isEqualTo(0);
+
+        TestListener listener = ModulesManager.getTestListener(module);
+        Object test = new NotTriggeredCase();
+        listener.beforeClass(NotTriggeredCase.class);
+        listener.beforeMethod(test, testMethod());
+        listener.afterMethod(test, testMethod());
+        listener.afterClass(test);
+
+        want.bool(ModulesManager.isModuleInitialized(module)).is(true);
+        want.number(module.inits).isEqualTo(1);
+        want.list(module.events).isEqualTo(
+                Arrays.asList("beforeClass NotTriggeredCase", "beforeMethod NotTriggeredCase",
+                        "afterMethod NotTriggeredCase", "afterClass NotTriggeredCase"));
+    }
+
+    /**
+     * 模块的.lazy.triggers属性解析为触发类型，classpath中不存在的类型被忽略
+     */
+    @Test
+    public void testGetLazyTriggers() {
+        new MockUp<ConfigHelper>() {
+            @Mock
+            public List<String> getStringList(String propertyName) {
+                want.string(propertyName).end("record" + ModulesLoader.PROPKEY_MODULE_SUFFIX_TRIGGERS);
+                return Arrays.asList(LazyTrigger.class.getName(), "org.test4j.NotExistedTrigger");
+            }
+        };
+        List<Class> triggers = reflector.invokeStatic(ModulesLoader.class, "getLazyTriggers", "record");
+        want.list(triggers).isEqualTo(Arrays.asList(LazyTrigger.class));
+    }
+
+    /**
+     * 不带触发注解的测试类不会初始化模块
+     */
+    @Test
+    public void testLazyModule_NotTriggered() throws Exception {
+        RecordModule module = initLazyModule(Arrays.asList((Class) LazyTrigger.class));
+        TestListener listener = ModulesManager.getTestListener(module);
+        Object test = new NotTriggeredCase();
+        listener.beforeClass(NotTriggeredCase.class);
+        listener.beforeMethod(test, testMethod());
+        listener.afterClass(test);
+
+        want.bool(ModulesManager.isModuleInitialized(module)).is(false);
+        want.number(module.inits).isEqualTo(0);
+        want.collection(module.events).sizeEq(0);
+    }
+
+    /**
+     * 测试类开始后模块才被(其它测试类)触发初始化，该测试类后续的事件不转发，只转发成对的事件
+     */
+    @Test
+    public void testLazyModule_TriggeredByOtherClass() throws Exception {
+        RecordModule module = initLazyModule(Arrays.asList((Class) LazyTrigger.class));
+        TestListener listener = ModulesManager.getTestListener(module);
+        Object notTriggered = new NotTriggeredCase();
+        Object triggered = new TriggeredCase();
+        listener.beforeClass(NotTriggeredCase.class);
+        listener.beforeClass(TriggeredCase.class);
+        listener.beforeMethod(notTriggered, testMethod());
+        listener.beforeMethod(triggered, testMethod());
+        listener.afterMethod(notTriggered, testMethod());
+        listener.afterMethod(triggered, testMethod());
+        listener.afterClass(notTriggered);
+        listener.afterClass(triggered);
+
+        want.number(module.inits).isEqualTo(1);
+        want.list(module.events).isEqualTo(
+                Arrays.asList("beforeClass TriggeredCase", "beforeMethod TriggeredCase", "afterMethod TriggeredCase",
+                        "afterClass TriggeredCase"));
+    }
+
+    private static RecordModule initLazyModule(List<Class> triggers) {
+        RecordModule module = new RecordModule();
+        Map<Module, String> names = new HashMap<Module, String>();
+        names.put(module, "record");
+        Map<Module, List<Class>> lazyTriggers = new HashMap<Module, List<Class>>();
+        lazyTriggers.put(module, triggers);
+        ModulesManager.initManager(Arrays.asList((Module) module), names, lazyTriggers);
+        return module;
+    }
+
+    private static Method testMethod() throws Exception {
+        return Object.class.getMethod("hashCode");
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public static @interface LazyTrigger {
+    }
+
+    @LazyTrigger
+    public static class TriggeredCase {
+    }
+
+    public static class NotTriggeredCase {
+    }
+
+    /**
+     * 记录初始化次数和收到的事件的模块
+     */
+    static class RecordModule implements Module {
+        int                inits  = 0;
+
+        final List<String> events = new ArrayList<String>();
+
+        public void init() {
+            inits++;
+        }
+
+        public void afterInit() {
+        }
+
+        public TestListener getTestListener() {
+            return new TestListener() {
+                @Override
+                public void beforeClass(Class testClazz) {
+                    events.add("beforeClass " + testClazz.getSimpleName());
+                }
+
+                @Override
+                public void beforeMethod(Object testObject, Method testMethod) {
+                    events.add("beforeMethod " + testObject.getClass().getSimpleName());
+                }
+
+                @Override
+                public void afterMethod(Object testObject, Method testMethod) {
+                    events.add("afterMethod " + testObject.getClass().getSimpleName());
+                }
+
+                @Override
+                public void afterClass(Object testObject) {
+                    events.add("afterClass " + testObject.getClass().getSimpleName());
+                }
+
+                @Override
+                protected String getName() {
+                    return "RecordModuleListener";
+                }
+            };
+        }
+    }
 }
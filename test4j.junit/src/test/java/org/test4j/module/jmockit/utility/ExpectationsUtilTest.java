@@ -0,0 +1,80 @@
+package org.test4j.module.jmockit.utility;
+
+import mockit.internal.expectations.argumentMatching.ArgumentMatcher;
+import mockit.internal.expectations.argumentMatching.ArgumentMismatch;
+
+import org.junit.Test;
+import org.test4j.junit.Test4J;
+import org.test4j.module.jmockit.utility.ExpectationsUtil.MatcherCache;
+
+import ext.test4j.hamcrest.BaseMatcher;
+import ext.test4j.hamcrest.Description;
+import ext.test4j.hamcrest.Matcher;
+
+public class ExpectationsUtilTest extends Test4J {
+
+    @Test
+    public void testAdapterOf_SameExecution() {
+        MatcherCache cache = new MatcherCache();
+        Object execution = new Object();
+        Matcher matcher = the.string().contains("wu");
+
+        ArgumentMatcher adapter = cache.adapterOf(execution, matcher);
+        want.object(cache.adapterOf(execution, matcher)).same(adapter);
+        want.bool(adapter.matches("darui.wu")).is(true);
+        want.bool(adapter.matches("darui")).is(false);
+    }
+
+    @Test
+    public void testAdapterOf_NewExecution() {
+        MatcherCache cache = new MatcherCache();
+        Matcher matcher = the.string().contains("wu");
+
+        ArgumentMatcher adapter = cache.adapterOf(new Object(), matcher);
+        want.bool(cache.adapterOf(new Object(), matcher) == adapter).is(false);
+    }
+
+    @Test
+    public void testWriteMismatchPhrase_Lazy() {
+        CountMatcher matcher = new CountMatcher();
+        ArgumentMatcher adapter = ExpectationsUtil.convert(matcher);
+        want.bool(adapter.matches("any")).is(false);
+        want.number(matcher.described).isEqualTo(0);
+
+        ArgumentMismatch mismatch = new ArgumentMismatch();
+        adapter.writeMismatchPhrase(mismatch);
+        want.number(matcher.described).isEqualTo(1);
+        want.string(mismatch.toString()).isEqualTo("count matcher");
+    }
+
+    /**
+     * 同一个matcher两次不匹配时，每次的描述都是最近一次匹配的结果
+     */
+    @Test
+    public void testWriteMismatchPhrase_FailTwice() {
+        ArgumentMatcher adapter = ExpectationsUtil.convert(the.string().contains("wu"));
+
+        want.bool(adapter.matches("darui")).is(false);
+        ArgumentMismatch first = new ArgumentMismatch();
+        adapter.writeMismatchPhrase(first);
+        want.string(first.toString()).contains("darui");
+
+        want.bool(adapter.matches("davey")).is(false);
+        ArgumentMismatch second = new ArgumentMismatch();
+        adapter.writeMismatchPhrase(second);
+        want.string(second.toString()).contains("davey");
+    }
+
+    public static class CountMatcher extends BaseMatcher<Object> {
+        int described = 0;
+
+        public boolean matches(Object item) {
+            return false;
+        }
+
+        public void describeTo(Description description) {
+            described++;
+            description.appendText("count matcher");
+        }
+    }
+}
@@ -137,4 +137,54 @@ public class DateUtilTest extends Test4J {
     public void testParse_IllegalFormat() {
         DateHelper.parse("2010-10/20 18:20:36.231");
     }
+
+    @Test
+    @DataFrom("dataDetectPattern")
+    public void testDetectPattern(String input, String pattern) {
+        want.string(DateHelper.detectPattern(input)).isEqualTo(pattern);
+        want.object(DateHelper.getDateFormat(input)).same(DateHelper.getSimpleDateFormat(pattern));
+    }
+
+    public static DataIterator dataDetectPattern() {
+        return new DataIterator() {
+            {
+                data("2011-09-14", DateHelper.PATTERN_DATE);
+                data(" 2011-9-4 ", DateHelper.PATTERN_DATE);
+                data("11-09-14", DateHelper.PATTERN_DEFAULT);
+                data("11-09-14 12:23:34", DateHelper.PATTERN_DATETIME);
+                data(" 2011-09-17  \t12:23:34 ", DateHelper.PATTERN_DATETIME);
+                data("2011-09-17 12:23", DateHelper.PATTERN_DEFAULT);
+                data("12:23:34", DateHelper.PATTERN_TIME);
+                data("2011-09-15 12:23:34.1", DateHelper.PATTERN_DEFAULT);
+                data("2010-10/20", DateHelper.PATTERN_DEFAULT);
+                data("", DateHelper.PATTERN_DEFAULT);
+                data(null, DateHelper.PATTERN_DEFAULT);
+            }
+        };
+    }
+
+    @Test
+    public void testToDateTimeStr_Concurrent() throws Exception {
+        final Date date = getMockDate();
+        final String[] errors = new String[1];
+        Thread[] threads = new Thread[4];
+        for (int index = 0; index < threads.length; index++) {
+            threads[index] = new Thread() {
+                public void run() {
+                    for (int loop = 0; loop < 1000; loop++) {
+                        String str = DateHelper.toDateTimeStr(date, "yyyy-MM-dd HH:mm:ss");
+                        Date parsed = DateHelper.parse(str);
+                        if (!"2010-02-12 19:58:55".equals(str) || date.getTime() / 1000 != parsed.getTime() / 1000) {
+                            errors[0] = str;
+                        }
+                    }
+                }
+            };
+            threads[index].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        want.string(errors[0]).isNull();
+    }
 }
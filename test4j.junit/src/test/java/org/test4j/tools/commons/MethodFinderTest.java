@@ -1,7 +1,12 @@
 package org.test4j.tools.commons;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
+import mockit.Mock;
+
+import org.junit.After;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.test4j.fortest.beans.User;
@@ -12,7 +17,15 @@ import org.test4j.junit.Test4J;
  * 
  * @author darui.wudr
  */
+@SuppressWarnings({ "rawtypes" })
 public class MethodFinderTest extends Test4J {
+    private static final String PACK = "org.test4j.tools.commons";
+
+    @After
+    public void clearIndexes() {
+        indexes().clear();
+    }
+
     @Test
     @Ignore
     public void findTestMethod_1() {
@@ -28,4 +41,111 @@ public class MethodFinderTest extends Test4J {
         want.collection(methods).sizeEq(1);
         want.collection(methods).hasAllItems("org.test4j.fortest.hibernate.UserServiceImpl.getUser");
     }
+
+    @Test
+    public void testFindTestClaz_IndexReused() {
+        MethodFinder.findTestClaz(ClazzFinder.class);
+        Object index = indexes().get(PACK);
+        new MockUp<ClazzFinder>() {
+            @Mock(invocations = 0)
+            public long classpathStamp(String packPath) {
+                return 0;
+            }
+
+            @Mock(invocations = 0)
+            public List<String> findClazz(String packPath) {
+                return null;
+            }
+        };
+        List<String> tests = MethodFinder.findTestClaz(ClazzFinder.class);
+        want.collection(tests).hasAllItems(PACK + ".ClazzFinderTest");
+        want.object(indexes().get(PACK)).same(index);
+    }
+
+    @Test
+    public void testFindTestClaz_StampChanged() {
+        MethodFinder.findTestClaz(ClazzFinder.class);
+        Object index = indexes().get(PACK);
+        final long stamp = (Long) reflector.getField(index, "stamp");
+        reflector.setField(index, "checked", 0L);
+        new MockUp<ClazzFinder>() {
+            @Mock(invocations = 1)
+            public long classpathStamp(String packPath) {
+                return stamp + 1;
+            }
+
+            @Mock(invocations = 1)
+            public List<String> findClazz(String packPath) {
+                return Arrays.asList(PACK + ".ClazzFinder", PACK + ".ClazzFinderTest_Recompiled");
+            }
+        };
+        List<String> tests = MethodFinder.findTestClaz(ClazzFinder.class);
+        want.list(tests).isEqualTo(Arrays.asList(PACK + ".ClazzFinderTest_Recompiled"));
+        want.bool(indexes().get(PACK) == index).is(false);
+    }
+
+    @Test
+    public void testFindTestClaz_StampUnchanged() {
+        MethodFinder.findTestClaz(ClazzFinder.class);
+        Object index = indexes().get(PACK);
+        final long stamp = (Long) reflector.getField(index, "stamp");
+        reflector.setField(index, "checked", 0L);
+        new MockUp<ClazzFinder>() {
+            @Mock(invocations = 1)
+            public long classpathStamp(String packPath) {
+                return stamp;
+            }
+
+            @Mock(invocations = 0)
+            public List<String> findClazz(String packPath) {
+                return null;
+            }
+        };
+        MethodFinder.findTestClaz(ClazzFinder.class);
+        want.object(indexes().get(PACK)).same(index);
+        want.number((Long) reflector.getField(index, "checked")).isGt(0L);
+    }
+
+    @Test
+    public void testFindTestClaz_ClassPathChanged() {
+        MethodFinder.findTestClaz(ClazzFinder.class);
+        Object index = indexes().get(PACK);
+        String classPath = System.getProperty(ClazzFinder.JAVA_CLASS_PATH);
+        new MockUp<ClazzFinder>() {
+            @Mock(invocations = 1)
+            public List<String> findClazz(String packPath) {
+                return Arrays.asList(PACK + ".ClazzFinder");
+            }
+        };
+        System.setProperty(ClazzFinder.JAVA_CLASS_PATH, classPath + java.io.File.pathSeparator + "changed");
+        try {
+            List<String> tests = MethodFinder.findTestClaz(ClazzFinder.class);
+            want.collection(tests).sizeEq(0);
+            want.bool(indexes().get(PACK) == index).is(false);
+        } finally {
+            System.setProperty(ClazzFinder.JAVA_CLASS_PATH, classPath);
+        }
+    }
+
+    @Test
+    public void testFindTestMethod_ReverseIndex() {
+        List<String> methods = MethodFinder.findTestMethod(ClazzFinder.class, "findClazz");
+        want.collection(methods).hasAllItems(PACK + ".ClazzFinderTest.findClazz", PACK + ".ClazzFinderTest.findClazz_1");
+        want.bool(methods.contains(PACK + ".ClazzFinderTest.findTestClaz")).is(false);
+
+        Object index = indexes().get(PACK);
+        Map testMethods = reflector.getField(index, "testMethods");
+        want.map(testMethods).hasKeys(ClazzFinder.class.getName());
+        want.map((Map) testMethods.get(ClazzFinder.class.getName())).hasKeys("findClazz");
+        Map testMethodNames = reflector.getField(index, "testMethodNames");
+        List names = (List) testMethodNames.get(ClazzFinder.class.getName());
+
+        List<String> again = MethodFinder.findTestMethod(ClazzFinder.class, "findTestClaz");
+        want.collection(again).hasAllItems(PACK + ".ClazzFinderTest.findTestClaz");
+        want.object(testMethodNames.get(ClazzFinder.class.getName())).same(names);
+    }
+
+    private static Map<String, Object> indexes() {
+        return reflector.getStaticField(MethodFinder.class, "indexes");
+    }
 }
@@ -0,0 +1,69 @@
+package org.test4j.tools.commons;
+
+import java.io.StringWriter;
+import java.util.LinkedList;
+
+import org.junit.Test;
+import org.test4j.junit.Test4J;
+import org.test4j.tools.commons.TextDiffMatchPatch.Diff;
+import org.test4j.tools.commons.TextDiffMatchPatch.Operation;
+
+public class TextDiffHelperTest extends Test4J {
+
+    @Test
+    public void testGetDiffHtml() {
+        String html = TextDiffHelper.getDiffHtml("I am string one", "I am string two");
+        want.string(html).contains("<del style=\"background:#ffe6e6;\">").contains("<ins style=\"background:#e6ffe6;\">")
+                .contains("I&nbsp;am&nbsp;string&nbsp;one");
+    }
+
+    @Test
+    public void testGetLineDiff() {
+        LinkedList<Diff> diffs = TextDiffHelper.getLineDiff("a\nb\nc\n", "a\nB\nc\n");
+        want.number(diffs.size()).isEqualTo(4);
+        want.object(diffs.get(0)).propertyEq("operation", Operation.EQUAL).propertyEq("text", "a\n");
+        want.object(diffs.get(1)).propertyEq("operation", Operation.DELETE).propertyEq("text", "b\n");
+        want.object(diffs.get(2)).propertyEq("operation", Operation.INSERT).propertyEq("text", "B\n");
+        want.object(diffs.get(3)).propertyEq("operation", Operation.EQUAL).propertyEq("text", "c\n");
+    }
+
+    @Test
+    public void testPrintDiffText_BoundedContext() throws Exception {
+        StringBuilder same = new StringBuilder();
+        for (int index = 0; index < 10; index++) {
+            same.append("line").append(index).append("\n");
+        }
+        String lText = "first\n" + same + "old\n" + same;
+        String rText = "second\n" + same + "new\n" + same;
+        LinkedList<Diff> diffs = TextDiffHelper.getLineDiff(lText, rText);
+
+        StringWriter writer = new StringWriter();
+        TextDiffHelper.printDiffText(writer, diffs, 2);
+        String html = writer.toString();
+        want.string(html).contains("line0<br>line1<br><i>... 6 lines ...</i><br>line8<br>line9<br>")
+                .contains("<i>... 8 lines ...</i><br>").notContain("line5");
+    }
+
+    @Test
+    public void testPrintPanelText_BoundedContext() throws Exception {
+        StringBuilder same = new StringBuilder();
+        for (int index = 0; index < 10; index++) {
+            same.append("line").append(index).append("\n");
+        }
+        LinkedList<Diff> diffs = TextDiffHelper.getLineDiff(same + "old\n" + same, same + "new\n" + same);
+
+        StringWriter writer = new StringWriter();
+        TextDiffHelper.printPanelText(writer, diffs, Operation.INSERT, 2);
+        want.string(writer.toString()).isEqualTo("<i>... 8 lines ...</i><BR/>line8<BR/>line9<BR/>old<BR/>line0<BR/>line1<BR/><i>... 8 lines ...</i><BR/>");
+        writer = new StringWriter();
+        TextDiffHelper.printPanelText(writer, diffs, Operation.DELETE, 2);
+        want.string(writer.toString()).contains("new<BR/>").notContain("old").notContain("line5");
+    }
+
+    @Test
+    public void testPrintHtmlText() throws Exception {
+        StringWriter writer = new StringWriter();
+        TextDiffHelper.printHtmlText(writer, "a <b>\n中");
+        want.string(writer.toString()).isEqualTo("a&nbsp;&lt;b&gt;<BR/>&#20013;");
+    }
+}
@@ -0,0 +1,80 @@
+package org.test4j.tools.datagen;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+import org.test4j.junit.Test4J;
+import org.test4j.junit.annotations.DataFrom;
+
+public class DataProviderIteratorTest extends Test4J {
+
+    @Test
+    public void testNextData_Lazy() {
+        final int[] generated = new int[] { 0 };
+        DataIterator it = new DataIterator() {
+            {
+                data("a", 0);
+            }
+
+            @Override
+            protected Object[] nextData() {
+                if (generated[0] == 3) {
+                    return null;
+                }
+                generated[0]++;
+                return new Object[] { "b", generated[0] };
+            }
+        };
+        want.number(generated[0]).isEqualTo(0);
+        want.array(it.next()).reflectionEq(new Object[] { "a", 0 });
+        want.number(generated[0]).isEqualTo(0);
+
+        List<Object> datas = new ArrayList<Object>();
+        while (it.hasNext()) {
+            it.hasNext();
+            datas.add(it.next()[1]);
+        }
+        want.list(datas).reflectionEq(new Integer[] { 1, 2, 3 });
+        want.number(generated[0]).isEqualTo(3);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testNextData_LengthNotSame() {
+        DataIterator it = new DataIterator() {
+            {
+                data("a", 0);
+            }
+
+            @Override
+            protected Object[] nextData() {
+                return new Object[] { "b" };
+            }
+        };
+        it.next();
+        it.next();
+    }
+
+    @Test
+    @DataFrom("lazyData")
+    public void testDataFrom_Lazy(int index, String value) {
+        want.string(value).isEqualTo("value" + index);
+    }
+
+    @SuppressWarnings("rawtypes")
+    public static Iterator lazyData() {
+        return new DataIterator() {
+            int index = 0;
+
+            @Override
+            protected Object[] nextData() {
+                if (index == 100) {
+                    return null;
+                }
+                index++;
+                return new Object[] { index, "value" + index };
+            }
+        };
+    }
+}
@@ -1,8 +1,13 @@
 package org.test4j.tools.generic;
 
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
 import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.Test;
@@ -29,6 +34,43 @@ public class GenericTypeFinderTest extends Test4J {
         });
     }
 
+    @Test
+    public void testFindGenericTypes_Cached() {
+        GenericTypeMap map = GenericTypeFinder.findGenericTypes(GenericMap.class);
+        want.object(GenericTypeFinder.findGenericTypes(GenericMap.class)).same(map);
+        try {
+            map.putType(Map.class, "K", Integer.class);
+            want.fail();
+        } catch (UnsupportedOperationException e) {
+            want.object(map.getType(Map.class, "K")).isEqualTo(String.class);
+        }
+    }
+
+    @Test
+    public void testWildcardType() throws Exception {
+        Type type = GenericFields.class.getDeclaredField("wildcard").getGenericType();
+        Type wildcard = ((ParameterizedType) type).getActualTypeArguments()[0];
+
+        GenericTypeMap map = GenericTypeFinder.findGenericTypes(wildcard);
+        want.object(map.getType(Collection.class, "E")).isEqualTo(String.class);
+
+        map = GenericTypeFinder.findGenericTypes(type);
+        want.object(map.getType(List.class, "E")).isEqualTo(((WildcardType) wildcard).getUpperBounds()[0]);
+    }
+
+    @Test
+    public void testGenericArrayType() throws Exception {
+        Type type = GenericFields.class.getDeclaredField("array").getGenericType();
+        GenericTypeMap map = GenericTypeFinder.findGenericTypes(type);
+        want.map(map).sizeEq(0);
+    }
+
+    public static class GenericFields {
+        List<? extends ArrayList<String>> wildcard;
+
+        List<String>[]                    array;
+    }
+
     public static class GenericObj {
         String name;
     }
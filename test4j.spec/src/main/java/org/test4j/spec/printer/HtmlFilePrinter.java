@@ -1,8 +1,11 @@
 package org.test4j.spec.printer;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 
 import org.test4j.spec.ISpec;
 import org.test4j.spec.inner.IScenario;
@@ -22,21 +25,66 @@ public class HtmlFilePrinter extends AbstractPrinter {
         }
     }
 
-    List<String>  htmls     = new ArrayList<String>(20);
+    /**
+     * 当前spec的输出文件，每个场景结束后追加写入，printSummary时关闭
+     */
+    Writer                 writer     = null;
+
+    Class<? extends ISpec> writerSpec = null;
 
     @Override
     public void printSummary(Class<? extends ISpec> spec) {
-        StringBuilder summary = new StringBuilder();
-        summary.append("<html><head>");
-        summary.append("<meta http-equiv=\"Content-Type\" content=\"text/html; charset=utf-8\" />");
-        summary.append("<style>").append(Default_Html_Style).append("</style>");
-        summary.append("</head><body><div>");
-        for (String html : htmls) {
-            summary.append(html);
+        try {
+            if (writerSpec != spec) {
+                this.closeWriter();
+                this.openWriter(spec);
+            }
+            this.closeWriter();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void openWriter(Class<? extends ISpec> spec) throws IOException {
+        File file = new File(outputDir + getSpecHtmlFile(spec));
+        ResourceHelper.mkFileParentDir(file);
+        writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, false), "utf-8"));
+        writerSpec = spec;
+        writer.write("<html><head>");
+        writer.write("<meta http-equiv=\"Content-Type\" content=\"text/html; charset=utf-8\" />");
+        writer.write("<style>");
+        writer.write(Default_Html_Style);
+        writer.write("</style>");
+        writer.write("</head><body><div>");
+    }
+
+    private void closeWriter() throws IOException {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write("</div></body></html>");
+        } finally {
+            writer.close();
+            writer = null;
+            writerSpec = null;
+        }
+    }
+
+    /**
+     * 把场景的html追加到spec的输出文件中
+     */
+    private void writeScenario(Class<? extends ISpec> spec, String html) {
+        try {
+            if (writerSpec != spec) {
+                this.closeWriter();
+                this.openWriter(spec);
+            }
+            writer.write(html);
+            writer.flush();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
-        summary.append("</div></body></html>");
-        ResourceHelper.writeStringToFile(new File(outputDir + getSpecHtmlFile(spec)), summary.toString());
-        htmls.clear();
     }
 
     String getSpecHtmlFile(Class<? extends ISpec> spec) {
@@ -78,7 +126,7 @@ public class HtmlFilePrinter extends AbstractPrinter {
     @Override
     protected void printTailer(ISpec spec, IScenario scenario) {
         scenarioHtml.append("</table>");
-        htmls.add(this.scenarioHtml.toString());
+        this.writeScenario(spec.getClass(), this.scenarioHtml.toString());
         scenarioHtml = null;
     }
 
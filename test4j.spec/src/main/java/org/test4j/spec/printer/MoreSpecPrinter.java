@@ -2,17 +2,58 @@ package org.test4j.spec.printer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 import org.test4j.spec.ISpec;
 import org.test4j.spec.inner.IScenario;
 import org.test4j.spec.inner.ISpecPrinter;
+import org.test4j.tools.commons.ConfigHelper;
 
+/**
+ * 把测试场景结果分发给多个输出器<br>
+ * 控制台输出在测试线程中同步执行，保证和测试自身的输出顺序一致；<br>
+ * 文件输出在后台线程中按调用顺序执行，队列满时测试线程等待；<br>
+ * printSummary会等待之前所有的输出完成后再返回，保证报告完整
+ */
 public class MoreSpecPrinter implements ISpecPrinter {
-    final List<ISpecPrinter> printers = new ArrayList<ISpecPrinter>();
+    /**
+     * 后台输出队列的长度
+     */
+    public static final String            PROPKEY_QUEUE_SIZE = "jspec.printer.queue.size";
+
+    /**
+     * 结束后台线程的标记
+     */
+    private static final Runnable         STOP               = new Runnable() {
+                                                                 public void run() {
+                                                                 }
+                                                             };
+
+    /**
+     * 在测试线程中同步执行的输出器
+     */
+    final List<ISpecPrinter>              syncPrinters       = new ArrayList<ISpecPrinter>();
+
+    /**
+     * 在后台线程中执行的输出器
+     */
+    final List<ISpecPrinter>              printers           = new ArrayList<ISpecPrinter>();
+
+    private final BlockingQueue<Runnable> queue;
+
+    private Thread                        worker;
+
+    /**
+     * 后台输出时发生的第一个异常，在flush时抛出
+     */
+    private volatile Throwable            error;
 
     public MoreSpecPrinter() {
-        printers.add(new ConsolePrinter());
+        syncPrinters.add(new ConsolePrinter());
         printers.add(new HtmlFilePrinter());
+        int size = ConfigHelper.getInteger(PROPKEY_QUEUE_SIZE, 256);
+        this.queue = new ArrayBlockingQueue<Runnable>(size < 1 ? 1 : size);
     }
 
     public void addSpecPrinter(ISpecPrinter printer) {
@@ -20,16 +61,100 @@ public class MoreSpecPrinter implements ISpecPrinter {
     }
 
     @Override
-    public void printSummary(Class<? extends ISpec> spec) {
-        for (ISpecPrinter printer : printers) {
+    public void printSummary(final Class<? extends ISpec> spec) {
+        for (ISpecPrinter printer : syncPrinters) {
             printer.printSummary(spec);
         }
+        final List<ISpecPrinter> targets = new ArrayList<ISpecPrinter>(printers);
+        this.submit(new Runnable() {
+            public void run() {
+                for (ISpecPrinter printer : targets) {
+                    printer.printSummary(spec);
+                }
+            }
+        });
+        this.flush();
     }
 
     @Override
-    public void printScenario(ISpec spec, IScenario scenario) {
-        for (ISpecPrinter printer : printers) {
+    public void printScenario(final ISpec spec, final IScenario scenario) {
+        for (ISpecPrinter printer : syncPrinters) {
             printer.printScenario(spec, scenario);
         }
+        final List<ISpecPrinter> targets = new ArrayList<ISpecPrinter>(printers);
+        this.submit(new Runnable() {
+            public void run() {
+                for (ISpecPrinter printer : targets) {
+                    printer.printScenario(spec, scenario);
+                }
+            }
+        });
+    }
+
+    /**
+     * 等待队列中所有的输出完成，并结束后台线程<br>
+     * 之后有新的输出时会重新启动后台线程
+     */
+    public void flush() {
+        Thread current = this.worker;
+        if (current == null) {
+            return;
+        }
+        this.submit(STOP);
+        try {
+            current.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.worker = null;
+
+        Throwable e = this.error;
+        this.error = null;
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        } else if (e instanceof Error) {
+            throw (Error) e;
+        } else if (e != null) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void submit(Runnable task) {
+        if (this.worker == null) {
+            this.worker = new Thread(new Runnable() {
+                public void run() {
+                    runQueue();
+                }
+            }, "jspec-printer");
+            this.worker.setDaemon(true);
+            this.worker.start();
+        }
+        try {
+            queue.put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void runQueue() {
+        while (true) {
+            Runnable task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (task == STOP) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable e) {
+                if (this.error == null) {
+                    this.error = e;
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,43 @@
+package org.test4j.spec.printer;
+
+import java.io.File;
+
+import org.test4j.spec.inner.IScenario;
+import org.test4j.testng.Test4J;
+import org.test4j.tools.commons.ResourceHelper;
+import org.testng.annotations.Test;
+
+public class HtmlFilePrinterTest extends Test4J {
+    /**
+     * 每个场景结束后追加到spec的html文件中，printSummary时补上结尾
+     */
+    @Test
+    public void testPrintScenario() throws Exception {
+        HtmlFilePrinter printer = new HtmlFilePrinter();
+        PrinterSpec spec = new PrinterSpec();
+        for (IScenario scenario : PrinterSpec.scenarios()) {
+            printer.printScenario(spec, scenario);
+        }
+        File file = new File(HtmlFilePrinter.outputDir + printer.getSpecHtmlFile(PrinterSpec.class));
+        want.string(ResourceHelper.readFromFile(file)).contains("<th colspan=\"2\">scenario1</th>")
+                .notContain("</body>");
+
+        printer.printSummary(PrinterSpec.class);
+        String html = ResourceHelper.readFromFile(file);
+        want.string(html).start("<html><head>").end("</div></body></html>")
+                .containsInOrder("<th colspan=\"2\">scenario1</th>", "givenMethod", "<th colspan=\"2\">scenario2</th>",
+                        "whenMethod");
+    }
+
+    /**
+     * 没有场景时也输出完整的html文件
+     */
+    @Test
+    public void testPrintSummary_NoScenario() throws Exception {
+        HtmlFilePrinter printer = new HtmlFilePrinter();
+        printer.printSummary(PrinterSpec.class);
+
+        File file = new File(HtmlFilePrinter.outputDir + printer.getSpecHtmlFile(PrinterSpec.class));
+        want.string(ResourceHelper.readFromFile(file)).start("<html><head>").end("<div></div></body></html>");
+    }
+}
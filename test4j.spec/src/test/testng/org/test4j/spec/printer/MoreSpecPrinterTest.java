@@ -0,0 +1,117 @@
+package org.test4j.spec.printer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.test4j.spec.ISpec;
+import org.test4j.spec.inner.IScenario;
+import org.test4j.spec.inner.ISpecPrinter;
+import org.test4j.testng.Test4J;
+import org.testng.annotations.Test;
+
+public class MoreSpecPrinterTest extends Test4J {
+    /**
+     * 后台输出器按调用顺序输出，printSummary返回时所有的输出已经完成
+     */
+    @Test
+    public void testPrintScenario_Order() {
+        MoreSpecPrinter printer = new MoreSpecPrinter();
+        printer.printers.clear();
+        RecordPrinter record = new RecordPrinter();
+        printer.addSpecPrinter(record);
+        PrinterSpec spec = new PrinterSpec();
+        for (IScenario scenario : PrinterSpec.scenarios()) {
+            printer.printScenario(spec, scenario);
+        }
+        printer.printSummary(PrinterSpec.class);
+
+        want.list(record.events).isEqualTo(Arrays.asList("scenario1", "scenario2", "summary"));
+    }
+
+    /**
+     * 控制台输出在printScenario返回前完成，不会和之后场景的输出交错
+     */
+    @Test
+    public void testPrintScenario_ConsoleSync() {
+        MoreSpecPrinter printer = new MoreSpecPrinter();
+        printer.printers.clear();
+        PrintStream out = System.out;
+        ByteArrayOutputStream buff = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(buff, true));
+        try {
+            printer.printScenario(new PrinterSpec(), PrinterSpec.scenarios().get(0));
+        } finally {
+            System.setOut(out);
+        }
+        want.string(buff.toString()).containsInOrder("Begin Scenario-", "givenMethod", "End Scenario-");
+        printer.printSummary(PrinterSpec.class);
+    }
+
+    /**
+     * 后台输出的异常在printSummary时抛出，之后输出器仍然可以使用
+     */
+    @Test
+    public void testPrintSummary_Error() {
+        MoreSpecPrinter printer = new MoreSpecPrinter();
+        printer.printers.clear();
+        printer.addSpecPrinter(new ErrorPrinter());
+        printer.printScenario(new PrinterSpec(), PrinterSpec.scenarios().get(0));
+        try {
+            printer.printSummary(PrinterSpec.class);
+            want.fail();
+        } catch (RuntimeException e) {
+            want.string(e.getMessage()).isEqualTo("print error");
+        }
+
+        printer.printers.clear();
+        RecordPrinter record = new RecordPrinter();
+        printer.addSpecPrinter(record);
+        printer.printSummary(PrinterSpec.class);
+        want.list(record.events).isEqualTo(Arrays.asList("summary"));
+    }
+
+    /**
+     * 后台输出的异常在flush时抛出
+     */
+    @Test
+    public void testFlush_Error() {
+        MoreSpecPrinter printer = new MoreSpecPrinter();
+        printer.printers.clear();
+        printer.addSpecPrinter(new ErrorPrinter());
+        printer.printScenario(new PrinterSpec(), PrinterSpec.scenarios().get(0));
+        try {
+            printer.flush();
+            want.fail();
+        } catch (RuntimeException e) {
+            want.string(e.getMessage()).isEqualTo("print error");
+        }
+    }
+
+    static class RecordPrinter implements ISpecPrinter {
+        final List<String> events = new ArrayList<String>();
+
+        @Override
+        public void printSummary(Class<? extends ISpec> spec) {
+            events.add("summary");
+        }
+
+        @Override
+        public void printScenario(ISpec spec, IScenario scenario) {
+            events.add(scenario.getName());
+        }
+    }
+
+    static class ErrorPrinter implements ISpecPrinter {
+        @Override
+        public void printSummary(Class<? extends ISpec> spec) {
+        }
+
+        @Override
+        public void printScenario(ISpec spec, IScenario scenario) {
+            throw new RuntimeException("print error");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.test4j.spec.printer;
+
+import java.util.List;
+
+import org.test4j.spec.ISpec;
+import org.test4j.spec.SharedData;
+import org.test4j.spec.inner.IScenario;
+import org.test4j.spec.scenario.TxtJSpecScenario;
+
+/**
+ * 输出器测试用的spec
+ */
+public class PrinterSpec implements ISpec {
+    @Override
+    public Object getStepsInstance(String stepClazzName) {
+        return null;
+    }
+
+    @Override
+    public SharedData getSharedData() {
+        return null;
+    }
+
+    /**
+     * 返回两个场景: scenario1, scenario2
+     * 
+     * @return
+     */
+    public static List<IScenario> scenarios() {
+        String story = "Scenario scenario1\n" + "Given given method\n" + "init\n\n" + "Scenario scenario2\n"
+                + "When when method\n" + "234\n";
+        return TxtJSpecScenario.parseJSpecScenarioFrom(story).getScenarios();
+    }
+}
@@ -1,65 +1,201 @@
 package org.test4j.testng.report;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import java.util.List;
-import java.util.Map;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Collection;
 
 import org.test4j.module.core.utility.MessageHelper;
 import org.test4j.testng.report.UserTestReporter.Status;
 import org.test4j.tools.commons.ResourceHelper;
 
 /**
- * ReportPrinter
- * 
+ * ReportPrinter<br>
+ * 测试方法的结果在完成时逐行写入磁盘，不在内存中保存；<br>
+ * 同时输出一份tab分隔的结果文件(含耗时)，便于程序分析
+ *
  * @author zili.dengzl
  * @author darui.wudr
  * @2010.12.28
  */
 public class ReportPrinter {
+    /**
+     * 方法结果行的临时文件，生成html报表时拼接到报表中
+     */
+    private static final String ROWS_FILE       = "/target/UserTestMethods.rows";
+
+    private static final String HTML_FILE       = "/target/UserTestMethods.html";
+
+    /**
+     * tab分隔的结果文件，格式: class method status duration(ms) groups thread
+     */
+    public static final String  RESULTS_FILE    = "/target/UserTestMethods.tsv";
+
+    private static Writer       rowsWriter;
+
+    private static Writer       resultsWriter;
+
+    /**
+     * 打开结果文件失败后不再输出
+     */
+    private static boolean      disabled        = false;
+
+    private static boolean      hasShutdownHook = false;
+
+    /**
+     * 输出测试方法的结果行
+     *
+     * @param method
+     */
+    public static synchronized void printMethod(final MethodTestDto method) {
+        if (disabled) {
+            return;
+        }
+        try {
+            if (rowsWriter == null) {
+                openWriters();
+            }
+            rowsWriter.write(genMethodRow(method));
+            resultsWriter.write(genResultLine(method));
+        } catch (Throwable e) {
+            disabled = true;
+            closeWriters();
+            MessageHelper.warn("print user test method error:" + e.getMessage());
+        }
+    }
+
+    /**
+     * 同时打开结果行文件和结果文件，任何一个打开失败时两个都不保留<br>
+     * 第一次打开时注册jvm退出时关闭文件的钩子
+     */
+    private static void openWriters() throws IOException {
+        Writer rows = newWriter(getReportFile(ROWS_FILE));
+        Writer results = null;
+        try {
+            results = newWriter(getReportFile(RESULTS_FILE));
+            results.write("class\tmethod\tstatus\tduration\tgroups\tthread\n");
+        } catch (IOException e) {
+            close(rows);
+            close(results);
+            throw e;
+        }
+        rowsWriter = rows;
+        resultsWriter = results;
+        if (hasShutdownHook == false) {
+            hasShutdownHook = true;
+            Runtime.getRuntime().addShutdownHook(new Thread("test4j-close-user-report") {
+                @Override
+                public void run() {
+                    closeWriters();
+                }
+            });
+        }
+    }
 
-    public static void printHtmlReport(final Map<String, UserGroupDto> userGroups, final List<MethodTestDto> methods) {
+    /**
+     * 关闭结果行文件和结果文件
+     */
+    static synchronized void closeWriters() {
+        close(rowsWriter);
+        close(resultsWriter);
+        rowsWriter = null;
+        resultsWriter = null;
+    }
+
+    private static void close(Writer writer) {
+        if (writer == null) {
+            return;
+        }
         try {
-            File htmlFile = getHtmlReportFile();
-            FileWriter writer = new FileWriter(htmlFile);
-            writer.write(genHead());
-            writer.write("\n");
-            writer.write("<body>\n");
-            writer.write(genFirstPart(userGroups));
-            writer.write("\n");
-            writer.write("\n");
-            writer.write(genSecondPart(methods));
-            writer.write("</body>\n");
-            writer.write("</html>");
             writer.close();
+        } catch (IOException e) {
+            MessageHelper.warn("close user test report error:" + e.getMessage());
+        }
+    }
+
+    /**
+     * 生成html报表，已经输出的方法结果行从临时文件中拼接
+     *
+     * @param userGroups
+     */
+    public static synchronized void printHtmlReport(final Collection<UserGroupDto> userGroups) {
+        try {
+            File rowsFile = getReportFile(ROWS_FILE);
+            if (rowsWriter != null) {
+                rowsWriter.flush();
+                resultsWriter.flush();
+            }
+            Writer writer = newWriter(getReportFile(HTML_FILE));
+            try {
+                writer.write(genHead());
+                writer.write("\n");
+                writer.write("<body>\n");
+                writer.write(genFirstPart(userGroups));
+                writer.write("\n");
+                writer.write("\n");
+                writer.write("<table><tr><td colspan=4>test case running sequence</td></tr>\n");
+                writer.write("<tr><td>method name</td><td>test status</td><td>time cost</td><td>groups</td></tr>\n");
+                if (rowsWriter != null) {
+                    copy(rowsFile, writer);
+                }
+                writer.write("</table>\n");
+                writer.write("</body>\n");
+                writer.write("</html>");
+            } finally {
+                writer.close();
+            }
         } catch (Throwable e) {
             MessageHelper.warn("print user group report error:" + e.getMessage());
         }
     }
 
-    private static File getHtmlReportFile() {
-        File htmlFile = new File(System.getProperty("user.dir") + "/target/UserTestMethods.html");
-        ResourceHelper.mkFileParentDir(htmlFile);
-        return htmlFile;
+    private static File getReportFile(String name) {
+        File file = new File(System.getProperty("user.dir") + name);
+        ResourceHelper.mkFileParentDir(file);
+        return file;
+    }
+
+    private static Writer newWriter(File file) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file),
+                ResourceHelper.defaultFileEncoding()));
+    }
+
+    private static void copy(File file, Writer writer) throws IOException {
+        Reader reader = new InputStreamReader(new FileInputStream(file), ResourceHelper.defaultFileEncoding());
+        try {
+            char[] buff = new char[8192];
+            int len;
+            while ((len = reader.read(buff)) != -1) {
+                writer.write(buff, 0, len);
+            }
+        } finally {
+            reader.close();
+        }
     }
 
     /**
      * 生成测试报表的第一部分<br>
      * 格式<br>
      * |user name|success count|failure count|skipped count| <br>
-     * 
+     *
      * @param userGroups
      * @return
      */
-    private static String genFirstPart(final Map<String, UserGroupDto> userGroups) {
-        StringBuffer buff = new StringBuffer();
+    private static String genFirstPart(final Collection<UserGroupDto> userGroups) {
+        StringBuilder buff = new StringBuilder();
 
         buff.append("<table>\n<tr><td colspan='5'>user test case statistics</td></tr>\n");
         buff.append("<tr><td>group name</td><td>success count</td><td>failure count</td><td>skipped count</td><td>total</td></tr>\n");
 
-        for (UserGroupDto dto : userGroups.values()) {
+        for (UserGroupDto dto : userGroups) {
             buff.append("<tr><td style='text-align:left;'>").append(dto.getGroupName()).append("</td>");
             buff.append("<td class='green'>").append(dto.getSuccess()).append("</td>");
             buff.append("<td class='red'>").append(dto.getFailure()).append("</td>");
@@ -74,31 +210,37 @@ public class ReportPrinter {
     }
 
     /**
-     * @param sb
+     * 测试报表第二部分中的一行<br>
+     * |method name|status|duration time|groups|
+     *
+     * @param method
      * @return
      */
-    private static String genSecondPart(final List<MethodTestDto> methods) {
-        StringBuffer buff = new StringBuffer();
-
-        buff.append("<table><tr><td colspan=4>test case running sequence</td></tr>\n");
-        buff.append("<tr><td>method name</td><td>test status</td><td>time cost</td><td>groups</td></tr>\n");
-
-        for (MethodTestDto method : methods) {
-            buff.append("<tr>");
-            buff.append("<td style='text-align:left;'>");
-            buff.append(method.getMethodName());
-            buff.append("<br/>");
-            buff.append(method.getClazzName());
-            buff.append("</td>");
-            Status status = method.getStatus();
-            buff.append(String.format("<td class='%s'>%s</td>", status.css(), status.name()));
-            buff.append(String.format("<td class='%s'>%d ms</td>", method.getSpeedCss(), method.getDuration()));
-            buff.append("<td style='text-align:left;'>").append(method.getGroups()).append("</td>");
-            buff.append("</tr>\n");
-        }
-
-        buff.append("</table>\n");
+    private static String genMethodRow(final MethodTestDto method) {
+        StringBuilder buff = new StringBuilder();
+        Status status = method.getStatus();
+        buff.append("<tr>");
+        buff.append("<td style='text-align:left;'>");
+        buff.append(method.getMethodName());
+        buff.append("<br/>");
+        buff.append(method.getClazzName());
+        buff.append("</td>");
+        buff.append("<td class='").append(status.css()).append("'>").append(status.name()).append("</td>");
+        buff.append("<td class='").append(method.getSpeedCss()).append("'>").append(method.getDuration())
+                .append(" ms</td>");
+        buff.append("<td style='text-align:left;'>").append(method.getGroups()).append("</td>");
+        buff.append("</tr>\n");
+        return buff.toString();
+    }
 
+    private static String genResultLine(final MethodTestDto method) {
+        StringBuilder buff = new StringBuilder();
+        buff.append(method.getClazzName()).append('\t');
+        buff.append(method.getMethodName()).append('\t');
+        buff.append(method.getStatus().name()).append('\t');
+        buff.append(method.getDuration()).append('\t');
+        buff.append(method.getGroups()).append('\t');
+        buff.append(method.getThreadId()).append('\n');
         return buff.toString();
     }
 
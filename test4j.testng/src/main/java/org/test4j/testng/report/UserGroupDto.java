@@ -1,33 +1,36 @@
 package org.test4j.testng.report;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.test4j.testng.report.UserTestReporter.Status;
 
+/**
+ * 分组的测试结果统计，可以被多个测试线程同时累加
+ */
+
 public class UserGroupDto {
 	private String groupName;
 
-	private int success;
+	private final AtomicInteger success = new AtomicInteger();
 
-	private int failure;
+	private final AtomicInteger failure = new AtomicInteger();
 
-	private int skipped;
+	private final AtomicInteger skipped = new AtomicInteger();
 
 	public UserGroupDto(String groupName) {
 		this.groupName = groupName;
-		this.success = 0;
-		this.failure = 0;
-		this.skipped = 0;
 	}
 
 	public void addResult(Status status) {
 		switch (status) {
 		case success:
-			success++;
+			success.incrementAndGet();
 			break;
 		case failure:
-			failure++;
+			failure.incrementAndGet();
 			break;
 		case skipped:
-			skipped++;
+			skipped.incrementAndGet();
 			break;
 		default:
 		}
@@ -38,18 +41,18 @@ public class UserGroupDto {
 	}
 
 	public int getSuccess() {
-		return success;
+		return success.get();
 	}
 
 	public int getFailure() {
-		return failure;
+		return failure.get();
 	}
 
 	public int getSkipped() {
-		return skipped;
+		return skipped.get();
 	}
 
 	public int getTotal() {
-		return this.success + this.skipped + this.failure;
+		return this.getSuccess() + this.getSkipped() + this.getFailure();
 	}
 }
@@ -1,9 +1,7 @@
 package org.test4j.testng.report;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.testng.ITestContext;
 import org.testng.ITestNGMethod;
@@ -17,15 +15,14 @@ import org.testng.TestListenerAdapter;
  * <br>
  * <br>
  * |method name|status|duration time|thread id|<br>
+ * 方法结果在完成时写入磁盘，可以用于并发运行的测试
  * 
  * @author zili.dengzl
  * @author darui.wudr
  * 
  */
 public class UserTestReporter extends TestListenerAdapter {
-	private final static List<MethodTestDto> methods = new ArrayList<MethodTestDto>();
-
-	private final static Map<String, UserGroupDto> userGroups = new HashMap<String, UserGroupDto>();
+	private final static ConcurrentMap<String, UserGroupDto> userGroups = new ConcurrentHashMap<String, UserGroupDto>();
 
 	@Override
 	public void onTestSuccess(ITestResult result) {
@@ -47,7 +44,7 @@ public class UserTestReporter extends TestListenerAdapter {
 	 */
 	@Override
 	public void onFinish(ITestContext testContext) {
-		ReportPrinter.printHtmlReport(userGroups, methods);
+		ReportPrinter.printHtmlReport(userGroups.values());
 	}
 
 	private static void addResult(ITestResult result, Status status) {
@@ -59,9 +56,9 @@ public class UserTestReporter extends TestListenerAdapter {
 		String[] groups = method.getGroups();
 		String methodName = method.getMethodName();
 		String clazzName = method.getRealClass().getName();
-		methods.add(new MethodTestDto(methodName, clazzName, status, duration, groups));
+		ReportPrinter.printMethod(new MethodTestDto(methodName, clazzName, status, duration, groups));
 
-		if (groups == null) {
+		if (groups == null || groups.length == 0) {
 			UserGroupDto userDto = getUserGroupDto(MethodTestDto.UN_GROUP_NAME);
 			userDto.addResult(status);
 			return;
@@ -75,8 +72,11 @@ public class UserTestReporter extends TestListenerAdapter {
 	private static UserGroupDto getUserGroupDto(String group) {
 		UserGroupDto userDto = userGroups.get(group);
 		if (userDto == null) {
-			userDto = new UserGroupDto(group);
-			userGroups.put(group, userDto);
+			UserGroupDto newDto = new UserGroupDto(group);
+			userDto = userGroups.putIfAbsent(group, newDto);
+			if (userDto == null) {
+				userDto = newDto;
+			}
 		}
 		return userDto;
 	}
@@ -1,46 +1,72 @@
 package org.test4j.testng.utility;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.test4j.module.core.utility.MessageHelper;
+import org.test4j.module.core.utility.ModulesManager;
 import org.testng.IMethodInstance;
 import org.testng.IMethodInterceptor;
 import org.testng.ITestContext;
 
 /**
- * 测试方法排序
+ * 测试方法排序<br>
+ * 按测试类使用的资源标识(spring配置文件、数据源、事务模式等，见{@link ModulesManager#getResourceFingerprint(Class)})
+ * 排序，使用相同资源的测试类连续执行；标识相同时按类名排序，同一个测试类的方法保持原来的顺序
  * 
  * @author darui.wudr
  */
+@SuppressWarnings("rawtypes")
 public class Test4JMethodsOrder implements IMethodInterceptor {
 
     @Override
     public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
-        Map<String, List<IMethodInstance>> map = new HashMap<String, List<IMethodInstance>>();
+        Map<Class, List<IMethodInstance>> map = new LinkedHashMap<Class, List<IMethodInstance>>();
         for (IMethodInstance mi : methods) {
-            Object instance = mi.getInstance();
-            String clazzname = instance.getClass().getName();
+            Class clazz = mi.getInstance().getClass();
 
-            List<IMethodInstance> list = map.get(clazzname);
+            List<IMethodInstance> list = map.get(clazz);
             if (list == null) {
                 list = new ArrayList<IMethodInstance>();
-                map.put(clazzname, list);
+                map.put(clazz, list);
             }
             list.add(mi);
         }
 
-        List<IMethodInstance> order = new ArrayList<IMethodInstance>();
-        for (String clazzname : map.keySet()) {
-            List<IMethodInstance> list = map.get(clazzname);
-            order.addAll(list);
+        final Map<Class, String> fingerprints = new HashMap<Class, String>();
+        for (Class clazz : map.keySet()) {
+            fingerprints.put(clazz, fingerprint(clazz));
         }
-        System.out.println("\n\n\n");
-        for (IMethodInstance mi : order) {
-            System.out.println(mi.getInstance().getClass().getName());
+        List<Class> clazzes = new ArrayList<Class>(map.keySet());
+        Collections.sort(clazzes, new Comparator<Class>() {
+            public int compare(Class c1, Class c2) {
+                int result = fingerprints.get(c1).compareTo(fingerprints.get(c2));
+                return result != 0 ? result : c1.getName().compareTo(c2.getName());
+            }
+        });
+
+        List<IMethodInstance> order = new ArrayList<IMethodInstance>(methods.size());
+        for (Class clazz : clazzes) {
+            order.addAll(map.get(clazz));
+            MessageHelper.debug(String.format("test class[%s] resource[%s]", clazz.getName(), fingerprints.get(clazz)));
         }
-        System.out.println("\n\n\n");
         return order;
     }
+
+    /**
+     * 计算资源标识出错时不影响测试执行，只是不参与分组
+     */
+    private static String fingerprint(Class clazz) {
+        try {
+            return ModulesManager.getResourceFingerprint(clazz);
+        } catch (Throwable e) {
+            MessageHelper.warn("get resource fingerprint of test class[" + clazz.getName() + "] error.", e);
+            return "";
+        }
+    }
 }
@@ -77,8 +77,9 @@ public class TestClazzInfoByGroup {
 			String clazzName = clzzInfo.getKey();
 			// String javaFile = String.format("%s/%s.html", TEST_REPORT_DIR,
 			// clazzName);
-			buffer.append(String.format("<td rowspan=%d><a title='%s'>%s</a></td>", methodInfos.size(), clazzName,
-					clazzName.replaceAll("[^\\.]+\\.", "")));
+			String simpleName = clazzName.substring(clazzName.lastIndexOf('.') + 1);
+			buffer.append("<td rowspan=").append(methodInfos.size()).append("><a title='").append(clazzName)
+					.append("'>").append(simpleName).append("</a></td>");
 			boolean isFirstClazzMethod = true;
 			for (TestMethodInfo method : methodInfos) {
 				if (isFirstClazzMethod) {
@@ -86,8 +87,9 @@ public class TestClazzInfoByGroup {
 				} else {
 					buffer.append("<tr>");
 				}
-				buffer.append(String.format("<td class='%s'>%s</td>", method.getStatus(), method.getMethodName()));
-				buffer.append(String.format("<td>%s<td>", method.getGroups().toString()));
+				buffer.append("<td class='").append(method.getStatus()).append("'>").append(method.getMethodName())
+						.append("</td>");
+				buffer.append("<td>").append(method.getGroups()).append("<td>");
 				buffer.append("</tr>\n");
 			}
 		}
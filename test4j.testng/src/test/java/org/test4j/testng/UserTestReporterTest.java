@@ -1,11 +1,17 @@
 package org.test4j.testng;
 
 import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
 
+import org.test4j.testng.report.ReportPrinter;
+import org.test4j.testng.report.UserGroupDto;
 import org.test4j.testng.report.UserTestReporter;
+import org.test4j.testng.report.UserTestReporter.Status;
 import org.test4j.testng.testcase.ChildTestCase1;
 import org.test4j.testng.testcase.ChildTestCase2;
 import org.test4j.testng.testcase.ParentTestCase;
+import org.test4j.tools.commons.ResourceHelper;
 import org.testng.TestListenerAdapter;
 import org.testng.TestNG;
 import org.testng.annotations.Test;
@@ -14,7 +20,7 @@ import org.testng.annotations.Test;
 public class UserTestReporterTest extends Test4J {
     @Test
     //@Transactional(TransactionMode.DISABLED)
-    public void testOnFinish() {
+    public void testOnFinish() throws Exception {
         String filepath = System.getProperty("user.dir") + "/target/UserTestMethods.html";
         File file = new File(filepath);
         if (file.exists()) {
@@ -27,5 +33,61 @@ public class UserTestReporterTest extends Test4J {
         testng.run();
 
         want.file(filepath).isExists();
+
+        String tsv = System.getProperty("user.dir") + ReportPrinter.RESULTS_FILE;
+        want.file(tsv).isExists();
+        String[] lines = ResourceHelper.readFromFile(new File(tsv)).split("\n");
+        want.string(lines[0]).isEqualTo("class\tmethod\tstatus\tduration\tgroups\tthread");
+        // 只检查本次运行的测试类，结果文件中还可能有外层测试的记录
+        String prefix = ParentTestCase.class.getPackage().getName() + ".";
+        Map<String, String> durations = new HashMap<String, String>();
+        for (int index = 1; index < lines.length; index++) {
+            if (lines[index].startsWith(prefix) == false) {
+                continue;
+            }
+            String[] items = lines[index].split("\t");
+            want.number(items.length).isEqualTo(6);
+            String key = items[0] + "." + items[1] + ":" + items[2];
+            want.bool(durations.containsKey(key)).is(false);
+            durations.put(key, items[3]);
+        }
+        String clazz1 = ChildTestCase1.class.getName();
+        String clazz2 = ChildTestCase2.class.getName();
+        String[] methods = new String[] { clazz1 + ".test_success_1:success", clazz1 + ".test_success_2:success",
+                clazz1 + ".test_success_3:success", clazz1 + ".test_success_4:success",
+                clazz1 + ".test_failed_1:failure", clazz1 + ".test_skip_1:skipped",
+                clazz2 + ".test_success_3:success", clazz2 + ".test_success_4:success",
+                clazz2 + ".test_failed_1:failure", clazz2 + ".test_skip_1:skipped" };
+        for (String method : methods) {
+            want.map(durations).hasKeys(method);
+            want.string(durations.get(method)).regular("-?\\d+");
+        }
+    }
+
+    /**
+     * 测试多个线程同时累加分组结果
+     */
+    @Test
+    public void testAddResult_Concurrent() throws Exception {
+        final UserGroupDto dto = new UserGroupDto("test");
+        Thread[] threads = new Thread[4];
+        for (int index = 0; index < threads.length; index++) {
+            threads[index] = new Thread() {
+                @Override
+                public void run() {
+                    for (int count = 0; count < 1000; count++) {
+                        dto.addResult(Status.success);
+                        dto.addResult(Status.failure);
+                    }
+                }
+            };
+            threads[index].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        want.number(dto.getSuccess()).isEqualTo(4000);
+        want.number(dto.getFailure()).isEqualTo(4000);
+        want.number(dto.getTotal()).isEqualTo(8000);
     }
 }
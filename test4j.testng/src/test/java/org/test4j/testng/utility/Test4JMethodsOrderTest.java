@@ -0,0 +1,152 @@
+package org.test4j.testng.utility;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.test4j.module.core.Module;
+import org.test4j.module.core.ResourceFingerprint;
+import org.test4j.module.core.TestListener;
+import org.test4j.module.core.utility.ModulesManager;
+import org.test4j.testng.Test4J;
+import org.test4j.testng.testcase.ChildTestCase1;
+import org.test4j.testng.testcase.ChildTestCase2;
+import org.test4j.testng.testcase.ParentTestCase;
+import org.testng.IMethodInstance;
+import org.testng.annotations.Test;
+
+@Test(groups = "test4j")
+public class Test4JMethodsOrderTest extends Test4J {
+
+    @Test
+    public void testIntercept() {
+        Object child2 = new ChildTestCase2();
+        Object parent = new ParentTestCase();
+        Object child1 = new ChildTestCase1();
+
+        List<IMethodInstance> methods = new ArrayList<IMethodInstance>();
+        methods.add(newMethodInstance(child2, "m1"));
+        methods.add(newMethodInstance(parent, "m1"));
+        methods.add(newMethodInstance(child2, "m2"));
+        methods.add(newMethodInstance(child1, "m1"));
+        methods.add(newMethodInstance(parent, "m2"));
+
+        List<IMethodInstance> order = new Test4JMethodsOrder().intercept(methods, null);
+        List<String> names = new ArrayList<String>();
+        for (IMethodInstance mi : order) {
+            names.add(mi.getInstance().getClass().getSimpleName() + "." + mi.toString());
+        }
+        want.collection(names).reflectionEq(
+                new String[] { "ChildTestCase1.m1", "ChildTestCase2.m1", "ChildTestCase2.m2", "ParentTestCase.m1",
+                        "ParentTestCase.m2" });
+    }
+
+    /**
+     * 资源标识中spring容器在数据源和事务模式之前，spring配置相同而事务模式不同的测试类仍然排在一起
+     */
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void testIntercept_SameSpringContext() {
+        Object springA1 = new SpringA1();
+        Object springB = new SpringB();
+        Object springA2 = new SpringA2();
+
+        FingerprintModule database = new FingerprintModule(ResourceFingerprint.COST_DATASOURCE);
+        database.fingerprints.put(SpringA1.class, "dataSource,COMMIT");
+        database.fingerprints.put(SpringB.class, "dataSource,DISABLED");
+        database.fingerprints.put(SpringA2.class, "dataSource,ROLLBACK");
+        FingerprintModule spring = new FingerprintModule(ResourceFingerprint.COST_CONTEXT);
+        spring.fingerprints.put(SpringA1.class, "a.xml");
+        spring.fingerprints.put(SpringB.class, "b.xml");
+        spring.fingerprints.put(SpringA2.class, "a.xml");
+        List<Module> modules = new ArrayList<Module>();
+        modules.add(database);
+        modules.add(spring);
+        Map<Module, String> moduleNames = new HashMap<Module, String>();
+        moduleNames.put(database, "database");
+        moduleNames.put(spring, "spring");
+
+        List<IMethodInstance> methods = new ArrayList<IMethodInstance>();
+        methods.add(newMethodInstance(springA1, "m1"));
+        methods.add(newMethodInstance(springB, "m1"));
+        methods.add(newMethodInstance(springA2, "m1"));
+
+        ModulesManager manager = ModulesManager.instance();
+        List<IMethodInstance> order;
+        try {
+            ModulesManager.initManager(modules, moduleNames, new HashMap<Module, List<Class>>());
+            want.string(ModulesManager.getResourceFingerprint(SpringA1.class)).isEqualTo(
+                    "spring=a.xml;database=dataSource,COMMIT");
+            order = new Test4JMethodsOrder().intercept(methods, null);
+        } finally {
+            reflector.setStaticField(ModulesManager.class, "modulesManager", manager);
+        }
+        List<String> names = new ArrayList<String>();
+        for (IMethodInstance mi : order) {
+            names.add(mi.getInstance().getClass().getSimpleName());
+        }
+        want.collection(names).reflectionEq(new String[] { "SpringA1", "SpringA2", "SpringB" });
+    }
+
+    public static class SpringA1 {
+    }
+
+    public static class SpringA2 {
+    }
+
+    public static class SpringB {
+    }
+
+    @SuppressWarnings("rawtypes")
+    static class FingerprintModule implements Module, ResourceFingerprint {
+        final Map<Class, String> fingerprints = new HashMap<Class, String>();
+
+        private final int        cost;
+
+        FingerprintModule(int cost) {
+            this.cost = cost;
+        }
+
+        public String getResourceFingerprint(Class testClazz) {
+            return fingerprints.get(testClazz);
+        }
+
+        public int getResourceCost() {
+            return cost;
+        }
+
+        public void init() {
+        }
+
+        public void afterInit() {
+        }
+
+        public TestListener getTestListener() {
+            return new TestListener() {
+                @Override
+                protected String getName() {
+                    return "FingerprintModuleListener";
+                }
+            };
+        }
+    }
+
+    private static IMethodInstance newMethodInstance(final Object instance, final String name) {
+        return (IMethodInstance) Proxy.newProxyInstance(IMethodInstance.class.getClassLoader(),
+                new Class[] { IMethodInstance.class }, new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if ("getInstance".equals(method.getName())) {
+                            return instance;
+                        } else if ("toString".equals(method.getName())) {
+                            return name;
+                        } else {
+                            return null;
+                        }
+                    }
+                });
+    }
+}